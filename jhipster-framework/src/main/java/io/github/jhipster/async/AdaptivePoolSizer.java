@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.async;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link TaskExecutionListener} resizing the core pool of a {@link ThreadPoolTaskExecutor} from the observed queue
+ * wait and depth.
+ *
+ * <p>A {@link java.util.concurrent.ThreadPoolExecutor} only starts threads beyond its core size once its queue is
+ * full, so with a large queue tasks wait long before the maximum pool size is ever used. This sizer uses an AIMD
+ * (additive increase, multiplicative decrease) algorithm instead: every 20 started tasks, the
+ * core pool size grows when the average queue wait is above the target, and shrinks by a quarter,
+ * but not below the peak number of running tasks, when the queue wait is below the target and threads are idle.
+ * As tasks which never start cannot be measured, the queue depth is also checked when a task is submitted, and the
+ * pool grows as soon as more tasks are queued than the pool has threads. Growth is scaled by the queue depth: the
+ * pool grows by the number of queued tasks per thread, by at least one thread and at most doubling.
+ * The core pool size always stays between the initial core pool size and the maximum pool size of the executor.</p>
+ */
+public class AdaptivePoolSizer implements TaskExecutionListener {
+
+    static final int SAMPLE_SIZE = 20;
+
+    private static final double DECREASE_FACTOR = 0.75;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final int minPoolSize;
+
+    private final long targetQueueNanos;
+
+    private final AtomicLong queuedNanos = new AtomicLong();
+
+    private final AtomicInteger samples = new AtomicInteger();
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private final AtomicInteger peakActiveCount = new AtomicInteger();
+
+    /**
+     * <p>Constructor for AdaptivePoolSizer.</p>
+     *
+     * @param executor the executor to resize, its current core pool size is used as the minimum pool size.
+     * @param targetQueueTimeInMillis the average time tasks may wait in the queue before the pool grows.
+     */
+    public AdaptivePoolSizer(ThreadPoolTaskExecutor executor, long targetQueueTimeInMillis) {
+        Assert.isTrue(executor.getCorePoolSize() > 0, "corePoolSize must be positive");
+        this.executor = executor;
+        this.minPoolSize = executor.getCorePoolSize();
+        this.targetQueueNanos = TimeUnit.MILLISECONDS.toNanos(targetQueueTimeInMillis);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void taskSubmitted() {
+        if (getQueueSize() > executor.getCorePoolSize()) {
+            grow();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void taskStarted(long queuedNanos) {
+        peakActiveCount.accumulateAndGet(activeCount.incrementAndGet(), Math::max);
+        this.queuedNanos.addAndGet(queuedNanos);
+        if (samples.incrementAndGet() % SAMPLE_SIZE == 0) {
+            resize();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void taskFinished(long executionNanos) {
+        activeCount.decrementAndGet();
+    }
+
+    private synchronized void resize() {
+        long averageQueueNanos = queuedNanos.getAndSet(0) / SAMPLE_SIZE;
+        int peak = peakActiveCount.getAndSet(activeCount.get());
+        int poolSize = executor.getCorePoolSize();
+        int newPoolSize = poolSize;
+        if (averageQueueNanos > targetQueueNanos) {
+            newPoolSize = getGrownPoolSize(poolSize, getQueueSize());
+        } else if (peak < poolSize) {
+            newPoolSize = Math.max(minPoolSize, Math.max(peak, (int) (poolSize * DECREASE_FACTOR)));
+        }
+        if (newPoolSize != poolSize) {
+            executor.setCorePoolSize(newPoolSize);
+        }
+    }
+
+    private synchronized void grow() {
+        int poolSize = executor.getCorePoolSize();
+        int queueSize = getQueueSize();
+        if (queueSize > poolSize) {
+            int newPoolSize = getGrownPoolSize(poolSize, queueSize);
+            if (newPoolSize != poolSize) {
+                executor.setCorePoolSize(newPoolSize);
+            }
+        }
+    }
+
+    private int getGrownPoolSize(int poolSize, int queueSize) {
+        int increment = Math.min(poolSize, Math.max(1, queueSize / poolSize));
+        return Math.min(poolSize + increment, executor.getMaxPoolSize());
+    }
+
+    private int getQueueSize() {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            // Not initialized yet
+            return 0;
+        }
+    }
+
+    /**
+     * Return the core pool size this sizer does not go below.
+     *
+     * @return the minimum pool size.
+     */
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer binder recording the activity of an {@link ExceptionHandlingAsyncTaskExecutor}.
+ *
+ * <p>Meter names follow the ones of Micrometer's {@code ExecutorServiceMetrics}: {@code executor.idle} is the time
+ * tasks spend waiting in the queue, {@code executor} the time they run, {@code executor.active} and
+ * {@code executor.queued} the number of running and waiting tasks, and {@code executor.rejected} the number of
+ * rejected tasks. All of them are tagged with the executor name.</p>
+ */
+public class AsyncTaskExecutorMetrics implements MeterBinder {
+
+    private final ExceptionHandlingAsyncTaskExecutor executor;
+
+    private final Iterable<Tag> tags;
+
+    /**
+     * <p>Constructor for AsyncTaskExecutorMetrics.</p>
+     *
+     * @param executor the executor to instrument.
+     * @param executorName the value of the {@code name} tag.
+     */
+    public AsyncTaskExecutorMetrics(ExceptionHandlingAsyncTaskExecutor executor, String executorName) {
+        this.executor = executor;
+        this.tags = Tags.of("name", executorName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Timer idleTimer = Timer.builder("executor.idle")
+            .tags(tags)
+            .description("Time tasks spend waiting to be executed")
+            .register(registry);
+        Timer executionTimer = Timer.builder("executor")
+            .tags(tags)
+            .description("Time tasks spend executing")
+            .register(registry);
+        Counter rejectedCounter = Counter.builder("executor.rejected")
+            .tags(tags)
+            .description("Number of tasks rejected by the executor")
+            .register(registry);
+        Gauge.builder("executor.active", executor, ExceptionHandlingAsyncTaskExecutor::getActiveCount)
+            .tags(tags)
+            .description("Number of tasks being executed")
+            .register(registry);
+        Gauge.builder("executor.queued", executor, ExceptionHandlingAsyncTaskExecutor::getQueuedCount)
+            .tags(tags)
+            .description("Number of tasks waiting to be executed")
+            .register(registry);
+
+        executor.addTaskExecutionListener(new TaskExecutionListener() {
+            @Override
+            public void taskStarted(long queuedNanos) {
+                idleTimer.record(queuedNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void taskFinished(long executionNanos) {
+                executionTimer.record(executionNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void taskRejected() {
+                rejectedCounter.increment();
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.async;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Utility class creating the JHipster asynchronous task executor from {@link JHipsterProperties.Async}.
+ */
+public final class AsyncTaskExecutorUtil {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncTaskExecutorUtil.class);
+
+    private AsyncTaskExecutorUtil() {
+    }
+
+    /**
+     * Create an {@link ExceptionHandlingAsyncTaskExecutor} backed by the executor selected by
+     * {@code jhipster.async.mode}.
+     *
+     * <p>The virtual mode falls back to the platform mode on runtimes without virtual threads.</p>
+     *
+     * <p>In adaptive mode, an {@link AdaptivePoolSizer} listening to the returned executor grows the core pool from
+     * {@code jhipster.async.core-pool-size} up to {@code jhipster.async.max-pool-size}.</p>
+     *
+     * @param asyncProperties a {@link io.github.jhipster.config.JHipsterProperties.Async} object.
+     * @param threadNamePrefix the prefix of the names of the executor threads.
+     * @return a {@link io.github.jhipster.async.ExceptionHandlingAsyncTaskExecutor} object, not yet initialized.
+     */
+    public static ExceptionHandlingAsyncTaskExecutor createAsyncTaskExecutor(JHipsterProperties.Async asyncProperties,
+                                                                             String threadNamePrefix) {
+        AsyncTaskExecutor delegate = createDelegate(asyncProperties, threadNamePrefix);
+        ExceptionHandlingAsyncTaskExecutor executor = new ExceptionHandlingAsyncTaskExecutor(delegate);
+        if (asyncProperties.getMode() == ExecutorMode.ADAPTIVE) {
+            executor.addTaskExecutionListener(new AdaptivePoolSizer((ThreadPoolTaskExecutor) delegate,
+                asyncProperties.getTargetQueueTimeInMillis()));
+        }
+        return executor;
+    }
+
+    private static AsyncTaskExecutor createDelegate(JHipsterProperties.Async asyncProperties, String threadNamePrefix) {
+        if (asyncProperties.getMode() == ExecutorMode.VIRTUAL) {
+            if (VirtualThreadTaskExecutor.isVirtualThreadSupported()) {
+                return new VirtualThreadTaskExecutor(threadNamePrefix, asyncProperties.getConcurrencyLimit(),
+                    asyncProperties.getQueueCapacity());
+            }
+            // The concurrency limit of the virtual mode is far too high for platform threads
+            log.warn("Virtual threads are not supported by this Java runtime, falling back to the platform mode");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncProperties.getCorePoolSize());
+        executor.setMaxPoolSize(asyncProperties.getMaxPoolSize());
+        executor.setQueueCapacity(asyncProperties.getQueueCapacity());
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
+    }
+}
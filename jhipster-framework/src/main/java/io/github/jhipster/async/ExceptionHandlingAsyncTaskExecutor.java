@@ -21,17 +21,40 @@ package io.github.jhipster.async;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * <p>ExceptionHandlingAsyncTaskExecutor class.</p>
+ *
+ * <p>Besides logging the exceptions thrown by tasks, this executor propagates the {@link MDC} context of the
+ * submitting thread to the worker thread, keeps track of the number of queued and running tasks, and notifies its
+ * {@link TaskExecutionListener}s of the time tasks spend waiting and running.</p>
+ *
+ * <p>All submission methods, including the {@link ListenableFuture} and {@link CompletableFuture} ones, apply the
+ * same exception handling and MDC propagation.</p>
  */
-public class ExceptionHandlingAsyncTaskExecutor implements AsyncTaskExecutor,
+public class ExceptionHandlingAsyncTaskExecutor implements AsyncListenableTaskExecutor,
     InitializingBean, DisposableBean {
 
     static final String EXCEPTION_MESSAGE = "Caught async exception";
@@ -40,6 +63,12 @@ public class ExceptionHandlingAsyncTaskExecutor implements AsyncTaskExecutor,
 
     private final AsyncTaskExecutor executor;
 
+    private final AtomicInteger queuedCount = new AtomicInteger();
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private final List<TaskExecutionListener> taskExecutionListeners = new CopyOnWriteArrayList<>();
+
     /**
      * <p>Constructor for ExceptionHandlingAsyncTaskExecutor.</p>
      *
@@ -52,32 +81,59 @@ public class ExceptionHandlingAsyncTaskExecutor implements AsyncTaskExecutor,
     /** {@inheritDoc} */
     @Override
     public void execute(Runnable task) {
-        executor.execute(createWrappedRunnable(task));
+        TaskContext context = new TaskContext();
+        submit(context, () -> {
+            executor.execute(createWrappedRunnable(context, task));
+            return null;
+        });
     }
 
     /** {@inheritDoc} */
     @Override
     public void execute(Runnable task, long startTimeout) {
-        executor.execute(createWrappedRunnable(task), startTimeout);
+        TaskContext context = new TaskContext();
+        submit(context, () -> {
+            executor.execute(createWrappedRunnable(context, task), startTimeout);
+            return null;
+        });
     }
 
-    private <T> Callable<T> createCallable(final Callable<T> task) {
+    private <T> T submit(TaskContext context, Supplier<T> submission) {
+        queuedCount.incrementAndGet();
+        T result;
+        try {
+            result = submission.get();
+        } catch (RejectedExecutionException e) {
+            context.rejected();
+            throw e;
+        }
+        context.submitted();
+        return result;
+    }
+
+    private <T> Callable<T> createCallable(final TaskContext context, final Callable<T> task) {
         return () -> {
+            Map<String, String> previousMdc = context.started();
             try {
                 return task.call();
             } catch (Exception e) {
                 handle(e);
                 throw e;
+            } finally {
+                context.finished(previousMdc);
             }
         };
     }
 
-    private Runnable createWrappedRunnable(final Runnable task) {
+    private Runnable createWrappedRunnable(final TaskContext context, final Runnable task) {
         return () -> {
+            Map<String, String> previousMdc = context.started();
             try {
                 task.run();
             } catch (Exception e) {
                 handle(e);
+            } finally {
+                context.finished(previousMdc);
             }
         };
     }
@@ -94,13 +150,212 @@ public class ExceptionHandlingAsyncTaskExecutor implements AsyncTaskExecutor,
     /** {@inheritDoc} */
     @Override
     public Future<?> submit(Runnable task) {
-        return executor.submit(createWrappedRunnable(task));
+        TaskContext context = new TaskContext();
+        return submit(context, () -> executor.submit(createWrappedRunnable(context, task)));
     }
 
     /** {@inheritDoc} */
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return executor.submit(createCallable(task));
+        TaskContext context = new TaskContext();
+        return submit(context, () -> executor.submit(createCallable(context, task)));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ListenableFuture<?> submitListenable(Runnable task) {
+        TaskContext context = new TaskContext();
+        return submit(context, () -> {
+            Runnable wrapped = createWrappedRunnable(context, task);
+            if (executor instanceof AsyncListenableTaskExecutor) {
+                return ((AsyncListenableTaskExecutor) executor).submitListenable(wrapped);
+            }
+            ListenableFutureTask<Object> future = new ListenableFutureTask<>(wrapped, null);
+            executor.execute(future);
+            return future;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+        TaskContext context = new TaskContext();
+        return submit(context, () -> {
+            Callable<T> wrapped = createCallable(context, task);
+            if (executor instanceof AsyncListenableTaskExecutor) {
+                return ((AsyncListenableTaskExecutor) executor).submitListenable(wrapped);
+            }
+            ListenableFutureTask<T> future = new ListenableFutureTask<>(wrapped);
+            executor.execute(future);
+            return future;
+        });
+    }
+
+    /**
+     * Submit a task for execution, receiving a {@link CompletableFuture} representing that task.
+     *
+     * <p>Cancelling the returned future does not interrupt the task.</p>
+     *
+     * @param task the {@code Runnable} to execute.
+     * @return a {@link java.util.concurrent.CompletableFuture} completed with null when the task is done.
+     */
+    public CompletableFuture<Void> submitCompletable(Runnable task) {
+        return submitCompletable(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Submit a task for execution, receiving a {@link CompletableFuture} representing that task.
+     *
+     * <p>Cancelling the returned future does not interrupt the task.</p>
+     *
+     * @param task the {@code Callable} to execute.
+     * @param <T> the type of the task result.
+     * @return a {@link java.util.concurrent.CompletableFuture} completed with the task result.
+     */
+    public <T> CompletableFuture<T> submitCompletable(Callable<T> task) {
+        TaskContext context = new TaskContext();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        submit(context, () -> {
+            executor.execute(createCompletingRunnable(createCallable(context, task), future));
+            return null;
+        });
+        return future;
+    }
+
+    /**
+     * Submit a batch of tasks for execution, receiving a {@link CompletableFuture} of all their results.
+     *
+     * <p>Instead of handing each task over to the underlying executor, the batch is handed over as a few runners
+     * which take the tasks of the batch in order until none is left. This spares the queue contention of a hand-off
+     * per task for large fan-outs. So that a batch does not hold all the threads of the executor while other work
+     * waits, it uses at most half of them: half the core pool size of a {@link ThreadPoolTaskExecutor}, or half the
+     * concurrency limit of a {@link VirtualThreadTaskExecutor}.</p>
+     *
+     * @param tasks the tasks to execute.
+     * @param <T> the type of the task results.
+     * @return a {@link java.util.concurrent.CompletableFuture} completed with the task results, in the order of the
+     * given tasks, or completed exceptionally once all tasks are done if any of them failed.
+     * @see #submitAll(Collection, int)
+     */
+    public <T> CompletableFuture<List<T>> submitAll(Collection<? extends Callable<T>> tasks) {
+        return submitAll(tasks, Math.max(1, getBatchParallelism() / 2));
+    }
+
+    /**
+     * Submit a batch of tasks for execution, receiving a {@link CompletableFuture} of all their results.
+     *
+     * <p>The batch is handed over to the underlying executor as at most {@code maxParallelism} runners, which take the
+     * tasks of the batch in order until none is left, so at most {@code maxParallelism} threads run the batch.</p>
+     *
+     * @param tasks the tasks to execute.
+     * @param maxParallelism the maximum number of tasks of the batch running at the same time.
+     * @param <T> the type of the task results.
+     * @return a {@link java.util.concurrent.CompletableFuture} completed with the task results, in the order of the
+     * given tasks, or completed exceptionally once all tasks are done if any of them failed.
+     */
+    public <T> CompletableFuture<List<T>> submitAll(Collection<? extends Callable<T>> tasks, int maxParallelism) {
+        Assert.isTrue(maxParallelism > 0, "maxParallelism must be positive");
+        List<Runnable> batch = new ArrayList<>(tasks.size());
+        List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+        List<TaskContext> contexts = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            TaskContext context = new TaskContext();
+            CompletableFuture<T> future = new CompletableFuture<>();
+            batch.add(createCompletingRunnable(createCallable(context, task), future));
+            futures.add(future);
+            contexts.add(context);
+        }
+        queuedCount.addAndGet(batch.size());
+
+        AtomicInteger next = new AtomicInteger();
+        Runnable runner = () -> {
+            for (int i = next.getAndIncrement(); i < batch.size(); i = next.getAndIncrement()) {
+                batch.get(i).run();
+            }
+        };
+        int runners = Math.min(batch.size(), maxParallelism);
+        for (int i = 0; i < runners; i++) {
+            try {
+                executor.execute(runner);
+            } catch (RejectedExecutionException e) {
+                if (i > 0) {
+                    // The runners already accepted take over the tasks of the rejected ones
+                    break;
+                }
+                contexts.forEach(TaskContext::rejected);
+                throw e;
+            }
+        }
+        contexts.forEach(TaskContext::submitted);
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(done -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    private int getBatchParallelism() {
+        if (executor instanceof ThreadPoolTaskExecutor) {
+            return Math.max(1, ((ThreadPoolTaskExecutor) executor).getCorePoolSize());
+        }
+        if (executor instanceof VirtualThreadTaskExecutor) {
+            return ((VirtualThreadTaskExecutor) executor).getConcurrencyLimit();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static <T> Runnable createCompletingRunnable(Callable<T> task, CompletableFuture<T> future) {
+        return () -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+    }
+
+    /**
+     * Return the number of tasks waiting for a thread.
+     *
+     * <p>For a {@link ThreadPoolTaskExecutor} or a {@link VirtualThreadTaskExecutor}, this is the size of the queue of
+     * the underlying executor, so cancelled and discarded tasks are not counted, and a batch submitted with
+     * {@link #submitAll(Collection)} counts as its queued runners. For other executors, this is the number of tasks
+     * submitted to this executor which have not started yet.</p>
+     *
+     * @return the number of queued tasks.
+     */
+    public int getQueuedCount() {
+        if (executor instanceof ThreadPoolTaskExecutor) {
+            try {
+                return ((ThreadPoolTaskExecutor) executor).getThreadPoolExecutor().getQueue().size();
+            } catch (IllegalStateException e) {
+                // Not initialized yet
+                return 0;
+            }
+        }
+        if (executor instanceof VirtualThreadTaskExecutor) {
+            return ((VirtualThreadTaskExecutor) executor).getQueueSize();
+        }
+        return queuedCount.get();
+    }
+
+    /**
+     * Return the number of tasks submitted to this executor which are running.
+     *
+     * @return the number of active tasks.
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * Register a listener notified of the lifecycle of the tasks handed over to this executor.
+     *
+     * @param taskExecutionListener a {@link io.github.jhipster.async.TaskExecutionListener} object.
+     */
+    public void addTaskExecutionListener(TaskExecutionListener taskExecutionListener) {
+        taskExecutionListeners.add(taskExecutionListener);
     }
 
     /** {@inheritDoc} */
@@ -120,4 +375,58 @@ public class ExceptionHandlingAsyncTaskExecutor implements AsyncTaskExecutor,
             bean.afterPropertiesSet();
         }
     }
+
+    /**
+     * State of a task, captured on the submitting thread.
+     */
+    private class TaskContext {
+
+        private final Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        private final long submitTime = System.nanoTime();
+
+        private long startTime;
+
+        private void submitted() {
+            for (TaskExecutionListener listener : taskExecutionListeners) {
+                listener.taskSubmitted();
+            }
+        }
+
+        private Map<String, String> started() {
+            startTime = System.nanoTime();
+            queuedCount.decrementAndGet();
+            activeCount.incrementAndGet();
+            for (TaskExecutionListener listener : taskExecutionListeners) {
+                listener.taskStarted(startTime - submitTime);
+            }
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            setMdc(mdc);
+            return previousMdc;
+        }
+
+        private void finished(Map<String, String> previousMdc) {
+            setMdc(previousMdc);
+            activeCount.decrementAndGet();
+            long executionTime = System.nanoTime() - startTime;
+            for (TaskExecutionListener listener : taskExecutionListeners) {
+                listener.taskFinished(executionTime);
+            }
+        }
+
+        private void rejected() {
+            queuedCount.decrementAndGet();
+            for (TaskExecutionListener listener : taskExecutionListeners) {
+                listener.taskRejected();
+            }
+        }
+
+        private void setMdc(Map<String, String> contextMap) {
+            if (contextMap == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(contextMap);
+            }
+        }
+    }
 }
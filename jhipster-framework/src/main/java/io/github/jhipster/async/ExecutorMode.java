@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.async;
+
+/**
+ * Kind of executor backing the JHipster asynchronous task executor.
+ */
+public enum ExecutorMode {
+
+    /**
+     * Bounded pool of platform threads, fed by a queue.
+     */
+    PLATFORM,
+
+    /**
+     * Pool of platform threads, resized from the observed queue wait by an {@link AdaptivePoolSizer}.
+     */
+    ADAPTIVE,
+
+    /**
+     * One virtual thread per task, with a concurrency limit, and at most {@code queue-capacity} tasks waiting for it.
+     */
+    VIRTUAL
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.async;
+
+/**
+ * Callback notified of the lifecycle of the tasks handed over to an {@link ExceptionHandlingAsyncTaskExecutor}.
+ *
+ * <p>Callbacks are invoked on the submitting thread for submissions and rejections and on the worker thread
+ * otherwise, so implementations must be thread-safe and fast.</p>
+ */
+public interface TaskExecutionListener {
+
+    /**
+     * Called when a task is handed over to the underlying executor.
+     */
+    default void taskSubmitted() {
+    }
+
+    /**
+     * Called when a task starts running.
+     *
+     * @param queuedNanos the time the task waited between its submission and its start, in nanoseconds.
+     */
+    default void taskStarted(long queuedNanos) {
+    }
+
+    /**
+     * Called when a task is done running, successfully or not.
+     *
+     * @param executionNanos the time the task ran, in nanoseconds.
+     */
+    default void taskFinished(long executionNanos) {
+    }
+
+    /**
+     * Called when a task is rejected by the underlying executor.
+     */
+    default void taskRejected() {
+    }
+}
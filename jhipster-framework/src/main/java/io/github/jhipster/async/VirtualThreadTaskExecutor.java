@@ -0,0 +1,256 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.async;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link AsyncTaskExecutor} running tasks on virtual threads.
+ *
+ * <p>Each task is started on a thread of its own, which waits for one of the {@code concurrencyLimit} permits before
+ * running it, so at most {@code concurrencyLimit} tasks run at the same time. Waiting virtual threads are cheap, which
+ * suits blocking I/O bound tasks, such as sending mails or calling remote services, that would otherwise exhaust a
+ * bounded thread pool. At most {@code queueCapacity} tasks wait for a permit: further tasks are rejected with a
+ * {@link TaskRejectedException}.</p>
+ *
+ * <p>Virtual threads require Java 21. On older runtimes, this executor falls back to platform threads, with the same
+ * concurrency limit.</p>
+ */
+public class VirtualThreadTaskExecutor implements AsyncTaskExecutor, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadTaskExecutor.class);
+
+    private final ThreadFactory threadFactory;
+
+    private final Semaphore permits;
+
+    private final int concurrencyLimit;
+
+    private final int queueCapacity;
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private final Map<Thread, Runnable> waitingTasks = new ConcurrentHashMap<>();
+
+    private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean shutdown;
+
+    /**
+     * <p>Constructor for VirtualThreadTaskExecutor, without limit on the number of waiting tasks.</p>
+     *
+     * @param threadNamePrefix the prefix of the names of the threads started by this executor.
+     * @param concurrencyLimit the maximum number of tasks running at the same time.
+     */
+    public VirtualThreadTaskExecutor(String threadNamePrefix, int concurrencyLimit) {
+        this(threadNamePrefix, concurrencyLimit, Integer.MAX_VALUE);
+    }
+
+    /**
+     * <p>Constructor for VirtualThreadTaskExecutor.</p>
+     *
+     * @param threadNamePrefix the prefix of the names of the threads started by this executor.
+     * @param concurrencyLimit the maximum number of tasks running at the same time.
+     * @param queueCapacity the maximum number of tasks waiting for a permit.
+     */
+    public VirtualThreadTaskExecutor(String threadNamePrefix, int concurrencyLimit, int queueCapacity) {
+        Assert.isTrue(concurrencyLimit > 0, "concurrencyLimit must be positive");
+        Assert.isTrue(queueCapacity >= 0, "queueCapacity must not be negative");
+        this.threadFactory = createThreadFactory(threadNamePrefix);
+        this.permits = new Semaphore(concurrencyLimit);
+        this.concurrencyLimit = concurrencyLimit;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Return whether the current runtime supports virtual threads.
+     *
+     * @return true on Java 21 or later.
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ThreadFactory createThreadFactory(String threadNamePrefix) {
+        if (!isVirtualThreadSupported()) {
+            log.warn("Virtual threads are not supported by this Java runtime, falling back to platform threads");
+            return new CustomizableThreadFactory(threadNamePrefix);
+        }
+        try {
+            // Reflection keeps this class compatible with Java 8
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create a virtual thread factory", e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void execute(Runnable task) {
+        Assert.notNull(task, "Runnable must not be null");
+        if (shutdown) {
+            throw new TaskRejectedException("Executor has been shut down, task " + task + " rejected");
+        }
+        if (queueSize.incrementAndGet() > (long) queueCapacity + permits.availablePermits()) {
+            queueSize.decrementAndGet();
+            throw new TaskRejectedException("Queue capacity of " + queueCapacity + " reached, task " + task +
+                " rejected");
+        }
+        try {
+            Thread thread = threadFactory.newThread(() -> run(task));
+            // Registered before the thread starts, so that destroy() sees the task
+            waitingTasks.put(thread, task);
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            queueSize.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task) {
+        Thread current = Thread.currentThread();
+        try {
+            if (shutdown) {
+                // Submitted while destroy() was running
+                cancel(task);
+                return;
+            }
+            permits.acquire();
+        } catch (InterruptedException e) {
+            // Interrupted by destroy(), which cancels the waiting tasks
+            return;
+        } finally {
+            waitingTasks.remove(current);
+            queueSize.decrementAndGet();
+        }
+        runningThreads.add(current);
+        try {
+            if (!shutdown) {
+                task.run();
+            }
+        } finally {
+            runningThreads.remove(current);
+            permits.release();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void execute(Runnable task, long startTimeout) {
+        execute(task);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Future<?> submit(Runnable task) {
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * Reject new tasks, cancel the waiting ones and interrupt the running ones.
+     */
+    @Override
+    public void destroy() {
+        shutdown = true;
+        for (Map.Entry<Thread, Runnable> waiting : waitingTasks.entrySet()) {
+            cancel(waiting.getValue());
+            waiting.getKey().interrupt();
+        }
+        for (Thread running : runningThreads) {
+            running.interrupt();
+        }
+    }
+
+    private static void cancel(Runnable task) {
+        if (task instanceof Future) {
+            ((Future<?>) task).cancel(false);
+        }
+    }
+
+    /**
+     * <p>Getter for the field <code>concurrencyLimit</code>.</p>
+     *
+     * @return the maximum number of tasks running at the same time.
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Return the number of tasks running.
+     *
+     * @return the number of threads holding a permit.
+     */
+    public int getActiveCount() {
+        return concurrencyLimit - permits.availablePermits();
+    }
+
+    /**
+     * <p>Getter for the field <code>queueCapacity</code>.</p>
+     *
+     * @return the maximum number of tasks waiting for a permit.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Return the number of tasks waiting for a permit.
+     *
+     * @return the number of queued tasks.
+     */
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+}
@@ -19,6 +19,9 @@
 
 package io.github.jhipster.config;
 
+import io.github.jhipster.async.ExecutorMode;
+import io.github.jhipster.config.logging.OverflowPolicy;
+
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +36,9 @@ public interface JHipsterDefaults {
         int corePoolSize = 2;
         int maxPoolSize = 50;
         int queueCapacity = 10000;
+        ExecutorMode mode = ExecutorMode.PLATFORM;
+        int concurrencyLimit = 1000; // used by the virtual mode only
+        long targetQueueTimeInMillis = 10; // used by the adaptive mode only
     }
 
     interface Http {
@@ -43,6 +49,14 @@ public interface JHipsterDefaults {
         }
     }
 
+    interface Database {
+
+        interface PostgresqlBatch {
+
+            boolean enabled = false;
+        }
+    }
+
     interface Cache {
 
         interface Hazelcast {
@@ -193,12 +207,27 @@ public interface JHipsterDefaults {
 
         boolean useJsonFormat = false;
 
+        interface AsyncConsole {
+
+            boolean enabled = false;
+            int ringBufferSize = 8192; // must be a power of 2
+            OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        }
+
         interface Logstash {
 
             boolean enabled = false;
             String host = "localhost";
             int port = 5000;
             int queueSize = 512;
+
+            interface Spill {
+
+                boolean enabled = false;
+                String path = System.getProperty("java.io.tmpdir") + "/logstash-spill.dat";
+                int maxSize = 64 * 1024 * 1024; // 64 MB
+                int replayIntervalInSeconds = 10;
+            }
         }
     }
 
@@ -19,6 +19,8 @@
 
 package io.github.jhipster.config;
 
+import io.github.jhipster.async.ExecutorMode;
+import io.github.jhipster.config.logging.OverflowPolicy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.annotation.PropertySources;
@@ -217,6 +219,12 @@ public class JHipsterProperties {
 
         private int queueCapacity = JHipsterDefaults.Async.queueCapacity;
 
+        private ExecutorMode mode = JHipsterDefaults.Async.mode;
+
+        private int concurrencyLimit = JHipsterDefaults.Async.concurrencyLimit;
+
+        private long targetQueueTimeInMillis = JHipsterDefaults.Async.targetQueueTimeInMillis;
+
         public int getCorePoolSize() {
             return corePoolSize;
         }
@@ -240,6 +248,30 @@ public class JHipsterProperties {
         public void setQueueCapacity(int queueCapacity) {
             this.queueCapacity = queueCapacity;
         }
+
+        public ExecutorMode getMode() {
+            return mode;
+        }
+
+        public void setMode(ExecutorMode mode) {
+            this.mode = mode;
+        }
+
+        public int getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        public void setConcurrencyLimit(int concurrencyLimit) {
+            this.concurrencyLimit = concurrencyLimit;
+        }
+
+        public long getTargetQueueTimeInMillis() {
+            return targetQueueTimeInMillis;
+        }
+
+        public void setTargetQueueTimeInMillis(long targetQueueTimeInMillis) {
+            this.targetQueueTimeInMillis = targetQueueTimeInMillis;
+        }
     }
 
     public static class Http {
@@ -268,10 +300,16 @@ public class JHipsterProperties {
 
         private final Couchbase couchbase = new Couchbase();
 
+        private final PostgresqlBatch postgresqlBatch = new PostgresqlBatch();
+
         public Couchbase getCouchbase() {
             return couchbase;
         }
 
+        public PostgresqlBatch getPostgresqlBatch() {
+            return postgresqlBatch;
+        }
+
         public static class Couchbase {
 
             private String bucketName;
@@ -285,6 +323,19 @@ public class JHipsterProperties {
                 return this;
             }
         }
+
+        public static class PostgresqlBatch {
+
+            private boolean enabled = JHipsterDefaults.Database.PostgresqlBatch.enabled;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+        }
     }
 
     public static class Cache {
@@ -1123,6 +1174,8 @@ public class JHipsterProperties {
 
         private boolean useJsonFormat = JHipsterDefaults.Logging.useJsonFormat;
 
+        private final AsyncConsole asyncConsole = new AsyncConsole();
+
         private final Logstash logstash = new Logstash();
 
         public boolean isUseJsonFormat() {
@@ -1133,10 +1186,47 @@ public class JHipsterProperties {
             this.useJsonFormat = useJsonFormat;
         }
 
+        public AsyncConsole getAsyncConsole() {
+            return asyncConsole;
+        }
+
         public Logstash getLogstash() {
             return logstash;
         }
 
+        public static class AsyncConsole {
+
+            private boolean enabled = JHipsterDefaults.Logging.AsyncConsole.enabled;
+
+            private int ringBufferSize = JHipsterDefaults.Logging.AsyncConsole.ringBufferSize;
+
+            private OverflowPolicy overflowPolicy = JHipsterDefaults.Logging.AsyncConsole.overflowPolicy;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getRingBufferSize() {
+                return ringBufferSize;
+            }
+
+            public void setRingBufferSize(int ringBufferSize) {
+                this.ringBufferSize = ringBufferSize;
+            }
+
+            public OverflowPolicy getOverflowPolicy() {
+                return overflowPolicy;
+            }
+
+            public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+                this.overflowPolicy = overflowPolicy;
+            }
+        }
+
         public static class Logstash {
 
             private boolean enabled = JHipsterDefaults.Logging.Logstash.enabled;
@@ -1147,6 +1237,8 @@ public class JHipsterProperties {
 
             private int queueSize = JHipsterDefaults.Logging.Logstash.queueSize;
 
+            private final Spill spill = new Spill();
+
             public boolean isEnabled() {
                 return enabled;
             }
@@ -1178,6 +1270,53 @@ public class JHipsterProperties {
             public void setQueueSize(int queueSize) {
                 this.queueSize = queueSize;
             }
+
+            public Spill getSpill() {
+                return spill;
+            }
+
+            public static class Spill {
+
+                private boolean enabled = JHipsterDefaults.Logging.Logstash.Spill.enabled;
+
+                private String path = JHipsterDefaults.Logging.Logstash.Spill.path;
+
+                private int maxSize = JHipsterDefaults.Logging.Logstash.Spill.maxSize;
+
+                private int replayIntervalInSeconds = JHipsterDefaults.Logging.Logstash.Spill.replayIntervalInSeconds;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public String getPath() {
+                    return path;
+                }
+
+                public void setPath(String path) {
+                    this.path = path;
+                }
+
+                public int getMaxSize() {
+                    return maxSize;
+                }
+
+                public void setMaxSize(int maxSize) {
+                    this.maxSize = maxSize;
+                }
+
+                public int getReplayIntervalInSeconds() {
+                    return replayIntervalInSeconds;
+                }
+
+                public void setReplayIntervalInSeconds(int replayIntervalInSeconds) {
+                    this.replayIntervalInSeconds = replayIntervalInSeconds;
+                }
+            }
         }
     }
 
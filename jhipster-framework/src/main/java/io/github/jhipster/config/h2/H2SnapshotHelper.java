@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.h2;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Utility class to snapshot and restore H2 databases, typically to skip migrations in integration tests.
+ * <p>
+ * A snapshot is a compressed {@code SCRIPT} of the whole database, stored in a directory shared by all the test
+ * JVMs of a build and named after a key, such as the fingerprint of the changelog which created the database.
+ * Restoring it with {@code RUNSCRIPT} is much faster than running the migrations again. Restoring a snapshot updates
+ * its modification time, so that {@link #prune(Path, Duration)} only deletes the snapshots which are no longer used.
+ * <p>
+ * Only SQL statements are used, so this class does not depend on H2 classes.
+ */
+public class H2SnapshotHelper {
+
+    /** Constant <code>DEFAULT_SNAPSHOT_DIRECTORY</code>, in the temporary directory */
+    public static final Path DEFAULT_SNAPSHOT_DIRECTORY =
+        Paths.get(System.getProperty("java.io.tmpdir"), "jhipster-h2-snapshots");
+
+    /** Constant <code>DEFAULT_MAX_AGE</code>, of the snapshots not used for a week */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofDays(7);
+
+    private static final String SNAPSHOT_EXTENSION = ".sql.deflate";
+
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private H2SnapshotHelper() {
+    }
+
+    /**
+     * Return the snapshot file of the given key.
+     *
+     * @param directory the snapshot directory.
+     * @param key the snapshot key, made of characters allowed in file names.
+     * @return a {@link java.nio.file.Path} object, which may not exist.
+     */
+    public static Path getSnapshotPath(Path directory, String key) {
+        return directory.resolve(key + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * <p>hasSnapshot.</p>
+     *
+     * @param directory the snapshot directory.
+     * @param key the snapshot key.
+     * @return true if a snapshot exists for the given key.
+     */
+    public static boolean hasSnapshot(Path directory, String key) {
+        return Files.isReadable(getSnapshotPath(directory, key));
+    }
+
+    /**
+     * Write a snapshot of the whole database.
+     *
+     * <p>The snapshot is written to a temporary file first, then moved, so that concurrent test JVMs never read a
+     * partial snapshot.</p>
+     *
+     * @param dataSource the H2 database.
+     * @param directory the snapshot directory, created if needed.
+     * @param key the snapshot key.
+     * @throws java.sql.SQLException if the snapshot cannot be written.
+     */
+    public static void snapshot(DataSource dataSource, Path directory, String key) throws SQLException {
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, key, TEMPORARY_EXTENSION);
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SCRIPT TO '" + toSqlPath(temporary) + "' COMPRESSION DEFLATE");
+            }
+            Files.move(temporary, getSnapshotPath(directory, key), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new SQLException("Failed to write the H2 snapshot " + key, e);
+        }
+    }
+
+    /**
+     * Replace the whole content of the database with a snapshot.
+     *
+     * <p>If the snapshot cannot be read, for instance because it is corrupt or was written by another H2 version, it
+     * is deleted and the database is left empty.</p>
+     *
+     * @param dataSource the H2 database.
+     * @param directory the snapshot directory.
+     * @param key the snapshot key.
+     * @return false if there is no snapshot for the given key, in which case the database is left untouched.
+     * @throws java.sql.SQLException if the snapshot cannot be restored.
+     */
+    public static boolean restore(DataSource dataSource, Path directory, String key) throws SQLException {
+        Path snapshot = getSnapshotPath(directory, key);
+        if (!Files.isReadable(snapshot)) {
+            return false;
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            try {
+                statement.execute("RUNSCRIPT FROM '" + toSqlPath(snapshot) + "' COMPRESSION DEFLATE");
+            } catch (SQLException e) {
+                statement.execute("DROP ALL OBJECTS");
+                delete(snapshot, e);
+                throw e;
+            }
+        }
+        try {
+            Files.setLastModifiedTime(snapshot, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Only used to prune the snapshots
+        }
+        return true;
+    }
+
+    /**
+     * Delete the snapshots, and the temporary files of interrupted snapshots, not used for the given duration.
+     *
+     * @param directory the snapshot directory.
+     * @param maxAge the time after which an unused snapshot is deleted.
+     * @return the number of deleted files.
+     */
+    public static int prune(Path directory, Duration maxAge) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long oldest = System.currentTimeMillis() - maxAge.toMillis();
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*{" + SNAPSHOT_EXTENSION + "," +
+            TEMPORARY_EXTENSION + "}")) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < oldest && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    // Deleted or in use by another JVM
+                }
+            }
+        } catch (IOException e) {
+            // The snapshots are pruned again by the next snapshot
+        }
+        return deleted;
+    }
+
+    private static void delete(Path snapshot, SQLException cause) {
+        try {
+            Files.deleteIfExists(snapshot);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static String toSqlPath(Path path) {
+        return path.toAbsolutePath().toString().replace("'", "''");
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.h2;
+
+import io.github.jhipster.config.liquibase.ChangeLogFingerprint;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SpringLiquibase restoring an {@link H2SnapshotHelper} snapshot instead of running the changelog, when a snapshot
+ * of the same changelog exists.
+ * <p>
+ * Snapshots are keyed by the {@link ChangeLogFingerprint} of the changelog resources and settings, the H2 version
+ * and the compatibility settings of the database, such as {@code MODE}: the first Spring context of a test suite
+ * runs the migrations and takes the snapshot, the following ones, in the same JVM or not, restore it. A snapshot
+ * which cannot be restored is deleted and the migrations run instead, and the snapshots not used for
+ * {@link #setSnapshotMaxAge(Duration) a while} are deleted when a new one is taken. Meant for integration tests on
+ * H2 only.
+ */
+public class H2SnapshotSpringLiquibase extends SpringLiquibase {
+
+    /** Constant <code>RESTORED_MESSAGE="Restored H2 snapshot {} in {} ms"</code> */
+    public static final String RESTORED_MESSAGE = "Restored H2 snapshot {} in {} ms";
+    /** Constant <code>SNAPSHOT_MESSAGE="Took H2 snapshot {} after Liquibase ran in {} ms"</code> */
+    public static final String SNAPSHOT_MESSAGE = "Took H2 snapshot {} after Liquibase ran in {} ms";
+    /** Constant <code>RESTORE_FAILED_MESSAGE="Unable to restore H2 snapshot {}, running Liquibase"</code> */
+    public static final String RESTORE_FAILED_MESSAGE = "Unable to restore H2 snapshot {}, running Liquibase";
+
+    private static final List<String> COMPATIBILITY_SETTINGS = Arrays.asList("MODE", "DATABASE_TO_UPPER",
+        "DATABASE_TO_LOWER", "CASE_INSENSITIVE_IDENTIFIERS", "IGNORECASE");
+
+    // named "logger" because there is already a field called "log" in "SpringLiquibase"
+    private final Logger logger = LoggerFactory.getLogger(H2SnapshotSpringLiquibase.class);
+
+    private Path snapshotDirectory = H2SnapshotHelper.DEFAULT_SNAPSHOT_DIRECTORY;
+
+    private Duration snapshotMaxAge = H2SnapshotHelper.DEFAULT_MAX_AGE;
+
+    /** {@inheritDoc} */
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        if (!isShouldRun()) {
+            // Liquibase logs that it does not run; the database must not be replaced by a snapshot either
+            super.afterPropertiesSet();
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        String key = getSnapshotKey();
+        if (restore(key)) {
+            logger.debug(RESTORED_MESSAGE, key, System.currentTimeMillis() - startTime);
+            return;
+        }
+        super.afterPropertiesSet();
+        try {
+            H2SnapshotHelper.snapshot(getDataSource(), snapshotDirectory, key);
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        }
+        H2SnapshotHelper.prune(snapshotDirectory, snapshotMaxAge);
+        logger.debug(SNAPSHOT_MESSAGE, key, System.currentTimeMillis() - startTime);
+    }
+
+    private boolean isShouldRun() {
+        return shouldRun && LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class)
+            .getShouldRun();
+    }
+
+    private boolean restore(String key) {
+        try {
+            return H2SnapshotHelper.restore(getDataSource(), snapshotDirectory, key);
+        } catch (SQLException e) {
+            logger.warn(RESTORE_FAILED_MESSAGE, key, e);
+            return false;
+        }
+    }
+
+    /**
+     * Return the key of the snapshot of the configured changelog.
+     *
+     * @return the fingerprint of the changelog resources and settings, and of the H2 database.
+     * @throws liquibase.exception.LiquibaseException if the changelog resources or the database cannot be read.
+     */
+    public String getSnapshotKey() throws LiquibaseException {
+        Map<String, String> settings = new HashMap<>();
+        settings.put("changeLog", getChangeLog());
+        settings.put("contexts", getContexts());
+        settings.put("labels", getLabels());
+        settings.put("tag", getTag());
+        settings.put("defaultSchema", getDefaultSchema());
+        if (parameters != null) {
+            parameters.forEach((key, value) -> settings.put("parameter." + key, value));
+        }
+        try (Connection connection = getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM INFORMATION_SCHEMA.SETTINGS")) {
+            settings.put("h2.version", connection.getMetaData().getDatabaseProductVersion());
+            while (resultSet.next()) {
+                // The name and value columns are named differently in H2 1.4 and 2.x
+                String name = resultSet.getString(1);
+                if (COMPATIBILITY_SETTINGS.contains(name)) {
+                    settings.put("h2." + name, resultSet.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        }
+        try {
+            return new ChangeLogFingerprint(ChangeLogFingerprint.DEFAULT_TABLE_NAME).compute(
+                ResourcePatternUtils.getResourcePatternResolver(
+                    resourceLoader != null ? resourceLoader : new DefaultResourceLoader()),
+                ChangeLogFingerprint.getDefaultLocationPattern(getChangeLog()), settings);
+        } catch (IOException e) {
+            throw new LiquibaseException("Unable to read the changelog resources", e);
+        }
+    }
+
+    /**
+     * <p>Getter for the field <code>snapshotDirectory</code>.</p>
+     *
+     * @return a {@link java.nio.file.Path} object.
+     */
+    public Path getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    /**
+     * <p>Setter for the field <code>snapshotDirectory</code>.</p>
+     *
+     * @param snapshotDirectory the directory storing the snapshots, shared by the test JVMs of a build.
+     */
+    public void setSnapshotDirectory(Path snapshotDirectory) {
+        this.snapshotDirectory = snapshotDirectory;
+    }
+
+    /**
+     * <p>Getter for the field <code>snapshotMaxAge</code>.</p>
+     *
+     * @return a {@link java.time.Duration} object.
+     */
+    public Duration getSnapshotMaxAge() {
+        return snapshotMaxAge;
+    }
+
+    /**
+     * <p>Setter for the field <code>snapshotMaxAge</code>.</p>
+     *
+     * @param snapshotMaxAge the time after which an unused snapshot is deleted.
+     */
+    public void setSnapshotMaxAge(Duration snapshotMaxAge) {
+        this.snapshotMaxAge = snapshotMaxAge;
+    }
+}
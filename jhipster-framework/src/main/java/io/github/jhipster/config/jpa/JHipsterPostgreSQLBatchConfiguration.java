@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.jpa;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JHipster auto-configuration for bulk writes on PostgreSQL, enabled with
+ * {@code jhipster.database.postgresql-batch.enabled}.
+ * <ul>
+ * <li>JDBC batches of 50 statements, the default allocation size of {@code javax.persistence.SequenceGenerator},
+ * with inserts and updates ordered by entity so that consecutive statements of the same table share a batch, and
+ * batched updates of versioned entities</li>
+ * <li>the PostgreSQL driver rewrites batched inserts into multi-row inserts, saving a round-trip per row</li>
+ * <li>pooled sequence generators use the {@code pooled-lo} optimizer, which calls the sequence once per block of
+ * identifiers and starts the block at the sequence value, so batched inserts do not wait on the sequence</li>
+ * </ul>
+ * Explicit settings of the application take precedence. Bulk upserts, which Hibernate does not support, can be sent in
+ * batches with {@link PostgreSQLUpsertUtil}.
+ * <p>
+ * The {@code pooled} and {@code pooled-lo} optimizers interpret the sequence value differently: the former hands out
+ * the block ending at the value, the latter the block starting at it. While instances using both optimizers write to
+ * the same database, for instance during a rolling deployment enabling this configuration, they can generate the
+ * same identifiers. Enable it while all the instances are stopped, or set
+ * {@code spring.jpa.properties.hibernate.id.optimizer.pooled.preferred} explicitly to keep the current optimizer.
+ */
+@Configuration
+@ConditionalOnClass({HikariDataSource.class, HibernatePropertiesCustomizer.class})
+@ConditionalOnProperty("jhipster.database.postgresql-batch.enabled")
+public class JHipsterPostgreSQLBatchConfiguration {
+
+    /** Constant <code>REWRITE_BATCHED_INSERTS="reWriteBatchedInserts"</code> */
+    public static final String REWRITE_BATCHED_INSERTS = "reWriteBatchedInserts";
+
+    /** Constant <code>BATCH_SIZE="50"</code> */
+    public static final String BATCH_SIZE = "50";
+
+    /** Constant <code>POOLED_LO_OPTIMIZER="pooled-lo"</code> */
+    public static final String POOLED_LO_OPTIMIZER = "pooled-lo";
+
+    private static final String POSTGRESQL_URL_PREFIX = "jdbc:postgresql:";
+
+    /**
+     * <p>postgreSQLBatchDataSourcePostProcessor.</p>
+     *
+     * @return a {@link org.springframework.beans.factory.config.BeanPostProcessor} enabling the rewriting of batched
+     * inserts on PostgreSQL {@link com.zaxxer.hikari.HikariDataSource}s.
+     */
+    @Bean
+    public static BeanPostProcessor postgreSQLBatchDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    enableBatchedInsertsRewrite((HikariDataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * <p>postgreSQLBatchHibernatePropertiesCustomizer.</p>
+     *
+     * @return a {@link org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer} enabling ordered
+     * JDBC batches and preferring the {@code pooled-lo} optimizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer postgreSQLBatchHibernatePropertiesCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, "true");
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, "true");
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, "true");
+            properties.putIfAbsent(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, POOLED_LO_OPTIMIZER);
+        };
+    }
+
+    static void enableBatchedInsertsRewrite(HikariDataSource dataSource) {
+        String jdbcUrl = dataSource.getJdbcUrl();
+        if (jdbcUrl != null && jdbcUrl.startsWith(POSTGRESQL_URL_PREFIX) &&
+            !jdbcUrl.contains(REWRITE_BATCHED_INSERTS) &&
+            !dataSource.getDataSourceProperties().containsKey(REWRITE_BATCHED_INSERTS)) {
+            dataSource.addDataSourceProperty(REWRITE_BATCHED_INSERTS, "true");
+        }
+    }
+}
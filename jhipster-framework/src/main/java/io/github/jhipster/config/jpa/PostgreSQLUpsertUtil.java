@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.jhipster.config.jpa;
+
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Utility class for bulk upserts with {@code INSERT ... ON CONFLICT}, supported since PostgreSQL 9.5.
+ *
+ * <p>
+ * Hibernate has no upsert operation, so bulk imports which insert or update rows by a unique key otherwise need a
+ * query per row. The rows are sent in JDBC batches of {@link JHipsterPostgreSQLBatchConfiguration#BATCH_SIZE}
+ * statements, which the PostgreSQL driver rewrites into multi-row statements when {@code reWriteBatchedInserts} is
+ * enabled.
+ */
+public interface PostgreSQLUpsertUtil {
+
+    /**
+     * Build an {@code INSERT ... ON CONFLICT} statement.
+     *
+     * @param table the table name.
+     * @param columns the inserted columns, bound in this order.
+     * @param conflictColumns the columns of the unique constraint; the other columns are updated on conflict.
+     * @return the upsert statement, which does nothing on conflict when all the columns are conflict columns.
+     * @throws java.lang.IllegalArgumentException if the columns or the conflict columns are empty.
+     */
+    static String getUpsertString(String table, String[] columns, String[] conflictColumns) {
+        if (columns.length == 0 || conflictColumns.length == 0) {
+            throw new IllegalArgumentException("Columns and conflict columns must not be empty");
+        }
+        StringBuilder sql = new StringBuilder("insert into ").append(table).append(" (")
+            .append(String.join(", ", columns)).append(") values (");
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") on conflict (").append(String.join(", ", conflictColumns)).append(") do ");
+        StringBuilder updates = new StringBuilder();
+        for (String column : columns) {
+            if (Arrays.stream(conflictColumns).noneMatch(column::equalsIgnoreCase)) {
+                updates.append(updates.length() == 0 ? "" : ", ").append(column).append(" = excluded.").append(column);
+            }
+        }
+        return updates.length() == 0 ? sql.append("nothing").toString() :
+            sql.append("update set ").append(updates).toString();
+    }
+
+    /**
+     * Insert or update rows in JDBC batches of {@link JHipsterPostgreSQLBatchConfiguration#BATCH_SIZE} statements.
+     *
+     * @param jdbcOperations the JDBC operations to use.
+     * @param table the table name.
+     * @param columns the inserted columns.
+     * @param conflictColumns the columns of the unique constraint.
+     * @param rows the values of each row, in the order of the columns.
+     * @return the update counts of each batch.
+     * @throws java.lang.IllegalArgumentException if the columns or the conflict columns are empty.
+     */
+    static int[][] upsert(JdbcOperations jdbcOperations, String table, String[] columns, String[] conflictColumns,
+                          List<Object[]> rows) {
+        String sql = getUpsertString(table, columns, conflictColumns);
+        return jdbcOperations.batchUpdate(sql, rows, Integer.parseInt(JHipsterPostgreSQLBatchConfiguration.BATCH_SIZE),
+            (ps, row) -> {
+                for (int i = 0; i < columns.length; i++) {
+                    ps.setObject(i + 1, row[i]);
+                }
+            });
+    }
+}
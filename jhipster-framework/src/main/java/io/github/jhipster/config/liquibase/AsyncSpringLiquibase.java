@@ -18,17 +18,32 @@
  */
 package io.github.jhipster.config.liquibase;
 
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.DatabaseConnection;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
 import liquibase.exception.LiquibaseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.liquibase.DataSourceClosingSpringLiquibase;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StopWatch;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.github.jhipster.config.JHipsterConstants.*;
 
@@ -40,6 +55,16 @@ import static io.github.jhipster.config.JHipsterConstants.*;
  * starts</li> </ul> But as this is a rather slow process, we use this asynchronous version to speed up our start-up
  * time: <ul> <li>On a recent MacBook Pro, start-up time is down from 14 seconds to 8 seconds</li> <li>In production,
  * this can help your application run on platforms like Heroku, where it must start/restart very quickly</li> </ul>
+ * <p> When the fingerprint fast path is enabled, the changelog resources are hashed and compared with the
+ * {@link ChangeLogFingerprint} stored by the previous successful update: if they match, parsing the changelog and
+ * validating the checksums of every change set is skipped altogether.
+ * <p> The {@link LiquibaseMigrationProgress} of the migration is exposed by
+ * {@link JHipsterLiquibaseMigrationConfiguration} as the {@link LiquibaseMigrationHealthIndicator}, as
+ * {@link LiquibaseMetrics}, and through the readiness state of the application, so that no traffic reaches the
+ * application before an asynchronous migration is done.
+ * <p> When parallel change sets are enabled, the change sets labelled {@code parallel:<group>} are applied by a
+ * {@link ParallelChangeLogUpdater}, each group on its own connection from the Liquibase DataSource. These labels
+ * are ignored by the {@code labels} filter, whether parallel change sets are enabled or not.
  */
 public class AsyncSpringLiquibase extends DataSourceClosingSpringLiquibase {
 
@@ -60,6 +85,13 @@ public class AsyncSpringLiquibase extends DataSourceClosingSpringLiquibase {
     public static final long SLOWNESS_THRESHOLD = 5; // seconds
     /** Constant <code>SLOWNESS_MESSAGE="Warning, Liquibase took more than {} se"{trunked}</code> */
     public static final String SLOWNESS_MESSAGE = "Warning, Liquibase took more than {} seconds to start up!";
+    /** Constant <code>FINGERPRINT_MATCH_MESSAGE="Liquibase changelog is unchanged, skip"{trunked}</code> */
+    public static final String FINGERPRINT_MATCH_MESSAGE = "Liquibase changelog is unchanged, skipping the update";
+    /** Constant <code>FINGERPRINT_ERROR_MESSAGE="Unable to use the Liquibase changelog "{trunked}</code> */
+    public static final String FINGERPRINT_ERROR_MESSAGE = "Unable to use the Liquibase changelog fingerprint: {}";
+
+    /** Constant <code>DEFAULT_MAX_PARALLELISM=4</code> */
+    public static final int DEFAULT_MAX_PARALLELISM = 4;
 
     // named "logger" because there is already a field called "log" in "SpringLiquibase"
     private final Logger logger = LoggerFactory.getLogger(AsyncSpringLiquibase.class);
@@ -68,6 +100,22 @@ public class AsyncSpringLiquibase extends DataSourceClosingSpringLiquibase {
 
     private final Environment env;
 
+    private final LiquibaseMigrationProgress progress = new LiquibaseMigrationProgress();
+
+    private final AtomicReference<Connection> handedOverConnection = new AtomicReference<>();
+
+    private boolean fingerprintEnabled;
+
+    private String fingerprintTable = ChangeLogFingerprint.DEFAULT_TABLE_NAME;
+
+    private String fingerprintLocationPattern;
+
+    private boolean parallelChangeSetsEnabled;
+
+    private int maxParallelism = DEFAULT_MAX_PARALLELISM;
+
+    private boolean closeDataSourceOnceMigrated = true;
+
     /**
      * <p>Constructor for AsyncSpringLiquibase.</p>
      *
@@ -77,6 +125,26 @@ public class AsyncSpringLiquibase extends DataSourceClosingSpringLiquibase {
     public AsyncSpringLiquibase(Executor executor, Environment env) {
         this.executor = executor;
         this.env = env;
+        // The DataSource is closed here, as getDataSource() may return a DataSource handing over a connection
+        super.setCloseDataSourceOnceMigrated(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The DataSource is closed once the migration is done, or skipped because Liquibase should not run.</p>
+     */
+    @Override
+    public void setCloseDataSourceOnceMigrated(boolean closeDataSourceOnceMigrated) {
+        this.closeDataSourceOnceMigrated = closeDataSourceOnceMigrated;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void destroy() {
+        if (!closeDataSourceOnceMigrated) {
+            closeDataSource();
+        }
     }
 
     /** {@inheritDoc} */
@@ -86,25 +154,106 @@ public class AsyncSpringLiquibase extends DataSourceClosingSpringLiquibase {
             if (env.acceptsProfiles(Profiles.of(SPRING_PROFILE_DEVELOPMENT + "|" + SPRING_PROFILE_HEROKU))) {
                 // Prevent Thread Lock with spring-cloud-context GenericScope
                 // https://github.com/spring-cloud/spring-cloud-commons/commit/aaa7288bae3bb4d6fdbef1041691223238d77b7b#diff-afa0715eafc2b0154475fe672dab70e4R328
-                try (Connection connection = getDataSource().getConnection()) {
+                Connection connection;
+                try {
+                    connection = acquireConnection();
+                } catch (SQLException e) {
+                    progress.failed(e);
+                    logger.error(EXCEPTION_MESSAGE, e.getMessage(), e);
+                    return;
+                }
+                progress.started();
+                try {
                     executor.execute(() -> {
                         try {
                             logger.warn(STARTING_ASYNC_MESSAGE);
-                            initDb();
+                            initDb(connection);
                         } catch (LiquibaseException e) {
                             logger.error(EXCEPTION_MESSAGE, e.getMessage(), e);
                         }
                     });
-                } catch (SQLException e) {
-                    logger.error(EXCEPTION_MESSAGE, e.getMessage(), e);
+                } catch (RuntimeException e) {
+                    closeQuietly(connection);
+                    progress.failed(e);
+                    throw e;
                 }
             } else {
                 logger.debug(STARTING_SYNC_MESSAGE);
-                initDb();
+                try {
+                    initDb(acquireConnection());
+                } catch (SQLException e) {
+                    progress.failed(e);
+                    throw new DatabaseException(e);
+                }
             }
         } else {
+            progress.succeeded();
             logger.debug(DISABLED_MESSAGE);
+            if (closeDataSourceOnceMigrated) {
+                closeDataSource();
+            }
+        }
+    }
+
+    private Connection acquireConnection() throws SQLException {
+        long startTime = System.nanoTime();
+        Connection connection = getDataSource().getConnection();
+        progress.connectionAcquired(System.nanoTime() - startTime);
+        return connection;
+    }
+
+    private void initDb(Connection connection) throws LiquibaseException {
+        // The connection acquired upfront is used for the migration, instead of being closed and replaced by a new one
+        handedOverConnection.set(connection);
+        try {
+            initDb();
+        } finally {
+            Connection unused = handedOverConnection.getAndSet(null);
+            if (unused != null) {
+                closeQuietly(unused);
+            }
+            if (closeDataSourceOnceMigrated) {
+                closeDataSource();
+            }
+        }
+    }
+
+    private void closeDataSource() {
+        // The DataSource itself, as the one returned by getDataSource() may wrap it
+        DataSource dataSource = super.getDataSource();
+        Method closeMethod = dataSource != null ? ReflectionUtils.findMethod(dataSource.getClass(), "close") : null;
+        if (closeMethod != null) {
+            ReflectionUtils.invokeMethod(closeMethod, dataSource);
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Unable to close the Liquibase connection", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>While a migration is starting, the returned DataSource hands out the connection acquired upfront
+     * before opening new ones.</p>
+     */
+    @Override
+    public DataSource getDataSource() {
+        DataSource dataSource = super.getDataSource();
+        if (dataSource == null || handedOverConnection.get() == null) {
+            return dataSource;
         }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = handedOverConnection.getAndSet(null);
+                return connection != null ? connection : super.getConnection();
+            }
+        };
     }
 
     /**
@@ -115,11 +264,204 @@ public class AsyncSpringLiquibase extends DataSourceClosingSpringLiquibase {
     protected void initDb() throws LiquibaseException {
         StopWatch watch = new StopWatch();
         watch.start();
-        super.afterPropertiesSet();
+        progress.started();
+        try {
+            super.afterPropertiesSet();
+        } catch (LiquibaseException | RuntimeException e) {
+            progress.failed(e);
+            throw e;
+        }
+        progress.succeeded();
         watch.stop();
         logger.debug(STARTED_MESSAGE, watch.getTotalTimeMillis());
         if (watch.getTotalTimeMillis() > SLOWNESS_THRESHOLD * 1000L) {
             logger.warn(SLOWNESS_MESSAGE, SLOWNESS_THRESHOLD);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>When the fingerprint fast path applies, the update is skipped if the changelog fingerprint matches the
+     * stored one, and the new fingerprint is stored after a successful update.</p>
+     */
+    @Override
+    protected void performUpdate(Liquibase liquibase) throws LiquibaseException {
+        DatabaseConnection databaseConnection = liquibase.getDatabase().getConnection();
+        if (!isFingerprintApplicable() || !(databaseConnection instanceof JdbcConnection)) {
+            update(liquibase);
+            return;
+        }
+        Connection connection = ((JdbcConnection) databaseConnection).getUnderlyingConnection();
+        ChangeLogFingerprint changeLogFingerprint = new ChangeLogFingerprint(getFingerprintTableName());
+        String fingerprint;
+        try {
+            fingerprint = changeLogFingerprint.compute(ResourcePatternUtils.getResourcePatternResolver(resourceLoader),
+                getFingerprintLocationPattern(), getFingerprintSettings());
+            if (fingerprint.equals(changeLogFingerprint.read(connection))) {
+                logger.debug(FINGERPRINT_MATCH_MESSAGE);
+                return;
+            }
+        } catch (IOException | SQLException e) {
+            logger.warn(FINGERPRINT_ERROR_MESSAGE, e.getMessage(), e);
+            update(liquibase);
+            return;
+        }
+        update(liquibase);
+        try {
+            changeLogFingerprint.store(connection, fingerprint);
+        } catch (SQLException e) {
+            logger.warn(FINGERPRINT_ERROR_MESSAGE, e.getMessage(), e);
+        }
+    }
+
+    private void update(Liquibase liquibase) throws LiquibaseException {
+        // The parsed changelog is cached by Liquibase, listing the pending change sets does not parse it twice
+        ParallelChangeLogUpdater.moveParallelLabels(liquibase.getDatabaseChangeLog());
+        progress.setPendingCount(liquibase.listUnrunChangeSets(new Contexts(getContexts()),
+            new LabelExpression(getLabels())).size());
+        liquibase.setChangeExecListener(progress);
+        int parallelism = parallelChangeSetsEnabled ?
+            SpringLiquibaseUtil.fitParallelism(super.getDataSource(), maxParallelism) : 0;
+        if (parallelism < 1 || getTag() != null || isTestRollbackOnUpdate()) {
+            super.performUpdate(liquibase);
+            return;
+        }
+        ParallelChangeLogUpdater updater = new ParallelChangeLogUpdater(() -> {
+            try {
+                return createDatabase(getDataSource().getConnection(), liquibase.getResourceAccessor());
+            } catch (SQLException e) {
+                throw new DatabaseException(e);
+            }
+        }, parallelism);
+        updater.setChangeExecListener(progress);
+        updater.update(liquibase, new Contexts(getContexts()), new LabelExpression(getLabels()));
+    }
+
+    private boolean isFingerprintApplicable() {
+        // These options change what an update does even when the changelog is unchanged
+        return fingerprintEnabled && !isDropFirst() && !isClearCheckSums() && !isTestRollbackOnUpdate() &&
+            rollbackFile == null;
+    }
+
+    private String getFingerprintTableName() {
+        return getLiquibaseSchema() == null ? fingerprintTable : getLiquibaseSchema() + "." + fingerprintTable;
+    }
+
+    private Map<String, String> getFingerprintSettings() {
+        Map<String, String> settings = new HashMap<>();
+        settings.put("changeLog", getChangeLog());
+        settings.put("contexts", getContexts());
+        settings.put("labels", getLabels());
+        settings.put("tag", getTag());
+        settings.put("defaultSchema", getDefaultSchema());
+        if (parameters != null) {
+            parameters.forEach((key, value) -> settings.put("parameter." + key, value));
+        }
+        return settings;
+    }
+
+    /**
+     * <p>getMigrationProgress.</p>
+     *
+     * @return the progress of the migration run by this bean.
+     */
+    public LiquibaseMigrationProgress getMigrationProgress() {
+        return progress;
+    }
+
+    /**
+     * <p>isFingerprintEnabled.</p>
+     *
+     * @return true if the update is skipped when the changelog fingerprint is unchanged.
+     */
+    public boolean isFingerprintEnabled() {
+        return fingerprintEnabled;
+    }
+
+    /**
+     * <p>Setter for the field <code>fingerprintEnabled</code>.</p>
+     *
+     * @param fingerprintEnabled true to skip the update when the changelog fingerprint is unchanged.
+     */
+    public void setFingerprintEnabled(boolean fingerprintEnabled) {
+        this.fingerprintEnabled = fingerprintEnabled;
+    }
+
+    /**
+     * <p>Getter for the field <code>fingerprintTable</code>.</p>
+     *
+     * @return the name of the table storing the changelog fingerprint.
+     */
+    public String getFingerprintTable() {
+        return fingerprintTable;
+    }
+
+    /**
+     * <p>Setter for the field <code>fingerprintTable</code>.</p>
+     *
+     * @param fingerprintTable the name of the table storing the changelog fingerprint.
+     */
+    public void setFingerprintTable(String fingerprintTable) {
+        this.fingerprintTable = fingerprintTable;
+    }
+
+    /**
+     * <p>Getter for the field <code>fingerprintLocationPattern</code>.</p>
+     *
+     * @return the location pattern of the hashed resources, by default all the resources next to the changelog.
+     */
+    public String getFingerprintLocationPattern() {
+        if (fingerprintLocationPattern == null) {
+            return ChangeLogFingerprint.getDefaultLocationPattern(getChangeLog());
+        }
+        return fingerprintLocationPattern;
+    }
+
+    /**
+     * <p>Setter for the field <code>fingerprintLocationPattern</code>.</p>
+     *
+     * @param fingerprintLocationPattern the location pattern of the hashed resources.
+     */
+    public void setFingerprintLocationPattern(String fingerprintLocationPattern) {
+        this.fingerprintLocationPattern = fingerprintLocationPattern;
+    }
+
+    /**
+     * <p>isParallelChangeSetsEnabled.</p>
+     *
+     * @return true if the change sets labelled {@code parallel:<group>} run concurrently.
+     */
+    public boolean isParallelChangeSetsEnabled() {
+        return parallelChangeSetsEnabled;
+    }
+
+    /**
+     * <p>Setter for the field <code>parallelChangeSetsEnabled</code>.</p>
+     *
+     * @param parallelChangeSetsEnabled true to run the change sets labelled {@code parallel:<group>} concurrently.
+     */
+    public void setParallelChangeSetsEnabled(boolean parallelChangeSetsEnabled) {
+        this.parallelChangeSetsEnabled = parallelChangeSetsEnabled;
+    }
+
+    /**
+     * <p>Getter for the field <code>maxParallelism</code>.</p>
+     *
+     * @return the maximum number of parallel groups, and extra connections, running at the same time.
+     */
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    /**
+     * <p>Setter for the field <code>maxParallelism</code>.</p>
+     *
+     * @param maxParallelism the maximum number of parallel groups, and extra connections, running at the same time.
+     *                       The dedicated Liquibase pool grows accordingly, while a shared Hikari pool caps it to
+     *                       its maximum size minus the main connection.
+     */
+    public void setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.liquibase;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SHA-256 fingerprint of the Liquibase changelog resources, stored in a single row table next to the
+ * {@code DATABASECHANGELOG} table.
+ *
+ * <p>The fingerprint covers the content and relative path of every resource matching a location pattern, together
+ * with the settings selecting the change sets to run, so a matching stored fingerprint means the previous successful
+ * update ran exactly the same changelog.</p>
+ */
+public class ChangeLogFingerprint {
+
+    /** Constant <code>DEFAULT_TABLE_NAME="JHI_CHANGELOG_FINGERPRINT"</code> */
+    public static final String DEFAULT_TABLE_NAME = "JHI_CHANGELOG_FINGERPRINT";
+
+    private static final String CLASSPATH_URL_PREFIX = "classpath:";
+
+    private static final int ROW_ID = 1;
+
+    private final String tableName;
+
+    /**
+     * <p>Constructor for ChangeLogFingerprint.</p>
+     *
+     * @param tableName the name of the fingerprint table, optionally prefixed with its schema.
+     */
+    public ChangeLogFingerprint(String tableName) {
+        this.tableName = tableName;
+    }
+
+    /**
+     * Return the location pattern matching all the resources next to the given changelog.
+     *
+     * @param changeLog the location of the master changelog, such as {@code classpath:config/liquibase/master.xml}.
+     * @return a location pattern, such as {@code classpath*:config/liquibase/**}.
+     */
+    public static String getDefaultLocationPattern(String changeLog) {
+        String path = changeLog.startsWith(CLASSPATH_URL_PREFIX) ?
+            changeLog.substring(CLASSPATH_URL_PREFIX.length()) : changeLog;
+        int lastSlash = path.lastIndexOf('/');
+        if (lastSlash < 0) {
+            return ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + path;
+        }
+        return ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + path.substring(0, lastSlash + 1) + "**";
+    }
+
+    /**
+     * Compute the fingerprint of the resources matching the given location pattern.
+     *
+     * @param resolver the resolver used to find the resources.
+     * @param locationPattern the location pattern of the changelog resources.
+     * @param settings the settings selecting the change sets to run, such as the contexts and labels.
+     * @return the hexadecimal fingerprint.
+     * @throws java.io.IOException if a resource cannot be read.
+     */
+    public String compute(ResourcePatternResolver resolver, String locationPattern, Map<String, String> settings)
+        throws IOException {
+        MessageDigest digest = newDigest();
+        for (Map.Entry<String, String> setting : new TreeMap<>(settings).entrySet()) {
+            update(digest, setting.getKey());
+            update(digest, String.valueOf(setting.getValue()));
+        }
+        String baseDirectory = locationPattern.substring(locationPattern.indexOf(':') + 1)
+            .replace("**", "").replace("*", "");
+        Resource[] resources = resolver.getResources(locationPattern);
+        Arrays.sort(resources, Comparator.comparing(resource -> relativePath(resource, baseDirectory)));
+        byte[] buffer = new byte[8192];
+        for (Resource resource : resources) {
+            if (!resource.isReadable()) {
+                continue;
+            }
+            update(digest, relativePath(resource, baseDirectory));
+            try (InputStream in = resource.getInputStream()) {
+                for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        StringBuilder fingerprint = new StringBuilder();
+        for (byte b : digest.digest()) {
+            fingerprint.append(String.format("%02x", b));
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Read the stored fingerprint.
+     *
+     * @param connection the connection to the database.
+     * @return the stored fingerprint, or null if none was stored yet.
+     * @throws java.sql.SQLException if a database access error occurs.
+     */
+    public String read(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                 "SELECT FINGERPRINT FROM " + tableName + " WHERE ID = " + ROW_ID)) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        } catch (SQLException e) {
+            // The table does not exist yet, some databases require a rollback before running other statements
+            rollback(connection);
+            return null;
+        }
+    }
+
+    /**
+     * Store the fingerprint, creating the table if needed.
+     *
+     * @param connection the connection to the database.
+     * @param fingerprint the fingerprint to store.
+     * @throws java.sql.SQLException if a database access error occurs.
+     */
+    public void store(Connection connection, String fingerprint) throws SQLException {
+        int updated;
+        try {
+            updated = update(connection, fingerprint);
+        } catch (SQLException e) {
+            rollback(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE " + tableName +
+                    " (ID INT NOT NULL PRIMARY KEY, FINGERPRINT VARCHAR(64) NOT NULL)");
+            }
+            updated = 0;
+        }
+        if (updated == 0) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + tableName + " (ID, FINGERPRINT) VALUES (" + ROW_ID + ", ?)")) {
+                statement.setString(1, fingerprint);
+                statement.executeUpdate();
+            }
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private int update(Connection connection, String fingerprint) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "UPDATE " + tableName + " SET FINGERPRINT = ? WHERE ID = " + ROW_ID)) {
+            statement.setString(1, fingerprint);
+            return statement.executeUpdate();
+        }
+    }
+
+    private static void rollback(Connection connection) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+        }
+    }
+
+    private static String relativePath(Resource resource, String baseDirectory) {
+        try {
+            String url = resource.getURL().toString();
+            int index = baseDirectory.isEmpty() ? -1 : url.lastIndexOf(baseDirectory);
+            return index < 0 ? String.valueOf(resource.getFilename()) : url.substring(index);
+        } catch (IOException e) {
+            return String.valueOf(resource.getFilename());
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.jhipster.config.liquibase;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.availability.ApplicationAvailabilityAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JHipster auto-configuration exposing the progress of the migration run by the {@link AsyncSpringLiquibase} bean of
+ * the application.
+ * <ul>
+ * <li>the {@code liquibaseMigration} health indicator, {@code OUT_OF_SERVICE} while the migration runs and
+ * {@code DOWN} if it failed, disabled with {@code management.health.liquibase-migration.enabled=false}</li>
+ * <li>the {@link LiquibaseMetrics} of the migration, bound to the meter registries of the application</li>
+ * <li>a {@link LiquibaseMigrationReadinessListener} keeping the application refusing traffic until the migration has
+ * succeeded</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnClass(SpringLiquibase.class)
+@ConditionalOnSingleCandidate(AsyncSpringLiquibase.class)
+@AutoConfigureAfter(ApplicationAvailabilityAutoConfiguration.class)
+public class JHipsterLiquibaseMigrationConfiguration {
+
+    /**
+     * <p>liquibaseMigrationReadinessListener.</p>
+     *
+     * @param liquibase a {@link io.github.jhipster.config.liquibase.AsyncSpringLiquibase} object.
+     * @param publisher a {@link org.springframework.context.ApplicationEventPublisher} object.
+     * @return a {@link io.github.jhipster.config.liquibase.LiquibaseMigrationReadinessListener} object.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LiquibaseMigrationReadinessListener liquibaseMigrationReadinessListener(
+        AsyncSpringLiquibase liquibase, ApplicationEventPublisher publisher) {
+        return new LiquibaseMigrationReadinessListener(liquibase.getMigrationProgress(), publisher);
+    }
+
+    @Configuration
+    @ConditionalOnClass(HealthIndicator.class)
+    static class LiquibaseMigrationHealthConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "liquibaseMigrationHealthIndicator")
+        @ConditionalOnEnabledHealthIndicator("liquibase-migration")
+        public LiquibaseMigrationHealthIndicator liquibaseMigrationHealthIndicator(AsyncSpringLiquibase liquibase) {
+            return new LiquibaseMigrationHealthIndicator(liquibase.getMigrationProgress());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    static class LiquibaseMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public LiquibaseMetrics liquibaseMetrics(AsyncSpringLiquibase liquibase) {
+            return new LiquibaseMetrics(liquibase.getMigrationProgress());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.liquibase;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer binder exposing the progress of the migration run by an {@link AsyncSpringLiquibase}.
+ *
+ * <p>{@code liquibase.changesets.applied} and {@code liquibase.changesets.remaining} count the change sets of the
+ * current migration, and the {@code liquibase.changeset} timer records the time each of them took, tagged with its
+ * outcome: {@code EXECUTED}, {@code RERAN}, {@code MARK_RAN}, {@code SKIPPED} or {@code FAILED}. Change set ids are
+ * not used as tags, as they would create a timer per change set of the changelog.
+ * {@code liquibase.connection.acquire} is the time it took to acquire the connection the migration runs on.</p>
+ */
+public class LiquibaseMetrics implements MeterBinder {
+
+    private final LiquibaseMigrationProgress progress;
+
+    /**
+     * <p>Constructor for LiquibaseMetrics.</p>
+     *
+     * @param progress a {@link io.github.jhipster.config.liquibase.LiquibaseMigrationProgress} object.
+     */
+    public LiquibaseMetrics(LiquibaseMigrationProgress progress) {
+        this.progress = progress;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("liquibase.changesets.applied", progress, LiquibaseMigrationProgress::getAppliedCount)
+            .description("Number of change sets applied by the current migration")
+            .register(registry);
+        Gauge.builder("liquibase.changesets.remaining", progress, LiquibaseMigrationProgress::getRemainingCount)
+            .description("Number of change sets the current migration has still to apply")
+            .register(registry);
+        TimeGauge.builder("liquibase.connection.acquire", progress, TimeUnit.NANOSECONDS,
+            LiquibaseMigrationProgress::getConnectionAcquireNanos)
+            .description("Time spent acquiring the connection the migration runs on")
+            .register(registry);
+        progress.addChangeSetListener((changeSet, execType, durationNanos) -> Timer.builder("liquibase.changeset")
+            .tag("outcome", execType.name())
+            .description("Time spent applying a change set")
+            .register(registry)
+            .record(durationNanos, TimeUnit.NANOSECONDS));
+    }
+}
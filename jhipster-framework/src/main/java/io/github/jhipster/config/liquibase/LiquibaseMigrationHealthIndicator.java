@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.liquibase;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+/**
+ * {@link org.springframework.boot.actuate.health.HealthIndicator} reporting the status of the migration run by an
+ * {@link AsyncSpringLiquibase}.
+ *
+ * <p>It is {@code OUT_OF_SERVICE} while the migration runs and {@code DOWN} if it failed. It is registered by
+ * {@link JHipsterLiquibaseMigrationConfiguration} as {@code liquibaseMigrationHealthIndicator}, which Spring Boot
+ * reports as {@code liquibaseMigration}, so it does not clash with the {@code liquibase} endpoint of Spring Boot.</p>
+ */
+public class LiquibaseMigrationHealthIndicator extends AbstractHealthIndicator {
+
+    private final LiquibaseMigrationProgress progress;
+
+    /**
+     * <p>Constructor for LiquibaseMigrationHealthIndicator.</p>
+     *
+     * @param progress a {@link io.github.jhipster.config.liquibase.LiquibaseMigrationProgress} object.
+     */
+    public LiquibaseMigrationHealthIndicator(LiquibaseMigrationProgress progress) {
+        super("Liquibase migration health check failed");
+        this.progress = progress;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        switch (progress.getStatus()) {
+            case SUCCEEDED:
+                builder.up();
+                break;
+            case FAILED:
+                builder.down(progress.getError());
+                break;
+            default:
+                builder.outOfService();
+        }
+        builder.withDetail("status", progress.getStatus())
+            .withDetail("applied", progress.getAppliedCount())
+            .withDetail("remaining", progress.getRemainingCount());
+    }
+}
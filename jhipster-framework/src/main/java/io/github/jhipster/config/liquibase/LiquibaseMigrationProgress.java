@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.liquibase;
+
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.visitor.AbstractChangeExecListener;
+import liquibase.database.Database;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Progress of the Liquibase migration run by an {@link AsyncSpringLiquibase}.
+ *
+ * <p>Registered as the {@link liquibase.changelog.visitor.ChangeExecListener} of the update, it counts the change sets
+ * applied so far against the ones which were pending when the update started, and notifies its listeners of the
+ * outcome of each change set and the time it took.</p>
+ */
+public class LiquibaseMigrationProgress extends AbstractChangeExecListener {
+
+    /**
+     * Status of a migration.
+     */
+    public enum Status {
+        /** The migration has not started yet. */
+        PENDING,
+        /** The migration is running. */
+        RUNNING,
+        /** The migration is done, or was not needed. */
+        SUCCEEDED,
+        /** The migration failed, the database is not ready. */
+        FAILED
+    }
+
+    /**
+     * Listener notified of each change set run by a migration.
+     */
+    @FunctionalInterface
+    public interface ChangeSetListener {
+
+        /**
+         * Called once a change set has run, from the thread which ran it.
+         *
+         * @param changeSet the change set.
+         * @param execType how the change set ran, {@code FAILED} if it failed.
+         * @param durationNanos the time the change set took, in nanoseconds.
+         */
+        void changeSetRan(ChangeSet changeSet, ChangeSet.ExecType execType, long durationNanos);
+    }
+
+    private final AtomicInteger appliedCount = new AtomicInteger();
+
+    private final List<ChangeSetListener> changeSetListeners = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<Status>> statusListeners = new CopyOnWriteArrayList<>();
+
+    private final ThreadLocal<Long> changeSetStartTime = new ThreadLocal<>();
+
+    private volatile Status status = Status.PENDING;
+
+    private volatile int pendingCount;
+
+    private volatile Throwable error;
+
+    private volatile long connectionAcquireNanos;
+
+    void started() {
+        setStatus(Status.RUNNING);
+    }
+
+    void connectionAcquired(long connectionAcquireNanos) {
+        this.connectionAcquireNanos = connectionAcquireNanos;
+    }
+
+    void setPendingCount(int pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    void succeeded() {
+        setStatus(Status.SUCCEEDED);
+    }
+
+    void failed(Throwable error) {
+        this.error = error;
+        setStatus(Status.FAILED);
+    }
+
+    private void setStatus(Status status) {
+        this.status = status;
+        statusListeners.forEach(listener -> listener.accept(status));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void willRun(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database,
+                        ChangeSet.RunStatus runStatus) {
+        changeSetStartTime.set(System.nanoTime());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void ran(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database,
+                    ChangeSet.ExecType execType) {
+        appliedCount.incrementAndGet();
+        notifyChangeSetListeners(changeSet, execType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void runFailed(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database,
+                          Exception exception) {
+        notifyChangeSetListeners(changeSet, ChangeSet.ExecType.FAILED);
+    }
+
+    private void notifyChangeSetListeners(ChangeSet changeSet, ChangeSet.ExecType execType) {
+        Long startTime = changeSetStartTime.get();
+        changeSetStartTime.remove();
+        if (startTime != null) {
+            long duration = System.nanoTime() - startTime;
+            changeSetListeners.forEach(listener -> listener.changeSetRan(changeSet, execType, duration));
+        }
+    }
+
+    /**
+     * Register a listener notified of the outcome and execution time of each change set.
+     *
+     * @param listener a {@link io.github.jhipster.config.liquibase.LiquibaseMigrationProgress.ChangeSetListener}
+     *                 object.
+     */
+    public void addChangeSetListener(ChangeSetListener listener) {
+        changeSetListeners.add(listener);
+    }
+
+    /**
+     * Register a listener notified of each change of the status of the migration.
+     *
+     * @param listener a {@link java.util.function.Consumer} object.
+     */
+    public void addStatusListener(Consumer<Status> listener) {
+        statusListeners.add(listener);
+    }
+
+    /**
+     * <p>Getter for the field <code>status</code>.</p>
+     *
+     * @return a {@link io.github.jhipster.config.liquibase.LiquibaseMigrationProgress.Status} object.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Return the number of change sets applied by the current migration.
+     *
+     * @return the number of applied change sets.
+     */
+    public int getAppliedCount() {
+        return appliedCount.get();
+    }
+
+    /**
+     * Return the number of change sets the current migration has still to apply.
+     *
+     * @return the number of remaining change sets.
+     */
+    public int getRemainingCount() {
+        return Math.max(0, pendingCount - appliedCount.get());
+    }
+
+    /**
+     * Return the time it took to acquire the connection the migration runs on.
+     *
+     * @return the connection acquire time in nanoseconds, or 0 if no connection was acquired yet.
+     */
+    public long getConnectionAcquireNanos() {
+        return connectionAcquireNanos;
+    }
+
+    /**
+     * <p>Getter for the field <code>error</code>.</p>
+     *
+     * @return the cause of the failure of the migration, or null.
+     */
+    public Throwable getError() {
+        return error;
+    }
+}
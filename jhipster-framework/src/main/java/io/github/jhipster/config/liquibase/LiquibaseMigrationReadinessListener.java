@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.jhipster.config.liquibase;
+
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Listener keeping the readiness state of the application to {@code REFUSING_TRAFFIC} until the migration run by an
+ * {@link AsyncSpringLiquibase} has succeeded.
+ *
+ * <p>Spring Boot publishes {@code ACCEPTING_TRAFFIC} once the application has started, while an asynchronous migration
+ * may still be running. This listener answers it with {@code REFUSING_TRAFFIC}, and publishes
+ * {@code ACCEPTING_TRAFFIC} again once the migration has succeeded. It must be notified after the
+ * {@link org.springframework.boot.availability.ApplicationAvailabilityBean}, which
+ * {@link JHipsterLiquibaseMigrationConfiguration} ensures by being configured after it. If the migration fails, the
+ * application keeps refusing traffic.</p>
+ */
+public class LiquibaseMigrationReadinessListener
+    implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>> {
+
+    private final LiquibaseMigrationProgress progress;
+
+    private final ApplicationEventPublisher publisher;
+
+    private boolean refusingTraffic;
+
+    /**
+     * <p>Constructor for LiquibaseMigrationReadinessListener.</p>
+     *
+     * @param progress a {@link io.github.jhipster.config.liquibase.LiquibaseMigrationProgress} object.
+     * @param publisher the publisher of the readiness state changes.
+     */
+    public LiquibaseMigrationReadinessListener(LiquibaseMigrationProgress progress,
+                                               ApplicationEventPublisher publisher) {
+        this.progress = progress;
+        this.publisher = publisher;
+        progress.addStatusListener(this::migrationStatusChanged);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && event.getSource() != this &&
+            progress.getStatus() != LiquibaseMigrationProgress.Status.SUCCEEDED) {
+            refusingTraffic = true;
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    private synchronized void migrationStatusChanged(LiquibaseMigrationProgress.Status status) {
+        if (status == LiquibaseMigrationProgress.Status.SUCCEEDED && refusingTraffic) {
+            refusingTraffic = false;
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+}
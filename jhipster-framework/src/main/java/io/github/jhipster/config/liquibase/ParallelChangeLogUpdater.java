@@ -0,0 +1,320 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.liquibase;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Labels;
+import liquibase.Liquibase;
+import liquibase.changelog.ChangeLogHistoryServiceFactory;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.visitor.AbstractChangeExecListener;
+import liquibase.changelog.visitor.ChangeExecListener;
+import liquibase.database.Database;
+import liquibase.database.ObjectQuotingStrategy;
+import liquibase.exception.LiquibaseException;
+import liquibase.exception.MigrationFailedException;
+import liquibase.lockservice.LockService;
+import liquibase.lockservice.LockServiceFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Liquibase update running independent groups of change sets concurrently.
+ *
+ * <p>A change set joins a parallel group with a {@code parallel:<group>} label. Consecutive pending change sets
+ * with such labels form a segment: the groups of a segment run concurrently, each on its own connection and in
+ * changelog order, while change sets without such a label are barriers running alone on the main connection.
+ * Once all the groups of a segment are done, the change sets they applied are recorded in {@code DATABASECHANGELOG}
+ * on the main connection in changelog order, so that the history does not depend on how the groups were scheduled.
+ * A migration interrupted while a segment runs applies its change sets again: they should be idempotent, or guarded
+ * by preconditions.</p>
+ *
+ * <p>{@code parallel:<group>} labels are not labels: {@link #moveParallelLabels(DatabaseChangeLog)} moves them to
+ * the {@link #PARALLEL_GROUP_ATTRIBUTE} attribute of the change sets before the change sets to run are selected, so
+ * a change set only labelled {@code parallel:<group>} is selected like a change set without labels, and a change set
+ * labelled {@code parallel:<group>, v2} like a change set labelled {@code v2}, whether parallel change sets are
+ * enabled or not.</p>
+ *
+ * <p>Like a regular update, the whole migration holds the Liquibase lock and validates the changelog first.</p>
+ */
+public class ParallelChangeLogUpdater {
+
+    /** Constant <code>PARALLEL_LABEL_PREFIX="parallel:"</code> */
+    public static final String PARALLEL_LABEL_PREFIX = "parallel:";
+
+    /** Constant <code>PARALLEL_GROUP_ATTRIBUTE="jhipster.parallelGroup"</code> */
+    public static final String PARALLEL_GROUP_ATTRIBUTE = "jhipster.parallelGroup";
+
+    /**
+     * Supplier of the databases the parallel groups run on.
+     */
+    @FunctionalInterface
+    public interface DatabaseSupplier {
+
+        /**
+         * Open a new database, on a connection distinct from the main one.
+         *
+         * @return a {@link liquibase.database.Database} object, closed by the caller.
+         * @throws liquibase.exception.LiquibaseException if the database cannot be opened.
+         */
+        Database get() throws LiquibaseException;
+    }
+
+    private final DatabaseSupplier databaseSupplier;
+
+    private final int maxParallelism;
+
+    private ChangeExecListener changeExecListener = new AbstractChangeExecListener() {
+    };
+
+    /**
+     * <p>Constructor for ParallelChangeLogUpdater.</p>
+     *
+     * @param databaseSupplier the supplier of the databases the parallel groups run on.
+     * @param maxParallelism the maximum number of groups running at the same time.
+     */
+    public ParallelChangeLogUpdater(DatabaseSupplier databaseSupplier, int maxParallelism) {
+        this.databaseSupplier = databaseSupplier;
+        this.maxParallelism = maxParallelism;
+    }
+
+    /**
+     * <p>Setter for the field <code>changeExecListener</code>.</p>
+     *
+     * @param changeExecListener the listener notified of the execution of each change set, from several threads.
+     */
+    public void setChangeExecListener(ChangeExecListener changeExecListener) {
+        this.changeExecListener = changeExecListener;
+    }
+
+    /**
+     * Apply the pending change sets of the changelog.
+     *
+     * @param liquibase the {@link Liquibase} instance holding the changelog and the main database.
+     * @param contexts the contexts selecting the change sets to run.
+     * @param labels the label expression selecting the change sets to run.
+     * @throws liquibase.exception.LiquibaseException if the update fails.
+     */
+    public void update(Liquibase liquibase, Contexts contexts, LabelExpression labels) throws LiquibaseException {
+        Database database = liquibase.getDatabase();
+        LockService lockService = LockServiceFactory.getInstance().getLockService(database);
+        lockService.waitForLock();
+        try {
+            DatabaseChangeLog changeLog = liquibase.getDatabaseChangeLog();
+            moveParallelLabels(changeLog);
+            liquibase.checkLiquibaseTables(true, changeLog, contexts, labels);
+            ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(database).generateDeploymentId();
+            changeLog.validate(database, contexts, labels);
+
+            Map<String, List<ChangeSet>> segment = new LinkedHashMap<>();
+            List<ChangeSet> segmentChangeSets = new ArrayList<>();
+            for (ChangeSet changeSet : liquibase.listUnrunChangeSets(contexts, labels, false)) {
+                String group = getParallelGroup(changeSet);
+                if (group == null) {
+                    runSegment(changeLog, database, segment, segmentChangeSets);
+                    ChangeSet.RunStatus runStatus = database.getRunStatus(changeSet);
+                    mark(database, changeSet, execute(changeLog, database, changeSet, runStatus));
+                } else {
+                    segment.computeIfAbsent(group, key -> new ArrayList<>()).add(changeSet);
+                    segmentChangeSets.add(changeSet);
+                }
+            }
+            runSegment(changeLog, database, segment, segmentChangeSets);
+        } finally {
+            database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
+            lockService.releaseLock();
+        }
+    }
+
+    private void runSegment(DatabaseChangeLog changeLog, Database database, Map<String, List<ChangeSet>> segment,
+                            List<ChangeSet> segmentChangeSets) throws LiquibaseException {
+        if (segment.isEmpty()) {
+            return;
+        }
+        Map<ChangeSet, ChangeSet.RunStatus> runStatuses = new IdentityHashMap<>();
+        for (ChangeSet changeSet : segmentChangeSets) {
+            runStatuses.put(changeSet, database.getRunStatus(changeSet));
+        }
+        Map<ChangeSet, ChangeSet.ExecType> execTypes = new IdentityHashMap<>();
+        Map<ChangeSet, Throwable> failures = new IdentityHashMap<>();
+        Throwable error = null;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(segment.size(), maxParallelism),
+            new CustomizableThreadFactory("liquibase-parallel-"));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<ChangeSet> group : segment.values()) {
+                futures.add(executor.submit(() -> runGroup(changeLog, group, runStatuses, execTypes, failures)));
+            }
+            // Wait for every group, even if one failed, so that no change set is applied after the lock is released
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = e.getCause();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LiquibaseException("Interrupted while running parallel change sets", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try {
+            // Record the applied change sets, even if a group failed, in changelog order whatever order they ran in
+            for (ChangeSet changeSet : segmentChangeSets) {
+                ChangeSet.ExecType execType = execTypes.get(changeSet);
+                if (execType != null) {
+                    mark(database, changeSet, execType);
+                }
+            }
+            // Report the first failure in changelog order, whatever order the groups failed in
+            for (ChangeSet changeSet : segmentChangeSets) {
+                Throwable cause = failures.get(changeSet);
+                if (cause != null) {
+                    throw cause instanceof MigrationFailedException ? (MigrationFailedException) cause :
+                        new MigrationFailedException(changeSet, cause);
+                }
+            }
+            if (error != null) {
+                throw new LiquibaseException(error);
+            }
+        } finally {
+            segment.clear();
+            segmentChangeSets.clear();
+        }
+    }
+
+    private void runGroup(DatabaseChangeLog changeLog, List<ChangeSet> group,
+                          Map<ChangeSet, ChangeSet.RunStatus> runStatuses, Map<ChangeSet, ChangeSet.ExecType> execTypes,
+                          Map<ChangeSet, Throwable> failures) {
+        ChangeSet current = group.get(0);
+        Database groupDatabase = null;
+        try {
+            groupDatabase = databaseSupplier.get();
+            for (ChangeSet changeSet : group) {
+                current = changeSet;
+                ChangeSet.ExecType execType = execute(changeLog, groupDatabase, changeSet, runStatuses.get(changeSet));
+                synchronized (execTypes) {
+                    execTypes.put(changeSet, execType);
+                }
+            }
+        } catch (LiquibaseException | RuntimeException e) {
+            synchronized (failures) {
+                failures.put(current, e);
+            }
+        } finally {
+            if (groupDatabase != null) {
+                try {
+                    groupDatabase.close();
+                } catch (LiquibaseException e) {
+                    // The group is done, a failure to close its connection does not change its outcome
+                }
+            }
+        }
+    }
+
+    private ChangeSet.ExecType execute(DatabaseChangeLog changeLog, Database database, ChangeSet changeSet,
+                                       ChangeSet.RunStatus runStatus) throws LiquibaseException {
+        database.setObjectQuotingStrategy(changeSet.getObjectQuotingStrategy());
+        changeExecListener.willRun(changeSet, changeLog, database, runStatus);
+        ChangeSet.ExecType execType = changeSet.execute(changeLog, changeExecListener, database);
+        if (execType != ChangeSet.ExecType.SKIPPED && runStatus != ChangeSet.RunStatus.NOT_RAN) {
+            execType = ChangeSet.ExecType.RERAN;
+        }
+        changeExecListener.ran(changeSet, changeLog, database, execType);
+        return execType;
+    }
+
+    private void mark(Database database, ChangeSet changeSet, ChangeSet.ExecType execType)
+        throws LiquibaseException {
+        if (execType != ChangeSet.ExecType.SKIPPED) {
+            database.markChangeSetExecStatus(changeSet, execType);
+            database.commit();
+        }
+    }
+
+    /**
+     * Move the {@code parallel:<group>} labels of the change sets of a changelog to their
+     * {@link #PARALLEL_GROUP_ATTRIBUTE} attribute, so that they are not matched by label expressions. Change sets
+     * already moved are left unchanged.
+     *
+     * @param changeLog a {@link liquibase.changelog.DatabaseChangeLog} object.
+     */
+    public static void moveParallelLabels(DatabaseChangeLog changeLog) {
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            if (changeSet.getLabels() == null) {
+                continue;
+            }
+            String group = null;
+            Labels otherLabels = new Labels();
+            for (String label : changeSet.getLabels().getLabels()) {
+                if (isParallelLabel(label)) {
+                    group = label.substring(PARALLEL_LABEL_PREFIX.length());
+                } else {
+                    otherLabels.add(label);
+                }
+            }
+            if (group != null) {
+                changeSet.setAttribute(PARALLEL_GROUP_ATTRIBUTE, group);
+                changeSet.setLabels(otherLabels);
+            }
+        }
+    }
+
+    /**
+     * Return the parallel group of a change set.
+     *
+     * @param changeSet a {@link liquibase.changelog.ChangeSet} object.
+     * @return the name of the group, or null if the change set has no {@code parallel:<group>} label.
+     */
+    public static String getParallelGroup(ChangeSet changeSet) {
+        Object group = changeSet.getAttribute(PARALLEL_GROUP_ATTRIBUTE);
+        if (group != null) {
+            return group.toString();
+        }
+        if (changeSet.getLabels() == null) {
+            return null;
+        }
+        for (String label : changeSet.getLabels().getLabels()) {
+            if (isParallelLabel(label)) {
+                return label.substring(PARALLEL_LABEL_PREFIX.length());
+            }
+        }
+        return null;
+    }
+
+    private static boolean isParallelLabel(String label) {
+        return label.startsWith(PARALLEL_LABEL_PREFIX) && label.length() > PARALLEL_LABEL_PREFIX.length();
+    }
+}
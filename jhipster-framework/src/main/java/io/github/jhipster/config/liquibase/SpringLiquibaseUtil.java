@@ -18,12 +18,14 @@
  */
 package io.github.jhipster.config.liquibase;
 
+import com.zaxxer.hikari.HikariDataSource;
 import liquibase.integration.spring.SpringLiquibase;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.autoconfigure.liquibase.DataSourceClosingSpringLiquibase;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
 
 import javax.sql.DataSource;
 import java.util.Optional;
@@ -36,9 +38,22 @@ import java.util.function.Supplier;
  * <p>
  * It follows implementation of
  * <a href="https://github.com/spring-projects/spring-boot/blob/master/spring-boot-project/spring-boot-autoconfigure/src/main/java/org/springframework/boot/autoconfigure/liquibase/LiquibaseAutoConfiguration.java">LiquibaseAutoConfiguration</a>.
+ * <p>
+ * When Liquibase has its own URL or user, its DataSource is a small dedicated Hikari pool, when Hikari is available,
+ * which is closed once the migration is done. The dedicated pool grows to the parallelism of the migration when it
+ * starts, while the parallelism of a migration using a shared Hikari pool is capped to the size of that pool.
  */
 public final class SpringLiquibaseUtil {
 
+    /** Constant <code>LIQUIBASE_POOL_NAME="liquibase"</code> */
+    public static final String LIQUIBASE_POOL_NAME = "liquibase";
+
+    /** Constant <code>LIQUIBASE_POOL_SIZE=5</code>, the main connection and one per parallel group by default */
+    public static final int LIQUIBASE_POOL_SIZE = 1 + AsyncSpringLiquibase.DEFAULT_MAX_PARALLELISM;
+
+    private static final boolean HIKARI_PRESENT = ClassUtils.isPresent("com.zaxxer.hikari.HikariDataSource",
+        SpringLiquibaseUtil.class.getClassLoader());
+
     private SpringLiquibaseUtil() {
     }
 
@@ -101,7 +116,56 @@ public final class SpringLiquibaseUtil {
         String url = getProperty(liquibaseProperties::getUrl, dataSourceProperties::determineUrl);
         String user = getProperty(liquibaseProperties::getUser, dataSourceProperties::determineUsername);
         String password = getProperty(liquibaseProperties::getPassword, dataSourceProperties::determinePassword);
-        return DataSourceBuilder.create().url(url).username(user).password(password).build();
+        DataSource dataSource = DataSourceBuilder.create().url(url).username(user).password(password).build();
+        if (HIKARI_PRESENT) {
+            HikariPool.configure(dataSource);
+        }
+        return dataSource;
+    }
+
+    /**
+     * Kept apart so that Hikari classes are only loaded when Hikari is available.
+     */
+    private static final class HikariPool {
+
+        private static void configure(DataSource dataSource) {
+            if (dataSource instanceof HikariDataSource) {
+                HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+                hikariDataSource.setPoolName(LIQUIBASE_POOL_NAME);
+                hikariDataSource.setMaximumPoolSize(LIQUIBASE_POOL_SIZE);
+                // Connections are only opened when needed, most migrations use a single one
+                hikariDataSource.setMinimumIdle(0);
+            }
+        }
+
+        private static int fitParallelism(DataSource dataSource, int maxParallelism) {
+            if (!(dataSource instanceof HikariDataSource)) {
+                return maxParallelism;
+            }
+            HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+            if (LIQUIBASE_POOL_NAME.equals(hikariDataSource.getPoolName())) {
+                // The dedicated pool only serves the migration, it can grow at runtime
+                if (hikariDataSource.getMaximumPoolSize() < 1 + maxParallelism) {
+                    hikariDataSource.setMaximumPoolSize(1 + maxParallelism);
+                }
+                return maxParallelism;
+            }
+            return Math.min(maxParallelism, hikariDataSource.getMaximumPoolSize() - 1);
+        }
+    }
+
+    /**
+     * Make sure a DataSource provides a connection for each parallel group, on top of the main connection.
+     *
+     * @param dataSource the Liquibase DataSource.
+     * @param maxParallelism the configured maximum number of parallel groups.
+     * @return the number of parallel groups the DataSource supports, at most {@code maxParallelism}.
+     */
+    static int fitParallelism(DataSource dataSource, int maxParallelism) {
+        if (HIKARI_PRESENT) {
+            return HikariPool.fitParallelism(dataSource, maxParallelism);
+        }
+        return maxParallelism;
     }
 
     private static String getProperty(Supplier<String> property, Supplier<String> defaultValue) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.locale;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of parsed Angular locale cookies, such as {@code %22fr%22} or {@code %22fr Europe/Paris%22}.
+ * <p>
+ * Applications only see a handful of distinct cookie values, so each of them is parsed once. Once the cache is full,
+ * new values are parsed on every request instead of being added, so that arbitrary cookies cannot make it grow.
+ */
+public class AngularCookieLocaleCache {
+
+    /** Constant <code>DEFAULT_MAX_ENTRIES=64</code> */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private static final String ENCODED_SPACE = "%20";
+
+    private final Map<String, AngularCookieLocaleContext> contexts = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+
+    /**
+     * <p>Constructor for AngularCookieLocaleCache.</p>
+     */
+    public AngularCookieLocaleCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * <p>Constructor for AngularCookieLocaleCache.</p>
+     *
+     * @param maxEntries the maximum number of cookie values kept.
+     */
+    public AngularCookieLocaleCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Return the locale and time zone of a cookie value, parsing it if it is not cached yet.
+     *
+     * @param cookieValue the raw value of the cookie.
+     * @return the parsed value.
+     * @throws java.lang.IllegalArgumentException if the locale or time zone is invalid.
+     */
+    public AngularCookieLocaleContext get(String cookieValue) {
+        AngularCookieLocaleContext context = contexts.get(cookieValue);
+        if (context == null) {
+            context = parse(cookieValue);
+            if (contexts.size() < maxEntries) {
+                contexts.putIfAbsent(cookieValue, context);
+            }
+        }
+        return context;
+    }
+
+    /**
+     * <p>Getter for the number of cached cookie values.</p>
+     *
+     * @return a int.
+     */
+    public int size() {
+        return contexts.size();
+    }
+
+    /**
+     * Parse a cookie value made of a locale, or {@code -}, optionally followed by a space and a time zone, and
+     * optionally surrounded by Angular quotes.
+     *
+     * @param cookieValue the raw value of the cookie.
+     * @return the parsed value.
+     * @throws java.lang.IllegalArgumentException if the locale or time zone is invalid.
+     */
+    public static AngularCookieLocaleContext parse(String cookieValue) {
+        // Remove the double quote
+        String value = StringUtils.replace(cookieValue, AngularCookieLocaleResolver.QUOTE, "");
+        value = StringUtils.replace(value, ENCODED_SPACE, " ");
+
+        String localePart = value;
+        String timeZonePart = null;
+        int spaceIndex = localePart.indexOf(' ');
+        if (spaceIndex != -1) {
+            localePart = value.substring(0, spaceIndex);
+            timeZonePart = value.substring(spaceIndex + 1);
+        }
+        Locale locale = !"-".equals(localePart) ? StringUtils.parseLocaleString(localePart.replace('-', '_')) : null;
+        TimeZone timeZone = timeZonePart != null ? StringUtils.parseTimeZoneString(timeZonePart) : null;
+        return new AngularCookieLocaleContext(locale, timeZone);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.locale;
+
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Immutable locale and time zone parsed from an Angular locale cookie.
+ * <p>
+ * Either of them is null when the cookie does not specify it, and the default of the resolver applies. Instances are
+ * shared between requests, so the time zone must not be modified.
+ */
+public final class AngularCookieLocaleContext implements TimeZoneAwareLocaleContext {
+
+    private final Locale locale;
+
+    private final TimeZone timeZone;
+
+    /**
+     * <p>Constructor for AngularCookieLocaleContext.</p>
+     *
+     * @param locale a {@link java.util.Locale} object, or null.
+     * @param timeZone a {@link java.util.TimeZone} object, or null.
+     */
+    public AngularCookieLocaleContext(Locale locale, TimeZone timeZone) {
+        this.locale = locale;
+        this.timeZone = timeZone;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+}
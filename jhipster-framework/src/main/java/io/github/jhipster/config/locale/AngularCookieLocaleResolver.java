@@ -21,7 +21,6 @@ package io.github.jhipster.config.locale;
 
 import org.springframework.context.i18n.LocaleContext;
 import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
-import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.i18n.CookieLocaleResolver;
 import org.springframework.web.util.WebUtils;
 
@@ -36,13 +35,16 @@ import java.util.TimeZone;
  * CookieLocaleResolver#StringUtils.parseLocaleString(localePart)
  * is not able to parse the locale.
  * <p>
- * This class will check if a double quote has been added, if so it will remove it.
+ * This class will check if a double quote has been added, if so it will remove it. Parsed cookie values are
+ * cached, see {@link AngularCookieLocaleCache}.
  */
 public class AngularCookieLocaleResolver extends CookieLocaleResolver {
 
     /** Constant <code>QUOTE="%22"</code> */
     public static final String QUOTE = "%22";
 
+    private final AngularCookieLocaleCache cache = new AngularCookieLocaleCache();
+
     /** {@inheritDoc} */
     @Override
     public Locale resolveLocale(HttpServletRequest request) {
@@ -81,22 +83,9 @@ public class AngularCookieLocaleResolver extends CookieLocaleResolver {
             Locale locale = null;
             TimeZone timeZone = null;
             if (cookie != null) {
-                String value = cookie.getValue();
-
-                // Remove the double quote
-                value = StringUtils.replace(value, QUOTE, "");
-
-                String localePart = value;
-                String timeZonePart = null;
-                int spaceIndex = localePart.indexOf(' ');
-                if (spaceIndex != -1) {
-                    localePart = value.substring(0, spaceIndex);
-                    timeZonePart = value.substring(spaceIndex + 1);
-                }
-                locale = !"-".equals(localePart) ? StringUtils.parseLocaleString(localePart.replace('-', '_')) : null;
-                if (timeZonePart != null) {
-                    timeZone = StringUtils.parseTimeZoneString(timeZonePart);
-                }
+                AngularCookieLocaleContext context = cache.get(cookie.getValue());
+                locale = context.getLocale();
+                timeZone = context.getTimeZone();
                 if (logger.isTraceEnabled()) {
                     logger.trace("Parsed cookie value [" + cookie.getValue() + "] into locale '" + locale +
                         "'" + (timeZone != null ? " and time zone '" + timeZone.getID() + "'" : ""));
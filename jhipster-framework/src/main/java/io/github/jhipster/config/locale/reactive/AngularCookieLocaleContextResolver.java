@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.locale.reactive;
+
+import io.github.jhipster.config.locale.AngularCookieLocaleCache;
+import io.github.jhipster.config.locale.AngularCookieLocaleContext;
+import io.github.jhipster.config.locale.AngularCookieLocaleResolver;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.i18n.LocaleContextResolver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * WebFlux equivalent of {@link io.github.jhipster.config.locale.AngularCookieLocaleResolver}.
+ * <p>
+ * The locale and time zone are read from a cookie which may be surrounded by Angular quotes ({@code %22fr%22}), and
+ * parsed values are cached, see {@link io.github.jhipster.config.locale.AngularCookieLocaleCache}. Without cookie, the
+ * default locale is used, or the first locale of the {@code Accept-Language} header when there is none.
+ */
+public class AngularCookieLocaleContextResolver implements LocaleContextResolver {
+
+    /** Constant <code>DEFAULT_COOKIE_NAME="org.springframework.web.servlet.i18n.CookieLocaleResolver.LOCALE"</code> */
+    public static final String DEFAULT_COOKIE_NAME = AngularCookieLocaleResolver.DEFAULT_COOKIE_NAME;
+
+    private final AngularCookieLocaleCache cache = new AngularCookieLocaleCache();
+
+    private String cookieName = DEFAULT_COOKIE_NAME;
+
+    private String cookiePath = "/";
+
+    private Duration cookieMaxAge = Duration.ofSeconds(-1);
+
+    private boolean cookieSecure;
+
+    private Locale defaultLocale;
+
+    private TimeZone defaultTimeZone;
+
+    /** {@inheritDoc} */
+    @Override
+    public LocaleContext resolveLocaleContext(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpCookie cookie = request.getCookies().getFirst(cookieName);
+        Locale locale = null;
+        TimeZone timeZone = null;
+        if (cookie != null) {
+            try {
+                AngularCookieLocaleContext context = cache.get(cookie.getValue());
+                locale = context.getLocale();
+                timeZone = context.getTimeZone();
+            } catch (IllegalArgumentException e) {
+                // Invalid cookie, the defaults apply
+            }
+        }
+        return new SimpleTimeZoneAwareLocaleContext(locale != null ? locale : determineDefaultLocale(request),
+            timeZone != null ? timeZone : defaultTimeZone);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setLocaleContext(ServerWebExchange exchange, LocaleContext localeContext) {
+        Locale locale = localeContext != null ? localeContext.getLocale() : null;
+        TimeZone timeZone = localeContext instanceof TimeZoneAwareLocaleContext ?
+            ((TimeZoneAwareLocaleContext) localeContext).getTimeZone() : null;
+        ResponseCookie.ResponseCookieBuilder cookie;
+        if (locale != null || timeZone != null) {
+            // Spaces are not allowed in cookie values, Angular reads them encoded like the quotes
+            String value = (locale != null ? locale.toLanguageTag() : "-") +
+                (timeZone != null ? "%20" + timeZone.getID() : "");
+            cookie = ResponseCookie.from(cookieName, quote(value)).maxAge(cookieMaxAge);
+        } else {
+            cookie = ResponseCookie.from(cookieName, "").maxAge(0);
+        }
+        exchange.getResponse().addCookie(cookie.path(cookiePath).secure(cookieSecure).build());
+    }
+
+    private Locale determineDefaultLocale(ServerHttpRequest request) {
+        if (defaultLocale != null) {
+            return defaultLocale;
+        }
+        try {
+            List<Locale> locales = request.getHeaders().getAcceptLanguageAsLocales();
+            return locales.isEmpty() ? Locale.getDefault() : locales.get(0);
+        } catch (IllegalArgumentException e) {
+            // Invalid Accept-Language header
+            return Locale.getDefault();
+        }
+    }
+
+    private static String quote(String string) {
+        return AngularCookieLocaleResolver.QUOTE + string + AngularCookieLocaleResolver.QUOTE;
+    }
+
+    /**
+     * <p>Getter for the field <code>cookieName</code>.</p>
+     *
+     * @return a {@link java.lang.String} object.
+     */
+    public String getCookieName() {
+        return cookieName;
+    }
+
+    /**
+     * <p>Setter for the field <code>cookieName</code>.</p>
+     *
+     * @param cookieName a {@link java.lang.String} object.
+     */
+    public void setCookieName(String cookieName) {
+        this.cookieName = cookieName;
+    }
+
+    /**
+     * <p>Getter for the field <code>cookiePath</code>.</p>
+     *
+     * @return a {@link java.lang.String} object.
+     */
+    public String getCookiePath() {
+        return cookiePath;
+    }
+
+    /**
+     * <p>Setter for the field <code>cookiePath</code>.</p>
+     *
+     * @param cookiePath a {@link java.lang.String} object.
+     */
+    public void setCookiePath(String cookiePath) {
+        this.cookiePath = cookiePath;
+    }
+
+    /**
+     * <p>Getter for the field <code>cookieMaxAge</code>.</p>
+     *
+     * @return a {@link java.time.Duration} object, negative for a session cookie.
+     */
+    public Duration getCookieMaxAge() {
+        return cookieMaxAge;
+    }
+
+    /**
+     * <p>Setter for the field <code>cookieMaxAge</code>.</p>
+     *
+     * @param cookieMaxAge a {@link java.time.Duration} object, negative for a session cookie.
+     */
+    public void setCookieMaxAge(Duration cookieMaxAge) {
+        this.cookieMaxAge = cookieMaxAge;
+    }
+
+    /**
+     * <p>isCookieSecure.</p>
+     *
+     * @return a boolean.
+     */
+    public boolean isCookieSecure() {
+        return cookieSecure;
+    }
+
+    /**
+     * <p>Setter for the field <code>cookieSecure</code>.</p>
+     *
+     * @param cookieSecure a boolean.
+     */
+    public void setCookieSecure(boolean cookieSecure) {
+        this.cookieSecure = cookieSecure;
+    }
+
+    /**
+     * <p>Getter for the field <code>defaultLocale</code>.</p>
+     *
+     * @return a {@link java.util.Locale} object.
+     */
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    /**
+     * <p>Setter for the field <code>defaultLocale</code>.</p>
+     *
+     * @param defaultLocale a {@link java.util.Locale} object.
+     */
+    public void setDefaultLocale(Locale defaultLocale) {
+        this.defaultLocale = defaultLocale;
+    }
+
+    /**
+     * <p>Getter for the field <code>defaultTimeZone</code>.</p>
+     *
+     * @return a {@link java.util.TimeZone} object.
+     */
+    public TimeZone getDefaultTimeZone() {
+        return defaultTimeZone;
+    }
+
+    /**
+     * <p>Setter for the field <code>defaultTimeZone</code>.</p>
+     *
+     * @param defaultTimeZone a {@link java.util.TimeZone} object.
+     */
+    public void setDefaultTimeZone(TimeZone defaultTimeZone) {
+        this.defaultTimeZone = defaultTimeZone;
+    }
+}
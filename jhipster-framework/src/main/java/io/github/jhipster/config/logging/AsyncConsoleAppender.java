@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous appender handing events over to its delegate appenders through a lock-free ring buffer.
+ *
+ * <p>Events are published by the logging thread and written by a single dedicated thread, which flushes the
+ * delegate {@link ch.qos.logback.core.OutputStreamAppender}s at the end of each batch when they are not configured
+ * with {@code immediateFlush}. When the ring buffer is full, events are either dropped or the logging thread waits
+ * for free capacity, depending on the configured {@link OverflowPolicy}.</p>
+ */
+public class AsyncConsoleAppender extends LoggingEventAsyncDisruptorAppender {
+
+    private static final long BLOCK_RETRY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * <p>Constructor for AsyncConsoleAppender.</p>
+     */
+    public AsyncConsoleAppender() {
+        addListener(new DroppedEventsListener());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+            super.append(event);
+            return;
+        }
+        long startTime = System.nanoTime();
+        prepareForDeferredProcessing(event);
+        while (!getDisruptor().getRingBuffer().tryPublishEvent(getEventTranslator(), event)) {
+            if (!isStarted()) {
+                // the writer thread is gone, nothing will ever free up capacity
+                droppedEvents.increment();
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_RETRY_NANOS);
+        }
+        fireEventAppended(event, System.nanoTime() - startTime);
+    }
+
+    /**
+     * <p>Getter for the field <code>overflowPolicy</code>.</p>
+     *
+     * @return a {@link io.github.jhipster.config.logging.OverflowPolicy} object.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * <p>Setter for the field <code>overflowPolicy</code>.</p>
+     *
+     * @param overflowPolicy a {@link io.github.jhipster.config.logging.OverflowPolicy} object.
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Return the number of events waiting in the ring buffer to be written.
+     *
+     * @return the number of pending events, or 0 if the appender is not started.
+     */
+    public long getQueueDepth() {
+        if (getDisruptor() == null) {
+            return 0;
+        }
+        return getDisruptor().getRingBuffer().getBufferSize() - getDisruptor().getRingBuffer().remainingCapacity();
+    }
+
+    /**
+     * Return the number of events dropped because the ring buffer was full.
+     *
+     * @return the number of dropped events since this appender was created.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    private class DroppedEventsListener implements AppenderListener<ILoggingEvent> {
+
+        @Override
+        public void appenderStarted(Appender<ILoggingEvent> appender) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void appenderStopped(Appender<ILoggingEvent> appender) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void eventAppended(Appender<ILoggingEvent> appender, ILoggingEvent event, long durationInNanos) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+            droppedEvents.increment();
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.nio.file.Paths;
 
 /**
  * Utility methods to add appenders to a {@link ch.qos.logback.classic.LoggerContext}.
@@ -29,9 +30,10 @@ public final class LoggingUtils {
 
     private static final Logger log = LoggerFactory.getLogger(LoggingUtils.class);
 
-    private static final String CONSOLE_APPENDER_NAME = "CONSOLE";
+    static final String CONSOLE_APPENDER_NAME = "CONSOLE";
+    private static final String CONSOLE_DELEGATE_APPENDER_NAME = "CONSOLE_DELEGATE";
     private static final String LOGSTASH_APPENDER_NAME = "LOGSTASH";
-    private static final String ASYNC_LOGSTASH_APPENDER_NAME = "ASYNC_LOGSTASH";
+    static final String ASYNC_LOGSTASH_APPENDER_NAME = "ASYNC_LOGSTASH";
 
     private LoggingUtils () {
     }
@@ -56,6 +58,41 @@ public final class LoggingUtils {
         context.getLogger(ch.qos.logback.classic.Logger.ROOT_LOGGER_NAME).addAppender(consoleAppender);
     }
 
+    /**
+     * Add a JSON console appender, written to by a dedicated thread when asynchronous console logging is enabled.
+     *
+     * @param context a {@link ch.qos.logback.classic.LoggerContext} object.
+     * @param customFields a {@link java.lang.String} object.
+     * @param asyncConsoleProperties a {@link io.github.jhipster.config.JHipsterProperties.Logging.AsyncConsole} object.
+     */
+    public static void addJsonConsoleAppender(LoggerContext context, String customFields,
+                                              JHipsterProperties.Logging.AsyncConsole asyncConsoleProperties) {
+        if (!asyncConsoleProperties.isEnabled()) {
+            addJsonConsoleAppender(context, customFields);
+            return;
+        }
+        log.info("Initializing asynchronous Console loggingProperties");
+
+        ConsoleAppender<ILoggingEvent> consoleAppender = new ConsoleAppender<>();
+        consoleAppender.setContext(context);
+        consoleAppender.setEncoder(compositeJsonEncoder(context, customFields));
+        consoleAppender.setName(CONSOLE_DELEGATE_APPENDER_NAME);
+        // Flushed by the writer thread at the end of each batch
+        consoleAppender.setImmediateFlush(false);
+        consoleAppender.start();
+
+        AsyncConsoleAppender asyncConsoleAppender = new AsyncConsoleAppender();
+        asyncConsoleAppender.setContext(context);
+        asyncConsoleAppender.setName(CONSOLE_APPENDER_NAME);
+        asyncConsoleAppender.setRingBufferSize(asyncConsoleProperties.getRingBufferSize());
+        asyncConsoleAppender.setOverflowPolicy(asyncConsoleProperties.getOverflowPolicy());
+        asyncConsoleAppender.addAppender(consoleAppender);
+        asyncConsoleAppender.start();
+
+        context.getLogger(ch.qos.logback.classic.Logger.ROOT_LOGGER_NAME).detachAppender(CONSOLE_APPENDER_NAME);
+        context.getLogger(ch.qos.logback.classic.Logger.ROOT_LOGGER_NAME).addAppender(asyncConsoleAppender);
+    }
+
     /**
      * <p>addLogstashTcpSocketAppender.</p>
      *
@@ -68,7 +105,8 @@ public final class LoggingUtils {
         log.info("Initializing Logstash loggingProperties");
 
         // More documentation is available at: https://github.com/logstash/logstash-logback-encoder
-        LogstashTcpSocketAppender logstashAppender = new LogstashTcpSocketAppender();
+        LogstashTcpSocketAppender logstashAppender = logstashProperties.getSpill().isEnabled()
+            ? spillingLogstashAppender(logstashProperties.getSpill()) : new LogstashTcpSocketAppender();
         logstashAppender.addDestinations(new InetSocketAddress(logstashProperties.getHost(), logstashProperties.getPort()));
         logstashAppender.setContext(context);
         logstashAppender.setEncoder(logstashEncoder(customFields));
@@ -123,8 +161,17 @@ public final class LoggingUtils {
         );
     }
 
-    private static LoggingEventCompositeJsonEncoder compositeJsonEncoder(LoggerContext context, String customFields) {
-        final LoggingEventCompositeJsonEncoder compositeJsonEncoder = new LoggingEventCompositeJsonEncoder();
+    private static SpillingLogstashTcpSocketAppender spillingLogstashAppender(
+        JHipsterProperties.Logging.Logstash.Spill spillProperties) {
+        final SpillingLogstashTcpSocketAppender spillingAppender = new SpillingLogstashTcpSocketAppender();
+        spillingAppender.setSpillPath(Paths.get(spillProperties.getPath()));
+        spillingAppender.setSpillMaxSize(spillProperties.getMaxSize());
+        spillingAppender.setReplayIntervalInSeconds(spillProperties.getReplayIntervalInSeconds());
+        return spillingAppender;
+    }
+
+    static LoggingEventCompositeJsonEncoder compositeJsonEncoder(LoggerContext context, String customFields) {
+        final LoggingEventCompositeJsonEncoder compositeJsonEncoder = new LowAllocationJsonEncoder();
         compositeJsonEncoder.setContext(context);
         compositeJsonEncoder.setProviders(jsonProviders(context, customFields));
         compositeJsonEncoder.start();
@@ -156,7 +203,7 @@ public final class LoggingUtils {
     }
 
     private static GlobalCustomFieldsJsonProvider<ILoggingEvent> customFieldsJsonProvider(String customFields) {
-        final GlobalCustomFieldsJsonProvider<ILoggingEvent> customFieldsJsonProvider = new GlobalCustomFieldsJsonProvider<>();
+        final GlobalCustomFieldsJsonProvider<ILoggingEvent> customFieldsJsonProvider = new PreEncodedCustomFieldsJsonProvider<>();
         customFieldsJsonProvider.setCustomFields(customFields);
         return customFieldsJsonProvider;
     }
@@ -208,7 +255,7 @@ public final class LoggingUtils {
         @Override
         public void onStart(LoggerContext context) {
             if (this.loggingProperties.isUseJsonFormat()) {
-                addJsonConsoleAppender(context, customFields);
+                addJsonConsoleAppender(context, customFields, loggingProperties.getAsyncConsole());
             }
             if (this.loggingProperties.getLogstash().isEnabled()) {
                 addLogstashTcpSocketAppender(context, customFields, loggingProperties.getLogstash());
@@ -218,7 +265,7 @@ public final class LoggingUtils {
         @Override
         public void onReset(LoggerContext context) {
             if (this.loggingProperties.isUseJsonFormat()) {
-                addJsonConsoleAppender(context, customFields);
+                addJsonConsoleAppender(context, customFields, loggingProperties.getAsyncConsole());
             }
             if (this.loggingProperties.getLogstash().isEnabled()) {
                 addLogstashTcpSocketAppender(context, customFields, loggingProperties.getLogstash());
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Micrometer binder exposing the spill file activity of the {@link SpillingLogstashTcpSocketAppender}
+ * attached to the root logger.
+ *
+ * <p>The appender is looked up on each measurement, as it is replaced whenever the logger context is reset.</p>
+ * <p>The meters use the logger context as their state, since Micrometer only keeps a weak reference to it: the
+ * binder itself is usually not referenced once bound.</p>
+ */
+public class LogstashSpillMetrics implements MeterBinder {
+
+    private final LoggerContext context;
+
+    private final String appenderName;
+
+    /**
+     * <p>Constructor for LogstashSpillMetrics.</p>
+     *
+     * @param context a {@link ch.qos.logback.classic.LoggerContext} object.
+     */
+    public LogstashSpillMetrics(LoggerContext context) {
+        this(context, LoggingUtils.ASYNC_LOGSTASH_APPENDER_NAME);
+    }
+
+    /**
+     * <p>Constructor for LogstashSpillMetrics.</p>
+     *
+     * @param context a {@link ch.qos.logback.classic.LoggerContext} object.
+     * @param appenderName the name of the {@link SpillingLogstashTcpSocketAppender} attached to the root logger.
+     */
+    public LogstashSpillMetrics(LoggerContext context, String appenderName) {
+        this.context = context;
+        this.appenderName = appenderName;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("logstash.spill.size", context,
+                ctx -> measure(SpillingLogstashTcpSocketAppender::getSpillSize))
+            .tag("appender", appenderName)
+            .baseUnit(BaseUnits.BYTES)
+            .description("Size of the events waiting in the spill file")
+            .register(registry);
+        FunctionCounter.builder("logstash.spill.spilled", context,
+                ctx -> measure(SpillingLogstashTcpSocketAppender::getSpilledEvents))
+            .tag("appender", appenderName)
+            .description("Number of log events written to the spill file")
+            .register(registry);
+        FunctionCounter.builder("logstash.spill.dropped", context,
+                ctx -> measure(SpillingLogstashTcpSocketAppender::getDroppedEvents))
+            .tag("appender", appenderName)
+            .description("Number of log events dropped because the spill file was full")
+            .register(registry);
+        FunctionCounter.builder("logstash.spill.replayed", context,
+                ctx -> measure(SpillingLogstashTcpSocketAppender::getReplayedBytes))
+            .tag("appender", appenderName)
+            .baseUnit(BaseUnits.BYTES)
+            .description("Size of the events replayed from the spill file")
+            .register(registry);
+    }
+
+    private double measure(ToLongFunction<SpillingLogstashTcpSocketAppender> measurement) {
+        Appender<ILoggingEvent> appender = context.getLogger(ch.qos.logback.classic.Logger.ROOT_LOGGER_NAME)
+            .getAppender(appenderName);
+        return appender instanceof SpillingLogstashTcpSocketAppender
+            ? measurement.applyAsLong((SpillingLogstashTcpSocketAppender) appender) : 0;
+    }
+}
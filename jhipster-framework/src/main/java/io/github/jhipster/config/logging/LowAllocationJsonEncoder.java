@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * {@link LoggingEventCompositeJsonEncoder} writing events into a thread-local buffer which is reused from one event
+ * to the next, instead of allocating and growing a new buffer for each event.
+ *
+ * <p>The output is identical to the one of {@link LoggingEventCompositeJsonEncoder}. Encoders configured with a
+ * prefix or a suffix fall back to the default implementation.</p>
+ */
+public class LowAllocationJsonEncoder extends LoggingEventCompositeJsonEncoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    // Buffers grown by an unusually large event are not kept, so that each thread retains at most this size
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private final ThreadLocal<ReusableByteArrayOutputStream> buffers =
+        ThreadLocal.withInitial(ReusableByteArrayOutputStream::new);
+
+    private byte[] lineSeparatorBytes = new byte[0];
+
+    /** {@inheritDoc} */
+    @Override
+    public void start() {
+        super.start();
+        String lineSeparator = getLineSeparator();
+        lineSeparatorBytes = lineSeparator == null ? new byte[0]
+            : lineSeparator.getBytes(Charset.forName(getFormatter().getEncoding()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        if (getPrefix() != null || getSuffix() != null) {
+            return super.encode(event);
+        }
+        ReusableByteArrayOutputStream buffer = buffers.get();
+        try {
+            getFormatter().writeEventToOutputStream(event, buffer);
+            buffer.write(lineSeparatorBytes);
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            buffer.recycle();
+        }
+    }
+
+    private static class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+
+        private ReusableByteArrayOutputStream() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        private void recycle() {
+            reset();
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+    }
+}
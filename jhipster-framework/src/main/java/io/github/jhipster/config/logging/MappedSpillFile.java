@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only segment file, memory-mapped with a fixed maximum size.
+ *
+ * <p>The first 8 bytes hold the current write position, so content which was not drained before a restart
+ * is still available when the file is opened again. Appending never blocks on I/O: records which do not fit in the
+ * remaining space are rejected.</p>
+ */
+public class MappedSpillFile implements Closeable {
+
+    private static final int HEADER_SIZE = Long.BYTES;
+
+    private static final int DRAIN_CHUNK_SIZE = 8192;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private final Object drainLock = new Object();
+
+    private int position;
+
+    /**
+     * <p>Constructor for MappedSpillFile.</p>
+     *
+     * @param path the segment file, created if it does not exist.
+     * @param maxSize the maximum size of the segment file in bytes, header included.
+     * @throws java.io.IOException if the file cannot be opened or mapped.
+     */
+    public MappedSpillFile(Path path, int maxSize) throws IOException {
+        if (maxSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("maxSize must be greater than " + HEADER_SIZE);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, maxSize);
+        long storedPosition = buffer.getLong(0);
+        position = storedPosition < HEADER_SIZE || storedPosition > maxSize ? HEADER_SIZE : (int) storedPosition;
+        buffer.putLong(0, position);
+    }
+
+    /**
+     * Append a record at the end of the segment.
+     *
+     * @param bytes the record to append.
+     * @return false if the record does not fit in the remaining space.
+     */
+    public synchronized boolean append(byte[] bytes) {
+        if (bytes.length > buffer.capacity() - position) {
+            return false;
+        }
+        window(position, buffer.capacity()).put(bytes);
+        position += bytes.length;
+        buffer.putLong(0, position);
+        return true;
+    }
+
+    /**
+     * Return the number of bytes waiting to be drained.
+     *
+     * @return the size of the content in bytes.
+     */
+    public synchronized int size() {
+        return position - HEADER_SIZE;
+    }
+
+    /**
+     * Write the current content to the given stream, then remove it from the segment.
+     *
+     * <p>Records appended while draining are kept. If writing fails, nothing is removed.</p>
+     *
+     * @param out the stream to write the content to.
+     * @return the number of bytes drained.
+     * @throws java.io.IOException if writing to the stream fails.
+     */
+    public long drainTo(OutputStream out) throws IOException {
+        synchronized (drainLock) {
+            int end;
+            synchronized (this) {
+                end = position;
+            }
+            ByteBuffer content = window(HEADER_SIZE, end);
+            byte[] chunk = new byte[DRAIN_CHUNK_SIZE];
+            while (content.hasRemaining()) {
+                int length = Math.min(chunk.length, content.remaining());
+                content.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+            out.flush();
+            synchronized (this) {
+                // Records appended while draining are moved to the start of the segment
+                byte[] appended = new byte[position - end];
+                window(end, position).get(appended);
+                window(HEADER_SIZE, buffer.capacity()).put(appended);
+                position = HEADER_SIZE + appended.length;
+                buffer.putLong(0, position);
+            }
+            return end - HEADER_SIZE;
+        }
+    }
+
+    private ByteBuffer window(int from, int to) {
+        ByteBuffer window = buffer.duplicate();
+        // Calls through Buffer keep the Java 8 method signatures when compiled with a newer JDK
+        ((Buffer) window).limit(to);
+        ((Buffer) window).position(from);
+        return window;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
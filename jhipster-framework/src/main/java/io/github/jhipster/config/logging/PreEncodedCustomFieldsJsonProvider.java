@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import net.logstash.logback.composite.GlobalCustomFieldsJsonProvider;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link GlobalCustomFieldsJsonProvider} serializing the custom fields once, when started, instead of walking
+ * the JSON tree for every event.
+ *
+ * @param <Event> the type of event.
+ */
+public class PreEncodedCustomFieldsJsonProvider<Event extends DeferredProcessingAware>
+    extends GlobalCustomFieldsJsonProvider<Event> {
+
+    private JsonFactory jsonFactory;
+
+    private volatile List<SerializableString[]> encodedFields = Collections.emptyList();
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeTo(JsonGenerator generator, Event event) throws IOException {
+        for (SerializableString[] field : encodedFields) {
+            generator.writeFieldName(field[0]);
+            generator.writeRawValue(field[1]);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void start() {
+        super.start();
+        encodeFields();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setCustomFields(String customFields) {
+        super.setCustomFields(customFields);
+        if (isStarted()) {
+            encodeFields();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setCustomFieldsNode(JsonNode customFields) {
+        super.setCustomFieldsNode(customFields);
+        if (isStarted()) {
+            encodeFields();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setJsonFactory(JsonFactory jsonFactory) {
+        super.setJsonFactory(jsonFactory);
+        this.jsonFactory = jsonFactory;
+    }
+
+    private void encodeFields() {
+        JsonNode customFieldsNode = getCustomFieldsNode();
+        if (customFieldsNode == null) {
+            encodedFields = Collections.emptyList();
+            return;
+        }
+        List<SerializableString[]> fields = new ArrayList<>();
+        try {
+            for (Iterator<Map.Entry<String, JsonNode>> it = customFieldsNode.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                StringWriter value = new StringWriter();
+                try (JsonGenerator generator = jsonFactory.createGenerator(value)) {
+                    generator.writeTree(field.getValue());
+                }
+                fields.add(new SerializableString[]{
+                    new SerializedString(field.getKey()), new SerializedString(value.toString())
+                });
+            }
+        } catch (IOException e) {
+            addError("Failed to encode custom fields [" + getCustomFields() + "]", e);
+            return;
+        }
+        encodedFields = fields;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.LogstashTcpSocketAppender;
+import net.logstash.logback.appender.listener.LoggingEventTcpAppenderListenerImpl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logstash TCP appender spilling events it cannot send to a {@link MappedSpillFile}.
+ *
+ * <p>Events which are rejected because the ring buffer is full, or which fail to be written to the socket, are encoded
+ * on the calling thread and appended to the spill file instead of being lost. The spill file is replayed on a separate
+ * connection to the connected destination when the connection is (re)opened and every replay interval. Events which
+ * do not fit in the spill file are dropped.</p>
+ */
+public class SpillingLogstashTcpSocketAppender extends LogstashTcpSocketAppender {
+
+    private static final int REPLAY_CONNECTION_TIMEOUT_MILLIS = 5000;
+
+    private final LongAdder spilledEvents = new LongAdder();
+
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private final LongAdder replayedBytes = new LongAdder();
+
+    private Path spillPath;
+
+    private int spillMaxSize;
+
+    private int replayIntervalInSeconds;
+
+    private volatile MappedSpillFile spillFile;
+
+    private ScheduledExecutorService replayExecutor;
+
+    /**
+     * <p>Constructor for SpillingLogstashTcpSocketAppender.</p>
+     */
+    public SpillingLogstashTcpSocketAppender() {
+        addListener(new SpillingListener());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void start() {
+        if (isStarted()) {
+            return;
+        }
+        try {
+            spillFile = new MappedSpillFile(spillPath, spillMaxSize);
+        } catch (IOException | RuntimeException e) {
+            addError("Unable to open spill file " + spillPath + ", events which cannot be sent will be dropped", e);
+        }
+        replayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "logstash-spill-replay-" + getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        replayExecutor.scheduleWithFixedDelay(this::replay, replayIntervalInSeconds, replayIntervalInSeconds,
+            TimeUnit.SECONDS);
+        super.start();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        replayExecutor.shutdownNow();
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                addWarn("Unable to close spill file " + spillPath, e);
+            }
+            spillFile = null;
+        }
+    }
+
+    private void spill(ILoggingEvent event) {
+        MappedSpillFile file = spillFile;
+        if (file != null && file.append(getEncoder().encode(event))) {
+            spilledEvents.increment();
+        } else {
+            droppedEvents.increment();
+        }
+    }
+
+    /**
+     * Send the content of the spill file to the connected destination, if any.
+     */
+    void replay() {
+        MappedSpillFile file = spillFile;
+        Optional<InetSocketAddress> destination = getConnectedDestination();
+        if (file == null || file.size() == 0 || !destination.isPresent()) {
+            return;
+        }
+        try (Socket socket = getSocketFactory().createSocket()) {
+            socket.connect(destination.get(), REPLAY_CONNECTION_TIMEOUT_MILLIS);
+            OutputStream outputStream = new BufferedOutputStream(socket.getOutputStream());
+            replayedBytes.add(file.drainTo(outputStream));
+        } catch (IOException e) {
+            addWarn("Unable to replay spilled events to " + destination.get(), e);
+        }
+    }
+
+    /**
+     * <p>Getter for the field <code>spillPath</code>.</p>
+     *
+     * @return a {@link java.nio.file.Path} object.
+     */
+    public Path getSpillPath() {
+        return spillPath;
+    }
+
+    /**
+     * <p>Setter for the field <code>spillPath</code>.</p>
+     *
+     * @param spillPath a {@link java.nio.file.Path} object.
+     */
+    public void setSpillPath(Path spillPath) {
+        this.spillPath = spillPath;
+    }
+
+    /**
+     * <p>Getter for the field <code>spillMaxSize</code>.</p>
+     *
+     * @return the maximum size of the spill file in bytes.
+     */
+    public int getSpillMaxSize() {
+        return spillMaxSize;
+    }
+
+    /**
+     * <p>Setter for the field <code>spillMaxSize</code>.</p>
+     *
+     * @param spillMaxSize the maximum size of the spill file in bytes.
+     */
+    public void setSpillMaxSize(int spillMaxSize) {
+        this.spillMaxSize = spillMaxSize;
+    }
+
+    /**
+     * <p>Getter for the field <code>replayIntervalInSeconds</code>.</p>
+     *
+     * @return a int.
+     */
+    public int getReplayIntervalInSeconds() {
+        return replayIntervalInSeconds;
+    }
+
+    /**
+     * <p>Setter for the field <code>replayIntervalInSeconds</code>.</p>
+     *
+     * @param replayIntervalInSeconds a int.
+     */
+    public void setReplayIntervalInSeconds(int replayIntervalInSeconds) {
+        this.replayIntervalInSeconds = replayIntervalInSeconds;
+    }
+
+    /**
+     * Return the number of bytes waiting in the spill file.
+     *
+     * @return the size of the spilled content in bytes.
+     */
+    public long getSpillSize() {
+        MappedSpillFile file = spillFile;
+        return file == null ? 0 : file.size();
+    }
+
+    /**
+     * Return the number of events written to the spill file.
+     *
+     * @return the number of spilled events since this appender was created.
+     */
+    public long getSpilledEvents() {
+        return spilledEvents.sum();
+    }
+
+    /**
+     * Return the number of events lost because they did not fit in the spill file.
+     *
+     * @return the number of dropped events since this appender was created.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Return the number of bytes replayed from the spill file.
+     *
+     * @return the number of replayed bytes since this appender was created.
+     */
+    public long getReplayedBytes() {
+        return replayedBytes.sum();
+    }
+
+    private class SpillingListener extends LoggingEventTcpAppenderListenerImpl {
+
+        @Override
+        public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+            spill(event);
+        }
+
+        @Override
+        public void eventSendFailure(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+            spill(event);
+        }
+
+        @Override
+        public void connectionOpened(Appender<ILoggingEvent> appender, Socket socket) {
+            try {
+                replayExecutor.execute(SpillingLogstashTcpSocketAppender.this::replay);
+            } catch (RejectedExecutionException e) {
+                // The appender is stopping, the spill file is replayed on next start
+            }
+        }
+    }
+}
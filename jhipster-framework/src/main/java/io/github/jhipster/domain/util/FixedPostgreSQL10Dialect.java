@@ -42,7 +42,7 @@ public class FixedPostgreSQL10Dialect extends PostgreSQL10Dialect {
     /** {@inheritDoc} */
     @Override
     public SqlTypeDescriptor remapSqlTypeDescriptor(SqlTypeDescriptor sqlTypeDescriptor) {
-        if (sqlTypeDescriptor.getSqlType() == java.sql.Types.BLOB) {
+        if (sqlTypeDescriptor.canBeRemapped() && sqlTypeDescriptor.getSqlType() == java.sql.Types.BLOB) {
             return BinaryTypeDescriptor.INSTANCE;
         }
         return super.remapSqlTypeDescriptor(sqlTypeDescriptor);
@@ -41,7 +41,7 @@ public class FixedPostgreSQL95Dialect extends PostgreSQL95Dialect {
     /** {@inheritDoc} */
     @Override
     public SqlTypeDescriptor remapSqlTypeDescriptor(SqlTypeDescriptor sqlTypeDescriptor) {
-        if (sqlTypeDescriptor.getSqlType() == java.sql.Types.BLOB) {
+        if (sqlTypeDescriptor.canBeRemapped() && sqlTypeDescriptor.getSqlType() == java.sql.Types.BLOB) {
             return BinaryTypeDescriptor.INSTANCE;
         }
         return super.remapSqlTypeDescriptor(sqlTypeDescriptor);
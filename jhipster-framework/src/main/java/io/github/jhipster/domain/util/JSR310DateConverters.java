@@ -22,16 +22,136 @@ package io.github.jhipster.domain.util;
 import org.springframework.core.convert.converter.Converter;
 
 import java.time.*;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * <p>JSR310DateConverters class.</p>
+ * <p>
+ * Conversions use the system zone, {@link java.time.ZoneId#systemDefault()}, read once and cached with its rules and,
+ * when it has no transitions, its offset. Change the default zone with {@link #setSystemZone(ZoneId)}, or call
+ * {@link #refreshSystemZone()} after {@link java.util.TimeZone#setDefault(java.util.TimeZone)}: the converters do not
+ * read the default zone again by themselves.
  */
 public final class JSR310DateConverters {
 
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private static final long MILLIS_PER_SECOND = 1000;
+
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    private static final List<Consumer<ZoneId>> systemZoneListeners = new CopyOnWriteArrayList<>();
+
+    private static volatile SystemZone systemZone = new SystemZone(ZoneId.systemDefault());
+
     private JSR310DateConverters() {
     }
 
+    /**
+     * <p>getSystemZone.</p>
+     *
+     * @return the current system zone.
+     */
+    public static ZoneId getSystemZone() {
+        return systemZone.zone;
+    }
+
+    /**
+     * Set the default time zone of the JVM and the system zone of the converters.
+     *
+     * @param zone the new system zone.
+     */
+    public static synchronized void setSystemZone(ZoneId zone) {
+        TimeZone.setDefault(TimeZone.getTimeZone(zone));
+        changeSystemZone(zone);
+    }
+
+    /**
+     * Read the default time zone of the JVM again, after it was changed with
+     * {@link java.util.TimeZone#setDefault(java.util.TimeZone)}.
+     *
+     * @return the current system zone.
+     */
+    public static synchronized ZoneId refreshSystemZone() {
+        ZoneId zone = ZoneId.systemDefault();
+        changeSystemZone(zone);
+        return zone;
+    }
+
+    private static void changeSystemZone(ZoneId zone) {
+        if (!systemZone.zone.equals(zone)) {
+            systemZone = new SystemZone(zone);
+            systemZoneListeners.forEach(listener -> listener.accept(zone));
+        }
+    }
+
+    /**
+     * Register a listener notified with the new system zone when it is changed with {@link #setSystemZone(ZoneId)}
+     * or {@link #refreshSystemZone()}.
+     *
+     * @param listener the listener to add.
+     */
+    public static void addSystemZoneListener(Consumer<ZoneId> listener) {
+        systemZoneListeners.add(listener);
+    }
+
+    /**
+     * <p>removeSystemZoneListener.</p>
+     *
+     * @param listener the listener to remove.
+     */
+    public static void removeSystemZoneListener(Consumer<ZoneId> listener) {
+        systemZoneListeners.remove(listener);
+    }
+
+    /**
+     * Convert all the values of a collection, for instance the dates of a batch of documents.
+     *
+     * @param sources the values to convert, which may contain null values.
+     * @param converter the converter to apply, such as {@link LocalDateToDateConverter#INSTANCE}.
+     * @param <S> the source type.
+     * @param <T> the target type.
+     * @return the converted values, in iteration order.
+     */
+    public static <S, T> List<T> convertAll(Collection<? extends S> sources, Converter<S, T> converter) {
+        List<T> targets = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            targets.add(source == null ? null : converter.convert(source));
+        }
+        return targets;
+    }
+
+    private static ZoneOffset getOffset(long epochMilli) {
+        SystemZone zone = systemZone;
+        return zone.fixedOffset != null ? zone.fixedOffset :
+            zone.rules.getOffset(Instant.ofEpochMilli(epochMilli));
+    }
+
+    /**
+     * System zone and, when it has no transitions, its offset.
+     */
+    private static final class SystemZone {
+
+        private final ZoneId zone;
+
+        private final ZoneRules rules;
+
+        private final ZoneOffset fixedOffset;
+
+        private SystemZone(ZoneId zone) {
+            this.zone = zone;
+            this.rules = zone.getRules();
+            this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : null;
+        }
+    }
+
     public static class LocalDateToDateConverter implements Converter<LocalDate, Date> {
 
         public static final LocalDateToDateConverter INSTANCE = new LocalDateToDateConverter();
@@ -41,7 +161,16 @@ public final class JSR310DateConverters {
 
         @Override
         public Date convert(LocalDate source) {
-            return source == null ? null : Date.from(source.atStartOfDay(ZoneId.systemDefault()).toInstant());
+            if (source == null) {
+                return null;
+            }
+            SystemZone zone = systemZone;
+            if (zone.fixedOffset == null) {
+                // Midnight may fall in a gap, which atStartOfDay resolves
+                return Date.from(source.atStartOfDay(zone.zone).toInstant());
+            }
+            return new Date((source.toEpochDay() * SECONDS_PER_DAY - zone.fixedOffset.getTotalSeconds()) *
+                MILLIS_PER_SECOND);
         }
     }
 
@@ -54,8 +183,12 @@ public final class JSR310DateConverters {
 
         @Override
         public LocalDate convert(Date source) {
-            return source == null ? null : ZonedDateTime.ofInstant(source.toInstant(), ZoneId.systemDefault())
-                .toLocalDate();
+            if (source == null) {
+                return null;
+            }
+            long epochMilli = source.getTime();
+            long epochSecond = Math.floorDiv(epochMilli, MILLIS_PER_SECOND) + getOffset(epochMilli).getTotalSeconds();
+            return LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY));
         }
     }
 
@@ -81,7 +214,8 @@ public final class JSR310DateConverters {
 
         @Override
         public ZonedDateTime convert(Date source) {
-            return source == null ? null : ZonedDateTime.ofInstant(source.toInstant(), ZoneId.systemDefault());
+            return source == null ? null :
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(source.getTime()), getSystemZone());
         }
     }
 
@@ -94,7 +228,15 @@ public final class JSR310DateConverters {
 
         @Override
         public Date convert(LocalDateTime source) {
-            return source == null ? null : Date.from(source.atZone(ZoneId.systemDefault()).toInstant());
+            if (source == null) {
+                return null;
+            }
+            SystemZone zone = systemZone;
+            if (zone.fixedOffset == null) {
+                return Date.from(source.atZone(zone.zone).toInstant());
+            }
+            return new Date(source.toEpochSecond(zone.fixedOffset) * MILLIS_PER_SECOND +
+                source.getNano() / NANOS_PER_MILLI);
         }
     }
 
@@ -107,7 +249,12 @@ public final class JSR310DateConverters {
 
         @Override
         public LocalDateTime convert(Date source) {
-            return source == null ? null : LocalDateTime.ofInstant(source.toInstant(), ZoneId.systemDefault());
+            if (source == null) {
+                return null;
+            }
+            long epochMilli = source.getTime();
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, MILLIS_PER_SECOND),
+                (int) Math.floorMod(epochMilli, MILLIS_PER_SECOND) * NANOS_PER_MILLI, getOffset(epochMilli));
         }
     }
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.domain.util;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.type.AbstractSingleColumnStandardBasicType;
+import org.hibernate.type.descriptor.java.BlobTypeDescriptor;
+
+import java.sql.Blob;
+
+/**
+ * Opt-in Hibernate type streaming large binary values instead of loading them in memory.
+ * <p>
+ * Values created with {@link org.hibernate.engine.jdbc.BlobProxy#generateProxy(java.io.InputStream, long)} are
+ * written from their stream, and loaded values read their content from the database when their stream is read, so
+ * heap use per transfer is bounded by the buffer size of the driver. Loaded values must be read while the
+ * transaction is open, for instance with {@code ServletResponseUtil.writeBlobOrNotFound} in a transactional method.
+ * <p>
+ * Usage, on PostgreSQL where the column must be a large object:
+ * <pre>
+ * &#64;Lob
+ * &#64;Type(type = "io.github.jhipster.domain.util.StreamingBlobType")
+ * &#64;Column(name = "content", columnDefinition = "oid")
+ * private Blob content;
+ * </pre>
+ */
+public class StreamingBlobType extends AbstractSingleColumnStandardBasicType<Blob> {
+
+    /** Constant <code>INSTANCE</code> */
+    public static final StreamingBlobType INSTANCE = new StreamingBlobType();
+
+    /**
+     * <p>Constructor for StreamingBlobType.</p>
+     */
+    public StreamingBlobType() {
+        super(StreamingBlobTypeDescriptor.INSTANCE, BlobTypeDescriptor.INSTANCE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getName() {
+        return "streaming_blob";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Blob getReplacement(Blob original, Blob target, SharedSessionContractImplementor session) {
+        return session.getJdbcServices().getJdbcEnvironment().getDialect().getLobMergeStrategy()
+            .mergeBlob(original, target, session);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.domain.util;
+
+import org.hibernate.engine.jdbc.BinaryStream;
+import org.hibernate.type.descriptor.ValueBinder;
+import org.hibernate.type.descriptor.ValueExtractor;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+import org.hibernate.type.descriptor.sql.BasicBinder;
+import org.hibernate.type.descriptor.sql.BasicExtractor;
+import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * BLOB descriptor binding values as streams and extracting them as driver {@link java.sql.Blob}s, which read their
+ * content lazily.
+ * <p>
+ * It cannot be remapped, so the fixed PostgreSQL dialects keep it instead of mapping it to {@code bytea}: on
+ * PostgreSQL, the column must be an {@code oid} large object.
+ */
+public class StreamingBlobTypeDescriptor implements SqlTypeDescriptor {
+
+    /** Constant <code>INSTANCE</code> */
+    public static final StreamingBlobTypeDescriptor INSTANCE = new StreamingBlobTypeDescriptor();
+
+    /** {@inheritDoc} */
+    @Override
+    public int getSqlType() {
+        return Types.BLOB;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean canBeRemapped() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <X> ValueBinder<X> getBinder(JavaTypeDescriptor<X> javaTypeDescriptor) {
+        return new BasicBinder<X>(javaTypeDescriptor, this) {
+            @Override
+            protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options)
+                throws SQLException {
+                BinaryStream binaryStream = javaTypeDescriptor.unwrap(value, BinaryStream.class, options);
+                st.setBlob(index, binaryStream.getInputStream(), binaryStream.getLength());
+            }
+
+            @Override
+            protected void doBind(CallableStatement st, X value, String name, WrapperOptions options)
+                throws SQLException {
+                BinaryStream binaryStream = javaTypeDescriptor.unwrap(value, BinaryStream.class, options);
+                st.setBlob(name, binaryStream.getInputStream(), binaryStream.getLength());
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <X> ValueExtractor<X> getExtractor(JavaTypeDescriptor<X> javaTypeDescriptor) {
+        return new BasicExtractor<X>(javaTypeDescriptor, this) {
+            @Override
+            protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+                return javaTypeDescriptor.wrap(rs.getBlob(name), options);
+            }
+
+            @Override
+            protected X doExtract(CallableStatement statement, int index, WrapperOptions options)
+                throws SQLException {
+                return javaTypeDescriptor.wrap(statement.getBlob(index), options);
+            }
+
+            @Override
+            protected X doExtract(CallableStatement statement, String name, WrapperOptions options)
+                throws SQLException {
+                return javaTypeDescriptor.wrap(statement.getBlob(name), options);
+            }
+        };
+    }
+}
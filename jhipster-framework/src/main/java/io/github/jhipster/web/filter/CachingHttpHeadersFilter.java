@@ -20,14 +20,33 @@
 package io.github.jhipster.web.filter;
 
 import io.github.jhipster.config.JHipsterProperties;
+import io.github.jhipster.web.util.CachedHttpDate;
+import io.github.jhipster.web.util.ResourceETagCache;
+import io.github.jhipster.web.util.ResourceLastModifiedResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.support.ServletContextResource;
 
 import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
 import java.util.concurrent.TimeUnit;
 
 /**
  * This filter is used in production, to put HTTP cache headers with a long (4 years) expiration time.
+ * <p>
+ * Header values are computed once, except the {@code Expires} date which is formatted at most once per second.
+ * <p>
+ * The content of successful {@code GET} responses is hashed while it is written, to add a strong {@code ETag} to the
+ * following responses with the same {@code Last-Modified} time. When the {@code If-None-Match} header of a request
+ * matches that ETag, and the last modification time of the static resource, looked up in the servlet context and
+ * the {@link ResourceLastModifiedResolver#DEFAULT_LOCATIONS}, has not changed, the request is answered with
+ * {@code 304 Not Modified} without invoking the rest of the chain. Otherwise the response is turned into a
+ * {@code 304 Not Modified} once the rest of the chain has set its headers, and its content is discarded. Responses
+ * without {@code Last-Modified} get no ETag.
  */
 public class CachingHttpHeadersFilter implements Filter {
 
@@ -38,6 +57,14 @@ public class CachingHttpHeadersFilter implements Filter {
 
     private long cacheTimeToLive = DEFAULT_SECONDS_TO_LIVE;
 
+    private String cacheControl = getCacheControl(DEFAULT_SECONDS_TO_LIVE);
+
+    private CachedHttpDate expires = new CachedHttpDate(DEFAULT_SECONDS_TO_LIVE);
+
+    private final ResourceETagCache eTagCache = new ResourceETagCache(ResourceETagCache.DEFAULT_MAX_ENTRIES);
+
+    private ResourceLastModifiedResolver lastModifiedResolver;
+
     private JHipsterProperties jHipsterProperties;
 
     /**
@@ -46,13 +73,32 @@ public class CachingHttpHeadersFilter implements Filter {
      * @param jHipsterProperties a {@link io.github.jhipster.config.JHipsterProperties} object.
      */
     public CachingHttpHeadersFilter(JHipsterProperties jHipsterProperties) {
+        this(jHipsterProperties, ResourceLastModifiedResolver.ofDefaultLocations());
+    }
+
+    /**
+     * <p>Constructor for CachingHttpHeadersFilter.</p>
+     *
+     * @param jHipsterProperties a {@link io.github.jhipster.config.JHipsterProperties} object.
+     * @param lastModifiedResolver the resolver of the last modification time of the static resources, used after
+     *                             the servlet context.
+     */
+    public CachingHttpHeadersFilter(JHipsterProperties jHipsterProperties,
+                                    ResourceLastModifiedResolver lastModifiedResolver) {
         this.jHipsterProperties = jHipsterProperties;
+        this.lastModifiedResolver = lastModifiedResolver;
     }
 
     /** {@inheritDoc} */
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         cacheTimeToLive = TimeUnit.DAYS.toMillis(jHipsterProperties.getHttp().getCache().getTimeToLiveInDays());
+        cacheControl = getCacheControl(cacheTimeToLive);
+        expires = new CachedHttpDate(cacheTimeToLive);
+        if (filterConfig != null && filterConfig.getServletContext() != null) {
+            lastModifiedResolver = lastModifiedResolver.withFirstLocation(
+                new ServletContextResource(filterConfig.getServletContext(), "/"));
+        }
     }
 
     /** {@inheritDoc} */
@@ -66,14 +112,202 @@ public class CachingHttpHeadersFilter implements Filter {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
         throws IOException, ServletException {
 
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
 
-        httpResponse.setHeader("Cache-Control", "max-age=" + cacheTimeToLive + ", public");
+        httpResponse.setHeader("Cache-Control", cacheControl);
         httpResponse.setHeader("Pragma", "cache");
 
         // Setting Expires header, for proxy caching
-        httpResponse.setDateHeader("Expires", cacheTimeToLive + System.currentTimeMillis());
+        httpResponse.setHeader("Expires", expires.get());
+
+        if (!"GET".equals(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = httpRequest.getRequestURI();
+        String ifNoneMatch = httpRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && eTagCache.contains(path)) {
+            long lastModified = lastModifiedResolver.getLastModified(path.substring(httpRequest.getContextPath()
+                .length()));
+            ResourceETagCache.Entry entry = eTagCache.get(path, lastModified);
+            if (entry != null && ResourceETagCache.matches(ifNoneMatch, entry.getETag())) {
+                httpResponse.setHeader(HttpHeaders.ETAG, entry.getETag());
+                httpResponse.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+                if (entry.getVary() != null) {
+                    httpResponse.setHeader(HttpHeaders.VARY, entry.getVary());
+                }
+                httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        ETagResponseWrapper responseWrapper = new ETagResponseWrapper(httpResponse, path, ifNoneMatch);
+        chain.doFilter(request, responseWrapper);
+        responseWrapper.complete();
+    }
+
+    private static long parseDate(String value) {
+        if (value == null) {
+            return -1;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LAST_MODIFIED, value);
+        try {
+            return headers.getLastModified();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static String getCacheControl(long cacheTimeToLive) {
+        return "max-age=" + cacheTimeToLive + ", public";
+    }
+
+    /**
+     * Response adding the cached ETag of the resource, or hashing the content when it is unknown.
+     */
+    private class ETagResponseWrapper extends HttpServletResponseWrapper {
+
+        private final String path;
+
+        private final String ifNoneMatch;
+
+        private boolean started;
+
+        private boolean notModified;
+
+        private boolean writerUsed;
+
+        private long lastModified = -1;
+
+        private MessageDigest digest;
+
+        private ServletOutputStream outputStream;
+
+        ETagResponseWrapper(HttpServletResponse response, String path, String ifNoneMatch) {
+            super(response);
+            this.path = path;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null && !started && containsHeader(HttpHeaders.ETAG)) {
+                // The content has its own ETag: the stream of the container is kept, for zero-copy transfers
+                started = true;
+            }
+            if (started && digest == null && !notModified) {
+                return super.getOutputStream();
+            }
+            if (outputStream == null) {
+                outputStream = new HashingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writerUsed = true;
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            start();
+            super.flushBuffer();
+        }
+
+        /**
+         * Called before the response is committed, when the status and headers are known.
+         */
+        private void start() {
+            if (started) {
+                return;
+            }
+            started = true;
+            if (writerUsed || getStatus() != SC_OK || containsHeader(HttpHeaders.ETAG)) {
+                return;
+            }
+            lastModified = parseDate(getHeader(HttpHeaders.LAST_MODIFIED));
+            if (lastModified < 0) {
+                return;
+            }
+            ResourceETagCache.Entry entry = eTagCache.get(path, lastModified);
+            if (entry == null) {
+                digest = ResourceETagCache.newDigest();
+                return;
+            }
+            setHeader(HttpHeaders.ETAG, entry.getETag());
+            if (ResourceETagCache.matches(ifNoneMatch, entry.getETag())) {
+                notModified = true;
+                setStatus(SC_NOT_MODIFIED);
+            }
+        }
+
+        private boolean update(byte[] bytes, int offset, int length) {
+            start();
+            if (digest != null) {
+                digest.update(bytes, offset, length);
+            }
+            // The content of a 304 response is discarded
+            return !notModified;
+        }
+
+        private void complete() {
+            if (digest != null && !writerUsed && getStatus() == SC_OK) {
+                String vary = getHeaders(HttpHeaders.VARY).isEmpty() ? null :
+                    String.join(", ", getHeaders(HttpHeaders.VARY));
+                eTagCache.put(path, lastModified, vary, ResourceETagCache.toETag(digest.digest()));
+            }
+        }
+
+        private class HashingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            HashingOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                start();
+                if (digest != null) {
+                    digest.update((byte) b);
+                }
+                if (!notModified) {
+                    delegate.write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (update(b, off, len)) {
+                    delegate.write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                start();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                start();
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
 
-        chain.doFilter(request, response);
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
     }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.filter;
+
+import io.github.jhipster.web.util.PrecompressedResourceResolver;
+import io.github.jhipster.web.util.PrecompressedResourceResolver.Variant;
+import io.github.jhipster.web.util.ResourceETagCache;
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Companion of {@link CachingHttpHeadersFilter} serving the {@code .br} and {@code .gz} variants of static resources,
+ * compressed at build time, to the clients accepting them.
+ * <p>
+ * It should be mapped to the same paths and placed after {@link CachingHttpHeadersFilter}, which adds the cache
+ * headers. Resources with variants get a {@code Vary: Accept-Encoding} header, and variants are answered directly,
+ * with an ETag of their own, so the rest of the chain is only invoked for uncompressed resources. On Undertow, file
+ * variants are sent with {@link java.nio.channels.FileChannel} transfers, without copying them through the heap.
+ */
+public class PrecompressedResourceFilter implements Filter {
+
+    private static final boolean UNDERTOW_PRESENT = ClassUtils.isPresent(
+        "io.undertow.servlet.spec.ServletOutputStreamImpl", PrecompressedResourceFilter.class.getClassLoader());
+
+    private final PrecompressedResourceResolver resolver;
+
+    private ServletContext servletContext;
+
+    /**
+     * <p>Constructor for PrecompressedResourceFilter.</p>
+     *
+     * @param locations the locations of the static resources, such as {@code classpath:/static/}.
+     */
+    public PrecompressedResourceFilter(Resource... locations) {
+        this(new PrecompressedResourceResolver(locations));
+    }
+
+    /**
+     * <p>Constructor for PrecompressedResourceFilter.</p>
+     *
+     * @param resolver a {@link io.github.jhipster.web.util.PrecompressedResourceResolver} object.
+     */
+    public PrecompressedResourceFilter(PrecompressedResourceResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        servletContext = filterConfig == null ? null : filterConfig.getServletContext();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void destroy() {
+        // Nothing to destroy
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        boolean head = "HEAD".equals(httpRequest.getMethod());
+        if (!head && !"GET".equals(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+        List<Variant> variants = resolver.getVariants(path);
+        if (variants.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        httpResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Variant variant = PrecompressedResourceResolver.getVariant(variants,
+            httpRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (variant == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        httpResponse.setHeader(HttpHeaders.ETAG, variant.getETag());
+        if (variant.getLastModified() > 0) {
+            httpResponse.setDateHeader(HttpHeaders.LAST_MODIFIED, variant.getLastModified());
+        }
+        if (ResourceETagCache.matches(httpRequest.getHeader(HttpHeaders.IF_NONE_MATCH), variant.getETag())) {
+            httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        httpResponse.setHeader(HttpHeaders.CONTENT_ENCODING, variant.getEncoding());
+        httpResponse.setContentType(getContentType(path));
+        httpResponse.setContentLengthLong(variant.getContentLength());
+        if (!head) {
+            write(variant.getResource(), httpResponse);
+        }
+    }
+
+    private String getContentType(String path) {
+        String contentType = servletContext == null ? null : servletContext.getMimeType(path);
+        return contentType != null ? contentType :
+            MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    private static void write(Resource resource, HttpServletResponse response) throws IOException {
+        ServletOutputStream outputStream = response.getOutputStream();
+        if (UNDERTOW_PRESENT && resource.isFile() &&
+            UndertowTransfer.transferFrom(resource.getFile(), outputStream)) {
+            return;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            StreamUtils.copy(inputStream, outputStream);
+        }
+    }
+
+    // Separate class so that Undertow classes are only loaded when Undertow is present
+    private static final class UndertowTransfer {
+
+        private static boolean transferFrom(File file, ServletOutputStream outputStream) throws IOException {
+            if (!(outputStream instanceof ServletOutputStreamImpl)) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ((ServletOutputStreamImpl) outputStream).transferFrom(channel);
+            }
+            return true;
+        }
+    }
+}
@@ -19,20 +19,62 @@
 
 package io.github.jhipster.web.filter.reactive;
 
+import io.github.jhipster.web.util.CachedHttpDate;
+import io.github.jhipster.web.util.ResourceETagCache;
+import io.github.jhipster.web.util.ResourceLastModifiedResolver;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.List;
 
 /**
  * This filter is used in production, to put HTTP cache headers with a long expiration time.
+ * <p>
+ * The path matcher and header values are computed once, except the {@code Expires} date which is formatted at most
+ * once per second.
+ * <p>
+ * The content of successful {@code GET} responses is hashed while it is written, to add a strong {@code ETag} to the
+ * following responses with the same {@code Last-Modified} time. Files transferred with zero-copy are hashed once the
+ * transfer is complete. When the {@code If-None-Match} header of a request matches that ETag, and the last
+ * modification time of the static resource, looked up on the bounded elastic scheduler, has not changed, the request
+ * is answered with {@code 304 Not Modified} without invoking the rest of the chain. Otherwise the response is turned
+ * into a {@code 304 Not Modified} once the rest of the chain has set its headers, and its content is discarded.
+ * Responses without {@code Last-Modified} get no ETag.
  */
 public class CachingHttpHeadersFilter implements WebFilter {
 
-    private final long cacheTimeToLive;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ServerWebExchangeMatcher matcher =
+        ServerWebExchangeMatchers.pathMatchers("/i18n/**", "/content/**", "/app/**");
+
+    private final String cacheControl;
+
+    private final CachedHttpDate expires;
+
+    private final ResourceETagCache eTagCache = new ResourceETagCache(ResourceETagCache.DEFAULT_MAX_ENTRIES);
+
+    private final ResourceLastModifiedResolver lastModifiedResolver;
 
     /**
      * <p>Constructor for CachingHttpHeadersFilter.</p>
@@ -40,23 +82,172 @@ public class CachingHttpHeadersFilter implements WebFilter {
      * @param cacheTimeToLive a {@link java.lang.Long} object.
      */
     public CachingHttpHeadersFilter(Long cacheTimeToLive) {
-        this.cacheTimeToLive = cacheTimeToLive;
+        this(cacheTimeToLive, ResourceLastModifiedResolver.ofDefaultLocations());
+    }
+
+    /**
+     * <p>Constructor for CachingHttpHeadersFilter.</p>
+     *
+     * @param cacheTimeToLive a {@link java.lang.Long} object.
+     * @param lastModifiedResolver the resolver of the last modification time of the static resources.
+     */
+    public CachingHttpHeadersFilter(Long cacheTimeToLive, ResourceLastModifiedResolver lastModifiedResolver) {
+        this.cacheControl = "max-age=" + cacheTimeToLive + ", public";
+        this.expires = new CachedHttpDate(cacheTimeToLive);
+        this.lastModifiedResolver = lastModifiedResolver;
     }
 
     /** {@inheritDoc} */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        return ServerWebExchangeMatchers.pathMatchers("/i18n/**", "/content/**", "/app/**")
-            .matches(exchange)
-            .filter(ServerWebExchangeMatcher.MatchResult::isMatch)
-            .doOnNext(matchResult -> {
+        return matcher.matches(exchange)
+            .flatMap(matchResult -> {
+                if (!matchResult.isMatch()) {
+                    return chain.filter(exchange);
+                }
                 ServerHttpResponse response = exchange.getResponse();
-                response.getHeaders().setCacheControl("max-age=" + cacheTimeToLive + ", public");
+                response.getHeaders().setCacheControl(cacheControl);
                 response.getHeaders().setPragma("cache");
-                response.getHeaders().setExpires(cacheTimeToLive + System.currentTimeMillis());
+                response.getHeaders().set(HttpHeaders.EXPIRES, expires.get());
+                return filterResource(exchange, chain);
+            });
+    }
 
-            })
-            .then(Mono.defer(() -> chain.filter(exchange)));
+    private Mono<Void> filterResource(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        String path = request.getPath().value();
+        String ifNoneMatch = String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.IF_NONE_MATCH));
+        if (ifNoneMatch.isEmpty() || !eTagCache.contains(path)) {
+            return filterWithETag(exchange, chain, path, ifNoneMatch);
+        }
+        // Reading the resource metadata may block
+        return Mono.fromCallable(() ->
+            lastModifiedResolver.getLastModified(request.getPath().pathWithinApplication().value()))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(lastModified -> {
+                ResourceETagCache.Entry entry = eTagCache.get(path, lastModified);
+                if (entry == null || !ResourceETagCache.matches(ifNoneMatch, entry.getETag())) {
+                    return filterWithETag(exchange, chain, path, ifNoneMatch);
+                }
+                ServerHttpResponse response = exchange.getResponse();
+                response.getHeaders().setETag(entry.getETag());
+                response.getHeaders().setLastModified(lastModified);
+                if (entry.getVary() != null) {
+                    response.getHeaders().set(HttpHeaders.VARY, entry.getVary());
+                }
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.setComplete();
+            });
     }
-}
 
+    private Mono<Void> filterWithETag(ServerWebExchange exchange, WebFilterChain chain, String path,
+                                      String ifNoneMatch) {
+        ETagResponseDecorator response = new ETagResponseDecorator(exchange.getResponse(), path, ifNoneMatch);
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    /**
+     * Response adding the cached ETag of the resource, or hashing the content when it is unknown.
+     * <p>
+     * Zero-copy transfers are passed to the server when it supports them, and the file is hashed afterwards.
+     */
+    private class ETagResponseDecorator extends ServerHttpResponseDecorator implements ZeroCopyHttpOutputMessage {
+
+        private final String path;
+
+        private final String ifNoneMatch;
+
+        ETagResponseDecorator(ServerHttpResponse delegate, String path, String ifNoneMatch) {
+            super(delegate);
+            this.path = path;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isHashable()) {
+                return super.writeWith(body);
+            }
+            long lastModified = getHeaders().getLastModified();
+            ResourceETagCache.Entry entry = eTagCache.get(path, lastModified);
+            if (entry != null) {
+                if (isNotModified(entry.getETag())) {
+                    return Flux.from(body).doOnNext(DataBufferUtils::release).then(setComplete());
+                }
+                return super.writeWith(body);
+            }
+            MessageDigest digest = ResourceETagCache.newDigest();
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> digest.update(buffer.asByteBuffer())))
+                .doOnSuccess(ignored -> eTagCache.put(path, lastModified, getVary(),
+                    ResourceETagCache.toETag(digest.digest())));
+        }
+
+        @Override
+        public Mono<Void> writeWith(Path file, long position, long count) {
+            if (!isHashable()) {
+                return writeFile(file, position, count);
+            }
+            long lastModified = getHeaders().getLastModified();
+            ResourceETagCache.Entry entry = eTagCache.get(path, lastModified);
+            if (entry != null) {
+                return isNotModified(entry.getETag()) ? setComplete() : writeFile(file, position, count);
+            }
+            if (!(getDelegate() instanceof ZeroCopyHttpOutputMessage)) {
+                return writeWith(readFile(file, position, count));
+            }
+            return writeFile(file, position, count)
+                .then(Mono.defer(() -> hashFile(file, position, count, lastModified)));
+        }
+
+        private boolean isHashable() {
+            HttpStatus status = getStatusCode();
+            return (status == null || status == HttpStatus.OK) && getHeaders().getETag() == null &&
+                getHeaders().getLastModified() >= 0;
+        }
+
+        private String getVary() {
+            List<String> vary = getHeaders().getOrEmpty(HttpHeaders.VARY);
+            return vary.isEmpty() ? null : String.join(", ", vary);
+        }
+
+        private boolean isNotModified(String eTag) {
+            getHeaders().setETag(eTag);
+            if (!ResourceETagCache.matches(ifNoneMatch, eTag)) {
+                return false;
+            }
+            setStatusCode(HttpStatus.NOT_MODIFIED);
+            getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return true;
+        }
+
+        private Mono<Void> writeFile(Path file, long position, long count) {
+            if (getDelegate() instanceof ZeroCopyHttpOutputMessage) {
+                return ((ZeroCopyHttpOutputMessage) getDelegate()).writeWith(file, position, count);
+            }
+            return super.writeWith(readFile(file, position, count));
+        }
+
+        private Mono<Void> hashFile(Path file, long position, long count, long lastModified) {
+            MessageDigest digest = ResourceETagCache.newDigest();
+            return readFile(file, position, count)
+                .doOnNext(buffer -> {
+                    digest.update(buffer.asByteBuffer());
+                    DataBufferUtils.release(buffer);
+                })
+                .then(Mono.fromRunnable(() ->
+                    eTagCache.put(path, lastModified, getVary(), ResourceETagCache.toETag(digest.digest()))))
+                // The response is already sent: the ETag is computed again by the next request
+                .onErrorResume(e -> Mono.empty())
+                .then();
+        }
+
+        private Flux<DataBuffer> readFile(Path file, long position, long count) {
+            return DataBufferUtils.takeUntilByteCount(DataBufferUtils.readAsynchronousFileChannel(
+                () -> AsynchronousFileChannel.open(file, StandardOpenOption.READ), position,
+                bufferFactory(), BUFFER_SIZE), count);
+        }
+    }
+}
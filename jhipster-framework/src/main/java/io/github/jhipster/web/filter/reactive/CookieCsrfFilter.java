@@ -8,9 +8,6 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-
-import java.util.Optional;
 
 /**
  * <p>CookieCsrfFilter class.</p>
@@ -25,15 +22,14 @@ public class CookieCsrfFilter implements WebFilter {
         if (exchange.getRequest().getCookies().get(CSRF_COOKIE_NAME) != null) {
             return chain.filter(exchange);
         }
-        return Mono.just(exchange)
-            .publishOn(Schedulers.boundedElastic())
-            .flatMap(it -> it.getAttributeOrDefault(CsrfToken.class.getName(), Mono.<CsrfToken>empty()))
+        // The token is generated on the subscribing thread: creating it is CPU-only and must not leave the event loop
+        return Mono.defer(() -> exchange.getAttributeOrDefault(CsrfToken.class.getName(), Mono.<CsrfToken>empty()))
             .doOnNext(token -> {
                 ResponseCookie cookie = ResponseCookie.from(CSRF_COOKIE_NAME, token.getToken())
                     .maxAge(-1)
                     .httpOnly(false)
                     .path(getRequestContext(exchange.getRequest()))
-                    .secure(Optional.ofNullable(exchange.getRequest().getSslInfo()).isPresent())
+                    .secure(exchange.getRequest().getSslInfo() != null)
                     .build();
                 exchange.getResponse().getCookies().add(CSRF_COOKIE_NAME, cookie);
             })
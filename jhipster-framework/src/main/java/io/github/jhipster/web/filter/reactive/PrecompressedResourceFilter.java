@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.filter.reactive;
+
+import io.github.jhipster.web.util.PrecompressedResourceResolver;
+import io.github.jhipster.web.util.PrecompressedResourceResolver.Variant;
+import io.github.jhipster.web.util.ResourceETagCache;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Companion of {@link CachingHttpHeadersFilter} serving the {@code .br} and {@code .gz} variants of static resources,
+ * compressed at build time, to the clients accepting them.
+ * <p>
+ * It should be placed after {@link CachingHttpHeadersFilter}, which adds the cache headers. Resources with variants
+ * get a {@code Vary: Accept-Encoding} header, and variants are answered directly, with an ETag of their own, so the
+ * rest of the chain is only invoked for uncompressed resources. File variants are sent with
+ * {@link org.springframework.http.ZeroCopyHttpOutputMessage} when the server supports it. Like
+ * {@link CachingHttpHeadersFilter}, it only handles the static resource paths {@code /i18n/**}, {@code /content/**}
+ * and {@code /app/**}, with a path matcher built once. The variants of a path are looked up on the bounded elastic
+ * scheduler the first time it is requested, to keep the event loop free.
+ */
+public class PrecompressedResourceFilter implements WebFilter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ServerWebExchangeMatcher matcher =
+        ServerWebExchangeMatchers.pathMatchers("/i18n/**", "/content/**", "/app/**");
+
+    private final PrecompressedResourceResolver resolver;
+
+    /**
+     * <p>Constructor for PrecompressedResourceFilter.</p>
+     *
+     * @param locations the locations of the static resources, such as {@code classpath:/static/}.
+     */
+    public PrecompressedResourceFilter(Resource... locations) {
+        this(new PrecompressedResourceResolver(locations));
+    }
+
+    /**
+     * <p>Constructor for PrecompressedResourceFilter.</p>
+     *
+     * @param resolver a {@link io.github.jhipster.web.util.PrecompressedResourceResolver} object.
+     */
+    public PrecompressedResourceFilter(PrecompressedResourceResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            return chain.filter(exchange);
+        }
+        return matcher.matches(exchange)
+            .flatMap(matchResult -> matchResult.isMatch() ? filterResource(exchange, chain) : chain.filter(exchange));
+    }
+
+    private Mono<Void> filterResource(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        List<Variant> variants = resolver.getCachedVariants(path);
+        if (variants != null) {
+            return filter(exchange, chain, path, variants);
+        }
+        // The first lookup of a path reads the resource metadata, which may block
+        return Mono.fromCallable(() -> resolver.getVariants(path))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(resolved -> filter(exchange, chain, path, resolved));
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain, String path, List<Variant> variants) {
+        if (variants.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Variant variant = PrecompressedResourceResolver.getVariant(variants,
+            String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING)));
+        if (variant == null) {
+            return chain.filter(exchange);
+        }
+
+        headers.setETag(variant.getETag());
+        if (variant.getLastModified() > 0) {
+            headers.setLastModified(variant.getLastModified());
+        }
+        String ifNoneMatch = String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.IF_NONE_MATCH));
+        if (ResourceETagCache.matches(ifNoneMatch, variant.getETag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        headers.set(HttpHeaders.CONTENT_ENCODING, variant.getEncoding());
+        headers.setContentType(MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM));
+        headers.setContentLength(variant.getContentLength());
+        if (request.getMethod() == HttpMethod.HEAD) {
+            return response.setComplete();
+        }
+        return write(variant, response);
+    }
+
+    private static Mono<Void> write(Variant variant, ServerHttpResponse response) {
+        Resource resource = variant.getResource();
+        if (response instanceof ZeroCopyHttpOutputMessage && resource.isFile()) {
+            try {
+                return ((ZeroCopyHttpOutputMessage) response).writeWith(resource.getFile().toPath(), 0,
+                    variant.getContentLength());
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+        }
+        return response.writeWith(DataBufferUtils.read(resource, response.bufferFactory(), BUFFER_SIZE));
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates the alert headers of an application, as {@link HeaderUtil} does.
+ *
+ * <p>Header names are computed once, and messages are computed once per entity name, so creating the headers of a
+ * REST call only concatenates the parameter and encodes it. Instances are thread-safe and are meant to be shared,
+ * for instance as a Spring bean.</p>
+ */
+public final class AlertHeaders {
+
+    /** Constant <code>DEFAULT_MAX_ENTITIES=256</code> */
+    public static final int DEFAULT_MAX_ENTITIES = 256;
+
+    // Failures are logged as they were by HeaderUtil
+    private static final Logger log = LoggerFactory.getLogger(HeaderUtil.class);
+
+    private final String applicationName;
+
+    private final boolean enableTranslation;
+
+    private final int maxEntities;
+
+    private final String alertHeaderName;
+
+    private final String errorHeaderName;
+
+    private final String paramsHeaderName;
+
+    private final ConcurrentMap<String, EntityMessages> entityMessages = new ConcurrentHashMap<>();
+
+    /**
+     * <p>Constructor for AlertHeaders.</p>
+     *
+     * @param applicationName the application name used in header names and translation keys.
+     * @param enableTranslation true to send translation keys instead of English messages.
+     */
+    public AlertHeaders(String applicationName, boolean enableTranslation) {
+        this(applicationName, enableTranslation, DEFAULT_MAX_ENTITIES);
+    }
+
+    /**
+     * <p>Constructor for AlertHeaders.</p>
+     *
+     * @param applicationName the application name used in header names and translation keys.
+     * @param enableTranslation true to send translation keys instead of English messages.
+     * @param maxEntities the maximum number of entity names whose messages are cached.
+     */
+    public AlertHeaders(String applicationName, boolean enableTranslation, int maxEntities) {
+        this.applicationName = applicationName;
+        this.enableTranslation = enableTranslation;
+        this.maxEntities = maxEntities;
+        this.alertHeaderName = "X-" + applicationName + "-alert";
+        this.errorHeaderName = "X-" + applicationName + "-error";
+        this.paramsHeaderName = "X-" + applicationName + "-params";
+    }
+
+    /**
+     * <p>createAlert.</p>
+     *
+     * @param message a {@link java.lang.String} object.
+     * @param param a {@link java.lang.String} object.
+     * @return a {@link org.springframework.http.HttpHeaders} object.
+     */
+    public HttpHeaders createAlert(String message, String param) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(alertHeaderName, message);
+        headers.add(paramsHeaderName, HeaderUtil.encode(param));
+        return headers;
+    }
+
+    /**
+     * <p>createEntityCreationAlert.</p>
+     *
+     * @param entityName a {@link java.lang.String} object.
+     * @param param a {@link java.lang.String} object.
+     * @return a {@link org.springframework.http.HttpHeaders} object.
+     */
+    public HttpHeaders createEntityCreationAlert(String entityName, String param) {
+        return createAlert(message(messages(entityName).created, param), param);
+    }
+
+    /**
+     * <p>createEntityUpdateAlert.</p>
+     *
+     * @param entityName a {@link java.lang.String} object.
+     * @param param a {@link java.lang.String} object.
+     * @return a {@link org.springframework.http.HttpHeaders} object.
+     */
+    public HttpHeaders createEntityUpdateAlert(String entityName, String param) {
+        return createAlert(message(messages(entityName).updated, param), param);
+    }
+
+    /**
+     * <p>createEntityDeletionAlert.</p>
+     *
+     * @param entityName a {@link java.lang.String} object.
+     * @param param a {@link java.lang.String} object.
+     * @return a {@link org.springframework.http.HttpHeaders} object.
+     */
+    public HttpHeaders createEntityDeletionAlert(String entityName, String param) {
+        return createAlert(message(messages(entityName).deleted, param), param);
+    }
+
+    private String message(String translationKeyOrPrefix, String param) {
+        return enableTranslation ? translationKeyOrPrefix : translationKeyOrPrefix + param;
+    }
+
+    /**
+     * <p>createFailureAlert.</p>
+     *
+     * @param entityName a {@link java.lang.String} object.
+     * @param errorKey a {@link java.lang.String} object.
+     * @param defaultMessage a {@link java.lang.String} object.
+     * @return a {@link org.springframework.http.HttpHeaders} object.
+     */
+    public HttpHeaders createFailureAlert(String entityName, String errorKey, String defaultMessage) {
+        log.error("Entity processing failed, {}", defaultMessage);
+
+        String message = enableTranslation ? "error." + errorKey : defaultMessage;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(errorHeaderName, message);
+        headers.add(paramsHeaderName, entityName);
+        return headers;
+    }
+
+    /**
+     * <p>Getter for the field <code>applicationName</code>.</p>
+     *
+     * @return a {@link java.lang.String} object.
+     */
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    /**
+     * <p>isEnableTranslation.</p>
+     *
+     * @return a boolean.
+     */
+    public boolean isEnableTranslation() {
+        return enableTranslation;
+    }
+
+    private EntityMessages messages(String entityName) {
+        if (entityName == null) {
+            return new EntityMessages(null);
+        }
+        EntityMessages messages = entityMessages.get(entityName);
+        if (messages == null) {
+            messages = new EntityMessages(entityName);
+            // Entity names are constants of the REST resources, the limit only guards against unexpected ones
+            if (entityMessages.size() < maxEntities) {
+                entityMessages.putIfAbsent(entityName, messages);
+            }
+        }
+        return messages;
+    }
+
+    private final class EntityMessages {
+
+        private final String created;
+
+        private final String updated;
+
+        private final String deleted;
+
+        private EntityMessages(String entityName) {
+            if (enableTranslation) {
+                String prefix = applicationName + "." + entityName;
+                created = prefix + ".created";
+                updated = prefix + ".updated";
+                deleted = prefix + ".deleted";
+            } else {
+                created = "A new " + entityName + " is created with identifier ";
+                updated = "A " + entityName + " is updated with identifier ";
+                deleted = "A " + entityName + " is deleted with identifier ";
+            }
+        }
+    }
+}
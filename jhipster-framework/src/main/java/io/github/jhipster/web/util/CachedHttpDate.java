@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * HTTP date header value, such as {@code Expires}, at a fixed offset from the current time.
+ *
+ * <p>HTTP dates have a one second precision, so the formatted value is computed at most once per second and shared
+ * by all the requests of that second.</p>
+ */
+public class CachedHttpDate {
+
+    private static final DateTimeFormatter HTTP_DATE_FORMATTER =
+        DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US).withZone(ZoneId.of("GMT"));
+
+    private final long offsetMillis;
+
+    private final Clock clock;
+
+    private volatile Entry entry = new Entry(Long.MIN_VALUE, null);
+
+    /**
+     * <p>Constructor for CachedHttpDate.</p>
+     *
+     * @param offsetMillis the offset from the current time, in milliseconds.
+     */
+    public CachedHttpDate(long offsetMillis) {
+        this(offsetMillis, Clock.systemUTC());
+    }
+
+    /**
+     * <p>Constructor for CachedHttpDate.</p>
+     *
+     * @param offsetMillis the offset from the current time, in milliseconds.
+     * @param clock the clock giving the current time.
+     */
+    public CachedHttpDate(long offsetMillis, Clock clock) {
+        this.offsetMillis = offsetMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Return the formatted date of the current second plus the offset.
+     *
+     * @return a RFC 7231 date, such as {@code Sun, 06 Nov 1994 08:49:37 GMT}.
+     */
+    public String get() {
+        long epochSecond = Math.floorDiv(clock.millis() + offsetMillis, 1000L);
+        Entry current = entry;
+        if (current.epochSecond != epochSecond) {
+            current = new Entry(epochSecond, HTTP_DATE_FORMATTER.format(Instant.ofEpochSecond(epochSecond)));
+            entry = current;
+        }
+        return current.value;
+    }
+
+    private static final class Entry {
+
+        private final long epochSecond;
+
+        private final String value;
+
+        private Entry(long epochSecond, String value) {
+            this.epochSecond = epochSecond;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utility class for computing the weak ETags of API responses, used by the conditional methods of
+ * {@link io.github.jhipster.web.util.ResponseUtil} and {@link io.github.jhipster.web.util.reactive.ResponseUtil}.
+ *
+ * <p>
+ * An ETag can be derived from the version of an entity, which is the cheapest as nothing needs to be serialized, or
+ * from a hash of its JSON representation.
+ */
+public final class ETagUtil {
+
+    private static final Set<String> VERSION_ANNOTATIONS = new HashSet<>(Arrays.asList(
+        "javax.persistence.Version", "org.springframework.data.annotation.Version"));
+
+    private static final Map<Class<?>, Optional<VersionProperty>> VERSION_PROPERTIES = new ConcurrentHashMap<>();
+
+    private static final boolean HIBERNATE_PRESENT = ClassUtils.isPresent("org.hibernate.Hibernate",
+        ETagUtil.class.getClassLoader());
+
+    private static final OutputStream NULL_OUTPUT_STREAM = new OutputStream() {
+        @Override
+        public void write(int b) {
+            // Only the digest is needed
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // Only the digest is needed
+        }
+    };
+
+    private ETagUtil() {
+    }
+
+    /**
+     * Create a weak ETag from a version.
+     *
+     * @param version the version of the entity, or null.
+     * @return the weak ETag, such as {@code W/"3"}, or null if the version is null.
+     */
+    public static String fromVersion(Object version) {
+        if (version == null) {
+            return null;
+        }
+        return "W/\"" + version.toString().replace("\"", "") + "\"";
+    }
+
+    /**
+     * Create a weak ETag from the field annotated with {@code javax.persistence.Version} or
+     * {@code org.springframework.data.annotation.Version}. Fields are looked up once per class.
+     *
+     * <p>The version is read through the getter of the field when there is one, so that lazy proxies, such as
+     * Hibernate proxies whose own fields are never set, return the version of the entity they load. Without getter,
+     * Hibernate proxies are unwrapped before reading the field.</p>
+     *
+     * @param entity the entity, or null.
+     * @return the weak ETag, or null if the entity has no version.
+     */
+    public static String fromVersionField(Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        Optional<VersionProperty> property =
+            VERSION_PROPERTIES.computeIfAbsent(entity.getClass(), ETagUtil::findVersionProperty);
+        return property.map(versionProperty -> fromVersion(versionProperty.get(entity))).orElse(null);
+    }
+
+    /**
+     * Create a weak ETag from a hash of the JSON representation of a body. The representation is hashed as it is
+     * written, without being buffered.
+     *
+     * @param body the response body, or null.
+     * @param objectMapper the mapper used to write the response.
+     * @return the weak ETag, or null if the body is null.
+     * @throws org.springframework.http.converter.HttpMessageNotWritableException if the body cannot be serialized.
+     */
+    public static String fromContent(Object body, ObjectMapper objectMapper) {
+        if (body == null) {
+            return null;
+        }
+        MessageDigest digest = ResourceETagCache.newDigest();
+        try {
+            objectMapper.writeValue(new DigestOutputStream(NULL_OUTPUT_STREAM, digest), body);
+        } catch (IOException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getMessage(), e);
+        }
+        return "W/" + ResourceETagCache.toETag(digest.digest());
+    }
+
+    /**
+     * Check an {@code If-None-Match} header with the weak comparison required by RFC 7232.
+     *
+     * @param ifNoneMatch the {@code If-None-Match} header, or null.
+     * @param eTag the current ETag, weak or strong, or null.
+     * @return true if the header matches the ETag, so the response is {@code 304 Not Modified}.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (eTag == null) {
+            return false;
+        }
+        return ResourceETagCache.matches(ifNoneMatch, eTag.startsWith("W/") ? eTag.substring(2) : eTag);
+    }
+
+    private static Optional<VersionProperty> findVersionProperty(Class<?> type) {
+        Field[] versionField = new Field[1];
+        ReflectionUtils.doWithFields(type, field -> {
+            if (versionField[0] == null) {
+                ReflectionUtils.makeAccessible(field);
+                versionField[0] = field;
+            }
+        }, ETagUtil::isVersionField);
+        if (versionField[0] == null) {
+            return Optional.empty();
+        }
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, versionField[0].getName());
+        Method getter = descriptor == null ? null : descriptor.getReadMethod();
+        if (getter != null) {
+            ReflectionUtils.makeAccessible(getter);
+        }
+        return Optional.of(new VersionProperty(versionField[0], getter));
+    }
+
+    private static boolean isVersionField(Field field) {
+        for (Annotation annotation : field.getAnnotations()) {
+            if (VERSION_ANNOTATIONS.contains(annotation.annotationType().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version field of an entity class, and its getter if it has one.
+     */
+    private static final class VersionProperty {
+
+        private final Field field;
+
+        private final Method getter;
+
+        private VersionProperty(Field field, Method getter) {
+            this.field = field;
+            this.getter = getter;
+        }
+
+        private Object get(Object entity) {
+            if (getter != null) {
+                return ReflectionUtils.invokeMethod(getter, entity);
+            }
+            return ReflectionUtils.getField(field, HIBERNATE_PRESENT ? HibernateProxies.unproxy(entity) : entity);
+        }
+    }
+
+    /**
+     * Kept apart so that Hibernate classes are only loaded when Hibernate is available.
+     */
+    private static final class HibernateProxies {
+
+        private static Object unproxy(Object entity) {
+            return Hibernate.unproxy(entity);
+        }
+    }
+}
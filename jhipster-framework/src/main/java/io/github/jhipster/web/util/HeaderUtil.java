@@ -1,23 +1,57 @@
 package io.github.jhipster.web.util;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility class for HTTP headers creation.
+ *
+ * <p>Applications creating many alerts can use {@link #forApplication(String, boolean)} to get an
+ * {@link AlertHeaders} bound to their name instead of passing it on every call.</p>
  */
 public final class HeaderUtil {
 
-    private static final Logger log = LoggerFactory.getLogger(HeaderUtil.class);
+    private static final int MAX_CACHED_APPLICATIONS = 16;
+
+    private static final ConcurrentMap<String, AlertHeaders> translatedAlertHeaders = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, AlertHeaders> untranslatedAlertHeaders = new ConcurrentHashMap<>();
 
     private HeaderUtil() {
     }
 
+    /**
+     * Return the alert headers of an application.
+     *
+     * @param applicationName a {@link java.lang.String} object.
+     * @param enableTranslation a boolean.
+     * @return a shared {@link io.github.jhipster.web.util.AlertHeaders} object.
+     */
+    public static AlertHeaders forApplication(String applicationName, boolean enableTranslation) {
+        if (applicationName == null) {
+            // Not cached, concurrent maps do not accept null keys
+            return new AlertHeaders(null, enableTranslation);
+        }
+        ConcurrentMap<String, AlertHeaders> cache = enableTranslation ? translatedAlertHeaders
+            : untranslatedAlertHeaders;
+        AlertHeaders alertHeaders = cache.get(applicationName);
+        if (alertHeaders == null) {
+            alertHeaders = new AlertHeaders(applicationName, enableTranslation);
+            if (cache.size() < MAX_CACHED_APPLICATIONS) {
+                AlertHeaders cached = cache.putIfAbsent(applicationName, alertHeaders);
+                if (cached != null) {
+                    alertHeaders = cached;
+                }
+            }
+        }
+        return alertHeaders;
+    }
+
     /**
      * <p>createAlert.</p>
      *
@@ -27,14 +61,7 @@ public final class HeaderUtil {
      * @return a {@link org.springframework.http.HttpHeaders} object.
      */
     public static HttpHeaders createAlert(String applicationName, String message, String param) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("X-" + applicationName + "-alert", message);
-        try {
-            headers.add("X-" + applicationName + "-params", URLEncoder.encode(param, StandardCharsets.UTF_8.toString()));
-        } catch (UnsupportedEncodingException e) {
-            // StandardCharsets are supported by every Java implementation so this exception will never happen
-        }
-        return headers;
+        return forApplication(applicationName, false).createAlert(message, param);
     }
 
     /**
@@ -47,9 +74,7 @@ public final class HeaderUtil {
      * @return a {@link org.springframework.http.HttpHeaders} object.
      */
     public static HttpHeaders createEntityCreationAlert(String applicationName, boolean enableTranslation, String entityName, String param) {
-        String message = enableTranslation ? applicationName + "." + entityName + ".created"
-            : "A new " + entityName + " is created with identifier " + param;
-        return createAlert(applicationName, message, param);
+        return forApplication(applicationName, enableTranslation).createEntityCreationAlert(entityName, param);
     }
 
     /**
@@ -62,9 +87,7 @@ public final class HeaderUtil {
      * @return a {@link org.springframework.http.HttpHeaders} object.
      */
     public static HttpHeaders createEntityUpdateAlert(String applicationName, boolean enableTranslation, String entityName, String param) {
-        String message = enableTranslation ? applicationName + "." + entityName + ".updated"
-            : "A " + entityName + " is updated with identifier " + param;
-        return createAlert(applicationName, message, param);
+        return forApplication(applicationName, enableTranslation).createEntityUpdateAlert(entityName, param);
     }
 
     /**
@@ -77,9 +100,7 @@ public final class HeaderUtil {
      * @return a {@link org.springframework.http.HttpHeaders} object.
      */
     public static HttpHeaders createEntityDeletionAlert(String applicationName, boolean enableTranslation, String entityName, String param) {
-        String message = enableTranslation ? applicationName + "." + entityName + ".deleted"
-            : "A " + entityName + " is deleted with identifier " + param;
-        return createAlert(applicationName, message, param);
+        return forApplication(applicationName, enableTranslation).createEntityDeletionAlert(entityName, param);
     }
 
     /**
@@ -93,13 +114,32 @@ public final class HeaderUtil {
      * @return a {@link org.springframework.http.HttpHeaders} object.
      */
     public static HttpHeaders createFailureAlert(String applicationName, boolean enableTranslation, String entityName, String errorKey, String defaultMessage) {
-        log.error("Entity processing failed, {}", defaultMessage);
+        return forApplication(applicationName, enableTranslation)
+            .createFailureAlert(entityName, errorKey, defaultMessage);
+    }
 
-        String message = enableTranslation ? "error." + errorKey : defaultMessage;
+    /**
+     * URL-encode a header parameter, as {@link URLEncoder} does with UTF-8.
+     *
+     * @param param the parameter to encode.
+     * @return the encoded parameter, the parameter itself if no character needs to be encoded.
+     */
+    static String encode(String param) {
+        for (int i = 0; i < param.length(); i++) {
+            if (!isUnreserved(param.charAt(i))) {
+                try {
+                    return URLEncoder.encode(param, StandardCharsets.UTF_8.name());
+                } catch (UnsupportedEncodingException e) {
+                    // StandardCharsets are supported by every Java implementation so this exception will never happen
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return param;
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("X-" + applicationName + "-error", message);
-        headers.add("X-" + applicationName + "-params", entityName);
-        return headers;
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+            || c == '.' || c == '-' || c == '_' || c == '*';
     }
 }
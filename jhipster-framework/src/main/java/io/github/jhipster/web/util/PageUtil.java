@@ -24,10 +24,20 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
 
 /**
  * Utility class for creating a Page object.
+ *
+ * <p>
+ * Besides lists, pages can be created from a {@link java.util.stream.Stream}, an {@link java.util.Iterator} or a
+ * {@link java.util.Spliterator}: elements before the page are skipped and elements after it are only counted, so
+ * only the page is kept in memory.
  */
 public interface PageUtil {
 
@@ -53,4 +63,111 @@ public interface PageUtil {
         int endOfPage = Math.min(startOfPage + pageable.getPageSize(), list.size());
         return new PageImpl<>(list.subList(startOfPage, endOfPage), pageable, list.size());
     }
+
+    /**
+     * Create a {@link org.springframework.data.domain.Page} from a {@link java.util.stream.Stream} of objects, keeping
+     * only the elements of the page in memory.
+     *
+     * @param stream stream of objects, which is consumed but not closed
+     * @param pageable pagination information.
+     * @param <T> type of object
+     * @return page containing objects, and attributes set according to pageable
+     * @throws java.lang.IllegalArgumentException - if stream is null
+     */
+    static <T> Page<T> createPageFromStream(Stream<T> stream, Pageable pageable) {
+        if (stream == null) {
+            throw new IllegalArgumentException("To create a Page, the stream mustn't be null!");
+        }
+        return createPageFromSpliterator(stream.spliterator(), pageable);
+    }
+
+    /**
+     * Create a {@link org.springframework.data.domain.Page} from an {@link java.util.Iterator} of objects, keeping only
+     * the elements of the page in memory.
+     *
+     * @param iterator iterator of objects, which is consumed
+     * @param pageable pagination information.
+     * @param <T> type of object
+     * @return page containing objects, and attributes set according to pageable
+     * @throws java.lang.IllegalArgumentException - if iterator is null
+     */
+    static <T> Page<T> createPageFromIterator(Iterator<T> iterator, Pageable pageable) {
+        if (iterator == null) {
+            throw new IllegalArgumentException("To create a Page, the iterator mustn't be null!");
+        }
+        return createPageFromSpliterator(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), pageable);
+    }
+
+    /**
+     * Create a {@link org.springframework.data.domain.Page} from a {@link java.util.Spliterator} of objects, keeping
+     * only the elements of the page in memory.
+     *
+     * @param spliterator spliterator of objects, which is consumed
+     * @param pageable pagination information.
+     * @param <T> type of object
+     * @return page containing objects, and attributes set according to pageable
+     * @throws java.lang.IllegalArgumentException - if spliterator is null
+     */
+    static <T> Page<T> createPageFromSpliterator(Spliterator<T> spliterator, Pageable pageable) {
+        if (spliterator == null) {
+            throw new IllegalArgumentException("To create a Page, the spliterator mustn't be null!");
+        }
+        if (pageable.isUnpaged()) {
+            List<T> content = new ArrayList<>();
+            spliterator.forEachRemaining(content::add);
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        long startOfPage = pageable.getOffset();
+        long[] count = {0};
+        while (count[0] < startOfPage && spliterator.tryAdvance(element -> count[0]++)) {
+            // Skip the elements before the page
+        }
+        // Large page sizes are often used to fetch everything, the list grows with the actual content
+        List<T> content = new ArrayList<>(Math.min(pageable.getPageSize(), 1024));
+        while (content.size() < pageable.getPageSize() && spliterator.tryAdvance(content::add)) {
+            count[0]++;
+        }
+        // Only count the elements after the page
+        spliterator.forEachRemaining(element -> count[0]++);
+        return new PageImpl<>(content, pageable, count[0]);
+    }
+
+    /**
+     * Create a sorted {@link org.springframework.data.domain.Page} from a {@link java.util.stream.Stream} of objects.
+     *
+     * <p>
+     * The smallest elements are selected with a heap bounded to the offset of the end of the page, so the stream is not
+     * sorted as a whole, and only the elements of the current and previous pages are kept in memory. Elements which
+     * compare equal keep their encounter order.
+     *
+     * @param stream stream of objects, which is consumed but not closed
+     * @param pageable pagination information.
+     * @param comparator the order of the objects.
+     * @param <T> type of object
+     * @return page containing objects, and attributes set according to pageable
+     * @throws java.lang.IllegalArgumentException - if stream or comparator is null
+     */
+    static <T> Page<T> createSortedPageFromStream(Stream<T> stream, Pageable pageable,
+        Comparator<? super T> comparator) {
+        if (stream == null || comparator == null) {
+            throw new IllegalArgumentException("To create a sorted Page, the stream and comparator mustn't be null!");
+        }
+        if (pageable.isUnpaged()) {
+            List<T> content = new ArrayList<>();
+            stream.sequential().forEachOrdered(content::add);
+            content.sort(comparator);
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        long endOfPage = pageable.getOffset() + pageable.getPageSize();
+        SmallestElements<T> smallest = new SmallestElements<>((int) Math.min(endOfPage, Integer.MAX_VALUE),
+            comparator);
+        stream.sequential().forEachOrdered(smallest::add);
+
+        List<T> sorted = smallest.toSortedList();
+        int startOfPage = (int) Math.min(pageable.getOffset(), sorted.size());
+        return new PageImpl<>(new ArrayList<>(sorted.subList(startOfPage, sorted.size())), pageable,
+            smallest.getCount());
+    }
 }
@@ -20,10 +20,9 @@ package io.github.jhipster.web.util;
 
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.text.MessageFormat;
-
 /**
  * Utility class for handling pagination.
  *
@@ -34,7 +33,6 @@ import java.text.MessageFormat;
 public final class PaginationUtil {
 
     private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
-    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
 
     private PaginationUtil() {
     }
@@ -48,35 +46,66 @@ public final class PaginationUtil {
      * @return http header.
      */
     public static <T> HttpHeaders generatePaginationHttpHeaders(UriComponentsBuilder uriBuilder, Page<T> page) {
+        return generatePaginationHttpHeaders(uriBuilder.build().encode(), page);
+    }
+
+    /**
+     * Generate pagination headers for a Spring Data {@link org.springframework.data.domain.Page} object.
+     *
+     * @param uriComponents The encoded URI components, such as the ones of the request URI.
+     * @param page The page.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(UriComponents uriComponents, Page<T> page) {
         HttpHeaders headers = new HttpHeaders();
         headers.add(HEADER_X_TOTAL_COUNT, Long.toString(page.getTotalElements()));
-        int pageNumber = page.getNumber();
-        int pageSize = page.getSize();
-        StringBuilder link = new StringBuilder();
-        if (pageNumber < page.getTotalPages() - 1) {
-            link.append(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next"))
-                .append(",");
-        }
-        if (pageNumber > 0) {
-            link.append(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev"))
-                .append(",");
-        }
-        link.append(prepareLink(uriBuilder, page.getTotalPages() - 1, pageSize, "last"))
-            .append(",")
-            .append(prepareLink(uriBuilder, 0, pageSize, "first"));
-        headers.add(HttpHeaders.LINK, link.toString());
+        headers.add(HttpHeaders.LINK, new LinkTemplate(uriComponents, page.getSize()).format(page));
         return headers;
     }
 
-    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
-        return MessageFormat.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, pageNumber, pageSize), relType);
-    }
+    /**
+     * Link header template, made of the request URI encoded once, in which page numbers are spliced.
+     */
+    private static final class LinkTemplate {
+
+        private final String prefix;
+
+        private final String suffix;
 
-    private static String preparePageUri(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize) {
-        return uriBuilder.replaceQueryParam("page", Integer.toString(pageNumber))
-            .replaceQueryParam("size", Integer.toString(pageSize))
-            .toUriString()
-            .replace(",", "%2C")
-            .replace(";", "%3B");
+        LinkTemplate(UriComponents uriComponents, int pageSize) {
+            // The page and size parameters are added last, the fragment, if any, comes after them
+            String uri = UriComponentsBuilder.newInstance()
+                .uriComponents(uriComponents)
+                .replaceQueryParam("page")
+                .replaceQueryParam("size")
+                .build(true)
+                .toUriString()
+                .replace(",", "%2C")
+                .replace(";", "%3B");
+            int fragmentIndex = uri.indexOf('#');
+            String base = fragmentIndex == -1 ? uri : uri.substring(0, fragmentIndex);
+            String fragment = fragmentIndex == -1 ? "" : uri.substring(fragmentIndex);
+            prefix = "<" + base + (base.indexOf('?') == -1 ? "?" : "&") + "page=";
+            suffix = "&size=" + pageSize + fragment + ">; rel=\"";
+        }
+
+        String format(Page<?> page) {
+            int pageNumber = page.getNumber();
+            int lastPage = page.getTotalPages() - 1;
+            StringBuilder link = new StringBuilder(4 * (prefix.length() + suffix.length() + 20));
+            if (pageNumber < lastPage) {
+                append(link, pageNumber + 1, "next").append(',');
+            }
+            if (pageNumber > 0) {
+                append(link, pageNumber - 1, "prev").append(',');
+            }
+            append(link, lastPage, "last").append(',');
+            return append(link, 0, "first").toString();
+        }
+
+        private StringBuilder append(StringBuilder link, int pageNumber, String relType) {
+            return link.append(prefix).append(pageNumber).append(suffix).append(relType).append('"');
+        }
     }
 }
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolver of the variants of static resources compressed at build time, such as {@code app/main.js.br} and
+ * {@code app/main.js.gz} for {@code app/main.js}.
+ *
+ * <p>Variants are looked up once per path in the given locations, which must end with {@code /}, so resources are
+ * expected not to change while the application runs. The result is only kept for the paths of existing resources,
+ * so requests for arbitrary paths cannot fill the cache. The lookup is blocking: reactive callers should check
+ * {@link #getCachedVariants(String)} first and look the variants up on a blocking-capable scheduler.</p>
+ */
+public class PrecompressedResourceResolver {
+
+    private static final String[][] ENCODINGS = {{"br", ".br"}, {"gzip", ".gz"}};
+
+    private final List<Resource> locations;
+
+    private final Map<String, List<Variant>> variants = new ConcurrentHashMap<>();
+
+    /**
+     * <p>Constructor for PrecompressedResourceResolver.</p>
+     *
+     * @param locations the locations of the static resources, such as {@code classpath:/static/}.
+     */
+    public PrecompressedResourceResolver(Resource... locations) {
+        this.locations = Arrays.asList(locations);
+    }
+
+    /**
+     * Return the precompressed variants of a resource, in order of preference.
+     *
+     * @param path the path of the resource, relative to the locations, such as {@code /app/main.js}.
+     * @return the variants of the resource, empty if it has none or if the path is not a safe resource path.
+     */
+    public List<Variant> getVariants(String path) {
+        List<Variant> cached = getCachedVariants(path);
+        if (cached != null) {
+            return cached;
+        }
+        String relativePath = path.substring(1);
+        List<Variant> resolved = resolve(relativePath);
+        if (!resolved.isEmpty() || exists(relativePath)) {
+            variants.put(path, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Return the precompressed variants of a resource if they are known, without blocking.
+     *
+     * @param path the path of the resource, relative to the locations, such as {@code /app/main.js}.
+     * @return the variants of the resource, empty if the path is not a safe resource path, or null if the variants
+     * must be looked up with {@link #getVariants(String)}.
+     */
+    public List<Variant> getCachedVariants(String path) {
+        if (!isSafePath(path)) {
+            return Collections.emptyList();
+        }
+        return variants.get(path);
+    }
+
+    /**
+     * Return the preferred variant of a resource accepted by the client.
+     *
+     * @param path the path of the resource, relative to the locations, such as {@code /app/main.js}.
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request, or null.
+     * @return the variant to serve, or null if the resource must be served uncompressed.
+     */
+    public Variant getVariant(String path, String acceptEncoding) {
+        return getVariant(getVariants(path), acceptEncoding);
+    }
+
+    /**
+     * Return the preferred variant accepted by the client.
+     *
+     * @param variants the variants of the resource, in order of preference.
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request, or null.
+     * @return the variant to serve, or null if the resource must be served uncompressed.
+     */
+    public static Variant getVariant(List<Variant> variants, String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        for (Variant variant : variants) {
+            if (isAccepted(acceptEncoding, variant.getEncoding())) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    private List<Variant> resolve(String relativePath) {
+        List<Variant> resolved = new ArrayList<>(ENCODINGS.length);
+        for (String[] encoding : ENCODINGS) {
+            for (Resource location : locations) {
+                try {
+                    Resource resource = location.createRelative(relativePath + encoding[1]);
+                    if (resource.isReadable()) {
+                        resolved.add(new Variant(encoding[0], resource, resource.contentLength(),
+                            resource.lastModified()));
+                        break;
+                    }
+                } catch (IOException e) {
+                    // Not readable in this location
+                }
+            }
+        }
+        return resolved.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(resolved);
+    }
+
+    private boolean exists(String relativePath) {
+        for (Resource location : locations) {
+            try {
+                if (location.createRelative(relativePath).isReadable()) {
+                    return true;
+                }
+            } catch (IOException e) {
+                // Not readable in this location
+            }
+        }
+        return false;
+    }
+
+    static boolean isSafePath(String path) {
+        return path != null && path.startsWith("/") && !path.endsWith("/") && !path.contains("..") &&
+            !path.contains("%") && !path.contains("\\") && !path.contains("//");
+    }
+
+    /**
+     * Check whether a content coding is accepted, following the rules of RFC 7231.
+     *
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request.
+     * @param encoding the content coding, such as {@code gzip}.
+     * @return true if the coding is listed, or matched by {@code *}, with a non-zero weight.
+     */
+    static boolean isAccepted(String acceptEncoding, String encoding) {
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = parts.length < 2 || !isZeroWeight(parts[1].trim());
+            if (name.equals(encoding)) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static boolean isZeroWeight(String parameter) {
+        if (!parameter.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(parameter.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Precompressed variant of a resource.
+     */
+    public static final class Variant {
+
+        private final String encoding;
+
+        private final Resource resource;
+
+        private final long contentLength;
+
+        private final long lastModified;
+
+        private final String eTag;
+
+        Variant(String encoding, Resource resource, long contentLength, long lastModified) {
+            this.encoding = encoding;
+            this.resource = resource;
+            this.contentLength = contentLength;
+            this.lastModified = lastModified;
+            this.eTag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(contentLength) + "-" +
+                encoding + "\"";
+        }
+
+        /**
+         * <p>Getter for the field <code>encoding</code>.</p>
+         *
+         * @return the {@code Content-Encoding} of the variant.
+         */
+        public String getEncoding() {
+            return encoding;
+        }
+
+        /**
+         * <p>Getter for the field <code>resource</code>.</p>
+         *
+         * @return the compressed resource.
+         */
+        public Resource getResource() {
+            return resource;
+        }
+
+        /**
+         * <p>Getter for the field <code>contentLength</code>.</p>
+         *
+         * @return the length of the compressed resource.
+         */
+        public long getContentLength() {
+            return contentLength;
+        }
+
+        /**
+         * <p>Getter for the field <code>lastModified</code>.</p>
+         *
+         * @return the last modification time of the compressed resource, in milliseconds.
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Return a strong ETag made of the modification time, length and encoding of the variant.
+         *
+         * @return the quoted ETag.
+         */
+        public String getETag() {
+            return eTag;
+        }
+    }
+}
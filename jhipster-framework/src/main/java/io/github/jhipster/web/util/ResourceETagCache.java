@@ -0,0 +1,204 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded cache of strong ETags computed from the content of static resources.
+ *
+ * <p>Entries are keyed by path and remember the {@code Last-Modified} time of the response they were computed from,
+ * at the one second precision of HTTP dates: an ETag is only reused for a resource with the same last modification
+ * time, so responses without {@code Last-Modified} are not cached. Entries also remember the {@code Vary} header of
+ * the response, to answer {@code 304 Not Modified} without serving the resource. Lookups do not lock: when the cache
+ * is full, arbitrary entries are evicted, which is enough for the bounded set of static resources of an
+ * application.</p>
+ */
+public class ResourceETagCache {
+
+    /** Constant <code>DEFAULT_MAX_ENTRIES=1024</code> */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private static final String DIGEST_ALGORITHM = "MD5";
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+
+    /**
+     * <p>Constructor for ResourceETagCache.</p>
+     *
+     * @param maxEntries the maximum number of cached ETags.
+     */
+    public ResourceETagCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Return whether an ETag is cached for a resource, whatever its last modification time.
+     *
+     * @param path the resource path.
+     * @return true if an ETag may be returned by {@link #get(String, long)}.
+     */
+    public boolean contains(String path) {
+        return entries.containsKey(path);
+    }
+
+    /**
+     * Return the ETag of the resource if it was computed from a response with the same {@code Last-Modified} time.
+     *
+     * @param path the resource path.
+     * @param lastModified the last modification time of the resource in milliseconds, or -1 if unknown.
+     * @return the cached entry of the resource, or null.
+     */
+    public Entry get(String path, long lastModified) {
+        Entry entry = entries.get(path);
+        return entry == null || lastModified < 0 || entry.lastModified != toSeconds(lastModified) ? null : entry;
+    }
+
+    /**
+     * Cache the ETag of a resource, unless its last modification time is unknown.
+     *
+     * @param path the resource path.
+     * @param lastModified the {@code Last-Modified} time of the response in milliseconds, or -1 if it has none.
+     * @param vary the {@code Vary} header of the response, or null.
+     * @param eTag the ETag of the response content.
+     */
+    public void put(String path, long lastModified, String vary, String eTag) {
+        if (lastModified < 0) {
+            return;
+        }
+        entries.put(path, new Entry(toSeconds(lastModified), vary, eTag));
+        if (entries.size() > maxEntries) {
+            Iterator<String> paths = entries.keySet().iterator();
+            while (entries.size() > maxEntries && paths.hasNext()) {
+                String evicted = paths.next();
+                if (!evicted.equals(path)) {
+                    paths.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>size.</p>
+     *
+     * @return the number of cached ETags.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Create a digest to hash a response content with.
+     *
+     * @return a new {@link java.security.MessageDigest}.
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * Format a content digest as a strong ETag.
+     *
+     * @param digest the digest of the content.
+     * @return the quoted ETag.
+     */
+    public static String toETag(byte[] digest) {
+        StringBuilder eTag = new StringBuilder(digest.length * 2 + 2).append('"');
+        for (byte b : digest) {
+            eTag.append(HEX_CHARS[(b >> 4) & 0xF]).append(HEX_CHARS[b & 0xF]);
+        }
+        return eTag.append('"').toString();
+    }
+
+    /**
+     * Check an {@code If-None-Match} header with the weak comparison required by RFC 7232.
+     *
+     * @param ifNoneMatch the {@code If-None-Match} header, or null.
+     * @param eTag the current ETag.
+     * @return true if the header matches the ETag, so the response is {@code 304 Not Modified}.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toSeconds(long lastModified) {
+        return lastModified / 1000;
+    }
+
+    /**
+     * ETag of a resource.
+     */
+    public static final class Entry {
+
+        private final long lastModified;
+
+        private final String vary;
+
+        private final String eTag;
+
+        private Entry(long lastModified, String vary, String eTag) {
+            this.lastModified = lastModified;
+            this.vary = vary;
+            this.eTag = eTag;
+        }
+
+        /**
+         * <p>Getter for the field <code>vary</code>.</p>
+         *
+         * @return the {@code Vary} header of the response the ETag was computed from, or null.
+         */
+        public String getVary() {
+            return vary;
+        }
+
+        /**
+         * <p>Getter for the field <code>eTag</code>.</p>
+         *
+         * @return the quoted ETag.
+         */
+        public String getETag() {
+            return eTag;
+        }
+    }
+}
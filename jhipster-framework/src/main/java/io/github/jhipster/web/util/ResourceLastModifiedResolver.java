@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.jhipster.web.util;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolver of the last modification time of static resources, read before a request is handled so that a
+ * conditional request can be answered without serving the resource.
+ *
+ * <p>The resource is looked up in the given locations, which must end with {@code /}, in order, like the resource
+ * handler serving it. The lookup is blocking: reactive callers should run it on a blocking-capable scheduler.</p>
+ */
+public class ResourceLastModifiedResolver {
+
+    /** Constant <code>DEFAULT_LOCATIONS</code>, the static resource locations of Spring Boot */
+    public static final String[] DEFAULT_LOCATIONS = {"classpath:/META-INF/resources/", "classpath:/resources/",
+        "classpath:/static/", "classpath:/public/"};
+
+    private final List<Resource> locations;
+
+    /**
+     * <p>Constructor for ResourceLastModifiedResolver.</p>
+     *
+     * @param locations the locations of the static resources, such as {@code classpath:/static/}.
+     */
+    public ResourceLastModifiedResolver(Resource... locations) {
+        this.locations = Arrays.asList(locations);
+    }
+
+    /**
+     * Create a resolver looking resources up in the {@link #DEFAULT_LOCATIONS}.
+     *
+     * @param resourceLoader the loader of the locations.
+     * @return a {@link io.github.jhipster.web.util.ResourceLastModifiedResolver} object.
+     */
+    public static ResourceLastModifiedResolver ofDefaultLocations(ResourceLoader resourceLoader) {
+        List<Resource> locations = new ArrayList<>(DEFAULT_LOCATIONS.length);
+        for (String location : DEFAULT_LOCATIONS) {
+            locations.add(resourceLoader.getResource(location));
+        }
+        return new ResourceLastModifiedResolver(locations.toArray(new Resource[0]));
+    }
+
+    /**
+     * Create a resolver looking resources up in the {@link #DEFAULT_LOCATIONS} of the default class loader.
+     *
+     * @return a {@link io.github.jhipster.web.util.ResourceLastModifiedResolver} object.
+     */
+    public static ResourceLastModifiedResolver ofDefaultLocations() {
+        return ofDefaultLocations(new DefaultResourceLoader());
+    }
+
+    /**
+     * Return a resolver looking resources up in an additional location first.
+     *
+     * @param location the location to look resources up first, such as the root of the servlet context.
+     * @return a new {@link io.github.jhipster.web.util.ResourceLastModifiedResolver} object.
+     */
+    public ResourceLastModifiedResolver withFirstLocation(Resource location) {
+        List<Resource> allLocations = new ArrayList<>(locations.size() + 1);
+        allLocations.add(location);
+        allLocations.addAll(locations);
+        return new ResourceLastModifiedResolver(allLocations.toArray(new Resource[0]));
+    }
+
+    /**
+     * Return the last modification time of a resource.
+     *
+     * @param path the path of the resource, relative to the locations, such as {@code /app/main.js}.
+     * @return the last modification time in milliseconds, or -1 if the resource is not found or the path is not a
+     * safe resource path.
+     */
+    public long getLastModified(String path) {
+        if (!PrecompressedResourceResolver.isSafePath(path)) {
+            return -1;
+        }
+        String relativePath = path.substring(1);
+        for (Resource location : locations) {
+            try {
+                Resource resource = location.createRelative(relativePath);
+                if (resource.isReadable()) {
+                    return resource.lastModified();
+                }
+            } catch (IOException e) {
+                // Not readable in this location
+            }
+        }
+        return -1;
+    }
+}
@@ -25,6 +25,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Utility class for ResponseEntity creation.
@@ -56,4 +57,51 @@ public interface ResponseUtil {
         return maybeResponse.map(response -> ResponseEntity.ok().headers(header).body(response))
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
+
+    /**
+     * Wrap the optional into a {@link org.springframework.http.ResponseEntity} with a weak ETag derived from its
+     * {@code @Version} field, and an {@link org.springframework.http.HttpStatus#OK} status, or
+     * {@link org.springframework.http.HttpStatus#NOT_MODIFIED} without body if the {@code If-None-Match} header
+     * matches. If it's empty, throws a {@link org.springframework.web.server.ResponseStatusException} with status
+     * {@link org.springframework.http.HttpStatus#NOT_FOUND}.
+     *
+     * @param <X>           type of the response
+     * @param maybeResponse response to return if present
+     * @param header        headers to be added to the response
+     * @param ifNoneMatch   the {@code If-None-Match} header of the request, or null
+     * @return response containing {@code maybeResponse} if present and modified
+     * @see io.github.jhipster.web.util.ETagUtil#fromVersionField(Object)
+     */
+    static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeResponse, HttpHeaders header, String ifNoneMatch) {
+        return wrapOrNotFound(maybeResponse, header, ifNoneMatch, ETagUtil::fromVersionField);
+    }
+
+    /**
+     * Wrap the optional into a {@link org.springframework.http.ResponseEntity} with the given ETag and an
+     * {@link org.springframework.http.HttpStatus#OK} status, or
+     * {@link org.springframework.http.HttpStatus#NOT_MODIFIED} without body if the {@code If-None-Match} header
+     * matches. If it's empty, throws a {@link org.springframework.web.server.ResponseStatusException} with status
+     * {@link org.springframework.http.HttpStatus#NOT_FOUND}.
+     *
+     * @param <X>           type of the response
+     * @param maybeResponse response to return if present
+     * @param header        headers to be added to the response
+     * @param ifNoneMatch   the {@code If-None-Match} header of the request, or null
+     * @param eTag          function computing the ETag of the response, such as
+     *                      {@code dto -> ETagUtil.fromVersion(dto.getVersion())}, returning null if there is none
+     * @return response containing {@code maybeResponse} if present and modified
+     */
+    static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeResponse, HttpHeaders header, String ifNoneMatch,
+                                                Function<? super X, String> eTag) {
+        return maybeResponse.map(response -> {
+            String currentETag = eTag.apply(response);
+            boolean notModified = ETagUtil.matches(ifNoneMatch, currentETag);
+            HttpStatus status = notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK;
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).headers(header);
+            if (currentETag != null) {
+                builder.eTag(currentETag);
+            }
+            return notModified ? builder.<X>build() : builder.body(response);
+        }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
 }
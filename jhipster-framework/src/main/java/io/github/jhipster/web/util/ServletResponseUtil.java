@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Utility class for writing large contents to a servlet response, kept apart from {@link ResponseUtil} which is also
+ * used by reactive applications.
+ */
+public interface ServletResponseUtil {
+
+    /** Constant <code>STREAM_CHUNK_SIZE=8192</code>, the size of the chunks written by the stream methods */
+    int STREAM_CHUNK_SIZE = 8192;
+
+    /**
+     * Write the blob to the response in chunks of {@link #STREAM_CHUNK_SIZE} bytes, or if it's empty, throws a
+     * {@link org.springframework.web.server.ResponseStatusException} with status
+     * {@link org.springframework.http.HttpStatus#NOT_FOUND}.
+     * <p>
+     * The blob is read on the calling thread, so lazily loaded blobs can be read in the current transaction.
+     *
+     * @param maybeBlob   blob to write if present
+     * @param contentType content type of the response
+     * @param response    response to write to
+     * @throws java.io.IOException   if writing the response fails
+     * @throws java.sql.SQLException if reading the blob fails
+     */
+    static void writeBlobOrNotFound(Optional<Blob> maybeBlob, MediaType contentType, HttpServletResponse response)
+        throws IOException, SQLException {
+        Blob blob = maybeBlob.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        try (InputStream content = blob.getBinaryStream()) {
+            writeStream(content, blob.length(), contentType, response);
+        }
+    }
+
+    /**
+     * Write the stream to the response in chunks of {@link #STREAM_CHUNK_SIZE} bytes, without buffering the whole
+     * content.
+     *
+     * @param content       stream to write, which is not closed
+     * @param contentLength length of the content, or a negative value if unknown
+     * @param contentType   content type of the response
+     * @param response      response to write to
+     * @throws java.io.IOException if reading the stream or writing the response fails
+     */
+    static void writeStream(InputStream content, long contentLength, MediaType contentType,
+                            HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(contentType.toString());
+        if (contentLength >= 0) {
+            response.setContentLengthLong(contentLength);
+        }
+        OutputStream out = response.getOutputStream();
+        byte[] chunk = new byte[STREAM_CHUNK_SIZE];
+        int read;
+        while ((read = content.read(chunk)) != -1) {
+            out.write(chunk, 0, read);
+        }
+        out.flush();
+    }
+}
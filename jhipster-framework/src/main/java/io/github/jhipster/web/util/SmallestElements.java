@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded selection of the smallest elements of a sequence, used to sort pages without sorting the whole sequence.
+ *
+ * <p>
+ * Elements which compare equal keep their encounter order, like with a stable sort.
+ *
+ * @param <T> type of object
+ */
+final class SmallestElements<T> {
+
+    private final int capacity;
+
+    private final Comparator<? super T> comparator;
+
+    private final Comparator<Ranked<T>> order;
+
+    private final PriorityQueue<Ranked<T>> heap;
+
+    private long count;
+
+    SmallestElements(int capacity, Comparator<? super T> comparator) {
+        this.capacity = capacity;
+        this.comparator = comparator;
+        this.order = (left, right) -> {
+            int result = comparator.compare(left.element, right.element);
+            return result != 0 ? result : Long.compare(left.rank, right.rank);
+        };
+        // Max-heap: its head is the largest of the kept elements, replaced by smaller ones
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(capacity, 1024)), order.reversed());
+    }
+
+    void add(T element) {
+        long rank = count++;
+        if (heap.size() < capacity) {
+            heap.add(new Ranked<>(element, rank));
+        } else if (capacity > 0 && comparator.compare(element, heap.peek().element) < 0) {
+            heap.poll();
+            heap.add(new Ranked<>(element, rank));
+        }
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    List<T> toSortedList() {
+        List<Ranked<T>> ranked = new ArrayList<>(heap);
+        ranked.sort(order);
+        List<T> sorted = new ArrayList<>(ranked.size());
+        for (Ranked<T> element : ranked) {
+            sorted.add(element.element);
+        }
+        return sorted;
+    }
+
+    private static final class Ranked<T> {
+
+        private final T element;
+
+        private final long rank;
+
+        private Ranked(T element, long rank) {
+            this.element = element;
+            this.rank = rank;
+        }
+    }
+}
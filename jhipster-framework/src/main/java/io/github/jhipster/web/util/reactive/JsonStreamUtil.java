@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jhipster.web.util.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utility class for streaming JSON response bodies.
+ *
+ * <p>
+ * The encoders of Spring WebFlux collect a {@link reactor.core.publisher.Flux} into a list before writing it as
+ * {@code application/json}. These methods encode each element as soon as it is emitted instead, so that the response
+ * is written in chunks, with backpressure, and the memory per request stays bounded. The resulting {@code byte[]}
+ * chunks are written as-is by WebFlux, whatever the content type of the response.
+ */
+public final class JsonStreamUtil {
+
+    /** Constant <code>APPLICATION_NDJSON_VALUE="application/x-ndjson"</code> */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /** Constant <code>APPLICATION_NDJSON</code> */
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    private static final byte[] NONE = {};
+
+    private static final byte[] ARRAY_START = {'['};
+
+    private static final byte[] ARRAY_SEPARATOR = {','};
+
+    private static final byte[] ARRAY_END = {']'};
+
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private JsonStreamUtil() {
+    }
+
+    /**
+     * Encode elements as a JSON array, one chunk per element.
+     *
+     * @param elements the elements to encode.
+     * @param objectMapper the mapper used to encode each element.
+     * @return the chunks of the JSON array.
+     */
+    public static Flux<byte[]> toJsonArray(Flux<?> elements, ObjectMapper objectMapper) {
+        return elements
+            .index((index, element) -> encode(objectMapper, element, index == 0 ? ARRAY_START : ARRAY_SEPARATOR, NONE))
+            .switchIfEmpty(Mono.just(ARRAY_START))
+            .concatWith(Mono.just(ARRAY_END));
+    }
+
+    /**
+     * Encode elements as newline delimited JSON, one chunk per element.
+     *
+     * @param elements the elements to encode.
+     * @param objectMapper the mapper used to encode each element.
+     * @return the lines of the response.
+     */
+    public static Flux<byte[]> toNdjson(Flux<?> elements, ObjectMapper objectMapper) {
+        return elements.map(element -> encode(objectMapper, element, NONE, NEW_LINE));
+    }
+
+    private static byte[] encode(ObjectMapper objectMapper, Object element, byte[] prefix, byte[] suffix) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(element);
+        } catch (JsonProcessingException e) {
+            throw new EncodingException("JSON encoding error: " + e.getOriginalMessage(), e);
+        }
+        byte[] chunk = new byte[prefix.length + json.length + suffix.length];
+        System.arraycopy(prefix, 0, chunk, 0, prefix.length);
+        System.arraycopy(json, 0, chunk, prefix.length, json.length);
+        System.arraycopy(suffix, 0, chunk, prefix.length + json.length, suffix.length);
+        return chunk;
+    }
+}
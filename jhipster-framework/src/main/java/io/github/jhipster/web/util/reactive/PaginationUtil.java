@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jhipster.web.util.reactive;
+
+import org.reactivestreams.Subscription;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.EmitterProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Utility class for handling pagination in a reactive context.
+ *
+ * <p>
+ * Paginated responses can be streamed: the headers only need the total count, so the content is not collected into a
+ * {@link org.springframework.data.domain.Page} before being written.
+ *
+ * @see io.github.jhipster.web.util.PaginationUtil
+ */
+public final class PaginationUtil {
+
+    /** Constant <code>DEFAULT_PREFETCH=256</code> */
+    public static final int DEFAULT_PREFETCH = 256;
+
+    /** Constant <code>DEFAULT_BODY_SUBSCRIPTION_TIMEOUT</code>, one minute */
+    public static final Duration DEFAULT_BODY_SUBSCRIPTION_TIMEOUT = Duration.ofMinutes(1);
+
+    private PaginationUtil() {
+    }
+
+    /**
+     * Generate pagination headers for a Spring Data {@link org.springframework.data.domain.Page} object, with links
+     * relative to the URI of the request.
+     *
+     * @param request The request.
+     * @param page The page.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(ServerHttpRequest request, Page<T> page) {
+        // The URI of the request is already encoded
+        return io.github.jhipster.web.util.PaginationUtil.generatePaginationHttpHeaders(
+            UriComponentsBuilder.fromHttpRequest(request).build(true), page);
+    }
+
+    /**
+     * Generate pagination headers for a page of a query, from its total number of elements.
+     *
+     * @param request The request.
+     * @param pageable The requested page.
+     * @param total The total number of elements of the query.
+     * @return http header.
+     */
+    public static HttpHeaders generatePaginationHttpHeaders(ServerHttpRequest request, Pageable pageable, long total) {
+        return generatePaginationHttpHeaders(request, new PageImpl<>(Collections.emptyList(), pageable, total));
+    }
+
+    /**
+     * Create a paginated response whose body is streamed, with {@value #DEFAULT_PREFETCH} elements fetched ahead.
+     *
+     * <p>
+     * Spring WebFlux collects a {@link reactor.core.publisher.Flux} of objects into a list before writing it as
+     * {@code application/json}, so only the count and content queries overlap. To write the elements as they come,
+     * pass the output of {@link JsonStreamUtil#toJsonArray(Flux, com.fasterxml.jackson.databind.ObjectMapper)} or
+     * {@link JsonStreamUtil#toNdjson(Flux, com.fasterxml.jackson.databind.ObjectMapper)} as content.
+     *
+     * @param request The request.
+     * @param pageable The requested page.
+     * @param count The total number of elements of the query.
+     * @param content The elements of the page.
+     * @param <X> The type of object.
+     * @return the response, emitted once the count is known.
+     * @see #createPaginatedResponse(ServerHttpRequest, Pageable, Mono, Flux, int, Duration)
+     */
+    public static <X> Mono<ResponseEntity<Flux<X>>> createPaginatedResponse(ServerHttpRequest request,
+        Pageable pageable, Mono<Long> count, Flux<X> content) {
+        return createPaginatedResponse(request, pageable, count, content, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Create a paginated response whose body is streamed, with the default body subscription timeout of one minute.
+     *
+     * @param request The request.
+     * @param pageable The requested page.
+     * @param count The total number of elements of the query, 0 if empty.
+     * @param content The elements of the page.
+     * @param prefetch The maximum number of elements buffered before the body is written.
+     * @param <X> The type of object.
+     * @return the response, emitted once the count is known.
+     * @see #createPaginatedResponse(ServerHttpRequest, Pageable, Mono, Flux, int, Duration)
+     */
+    public static <X> Mono<ResponseEntity<Flux<X>>> createPaginatedResponse(ServerHttpRequest request,
+        Pageable pageable, Mono<Long> count, Flux<X> content, int prefetch) {
+        return createPaginatedResponse(request, pageable, count, content, prefetch, DEFAULT_BODY_SUBSCRIPTION_TIMEOUT);
+    }
+
+    /**
+     * Create a paginated response whose body is streamed.
+     *
+     * <p>
+     * The content query is started with the count query, and at most {@code prefetch} elements are buffered until the
+     * body is written, then elements are requested as they are written. The {@code Link} and {@code X-Total-Count}
+     * headers are computed as soon as the count is known.
+     *
+     * <p>
+     * The content query is cancelled if the count fails, if the response is cancelled, once the body is written or
+     * cancelled, and if the body is not subscribed within {@code bodySubscriptionTimeout} of the response, for
+     * instance because the response failed to be encoded: a late body subscriber then receives an error.
+     *
+     * @param request The request.
+     * @param pageable The requested page.
+     * @param count The total number of elements of the query, 0 if empty.
+     * @param content The elements of the page.
+     * @param prefetch The maximum number of elements buffered before the body is written.
+     * @param bodySubscriptionTimeout The maximum time between the response and the subscription to its body.
+     * @param <X> The type of object.
+     * @return the response, emitted once the count is known.
+     */
+    public static <X> Mono<ResponseEntity<Flux<X>>> createPaginatedResponse(ServerHttpRequest request,
+        Pageable pageable, Mono<Long> count, Flux<X> content, int prefetch, Duration bodySubscriptionTimeout) {
+        return Mono.subscriberContext().flatMap(context -> {
+            EmitterProcessor<X> body = EmitterProcessor.create(prefetch);
+            AtomicReference<Subscription> upstream = new AtomicReference<>();
+            content.subscriberContext(context).doOnSubscribe(upstream::set).subscribe(body);
+            Runnable cancelContent = () -> {
+                Subscription subscription = upstream.get();
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+            };
+            AtomicBoolean bodySubscribed = new AtomicBoolean();
+            Disposable.Swap bodyTimeout = Disposables.swap();
+            Flux<X> responseBody = body
+                .doOnSubscribe(subscription -> {
+                    bodySubscribed.set(true);
+                    bodyTimeout.dispose();
+                })
+                .doFinally(signal -> cancelContent.run());
+            return count.defaultIfEmpty(0L)
+                .map(total -> ResponseEntity.ok()
+                    .headers(generatePaginationHttpHeaders(request, pageable, total))
+                    .body(responseBody))
+                .doOnSuccess(response -> bodyTimeout.update(Mono.delay(bodySubscriptionTimeout)
+                    .subscribe(tick -> {
+                        if (!bodySubscribed.get()) {
+                            cancelContent.run();
+                            body.onError(new IllegalStateException("The body was not subscribed within " +
+                                bodySubscriptionTimeout));
+                        }
+                    })))
+                .doOnError(e -> cancelContent.run())
+                .doOnCancel(cancelContent);
+        });
+    }
+}
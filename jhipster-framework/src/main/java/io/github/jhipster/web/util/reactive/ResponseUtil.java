@@ -1,11 +1,14 @@
 package io.github.jhipster.web.util.reactive;
 
+import io.github.jhipster.web.util.ETagUtil;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 
+import java.util.function.Function;
+
 /**
  * Utility class for ResponseEntity creation in a reactive context.
  */
@@ -36,4 +39,53 @@ public interface ResponseUtil {
             .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
             .map(response -> ResponseEntity.ok().headers(headers).body(response));
     }
+
+    /**
+     * Wrap the mono into a {@link org.springframework.http.ResponseEntity} with a weak ETag derived from its
+     * {@code @Version} field, and an {@link org.springframework.http.HttpStatus#OK} status, or
+     * {@link org.springframework.http.HttpStatus#NOT_MODIFIED} without body if the {@code If-None-Match} header
+     * matches. If it's empty, throws a {@link org.springframework.web.server.ResponseStatusException} with status
+     * {@link org.springframework.http.HttpStatus#NOT_FOUND}.
+     *
+     * @param <X>           type of the response
+     * @param maybeResponse response to return if present
+     * @param headers       headers to be added to the response
+     * @param ifNoneMatch   the {@code If-None-Match} header of the request, or null
+     * @return response containing {@code maybeResponse} if present and modified
+     * @see io.github.jhipster.web.util.ETagUtil#fromVersionField(Object)
+     */
+    static <X> Mono<ResponseEntity<X>> wrapOrNotFound(Mono<X> maybeResponse, HttpHeaders headers, String ifNoneMatch) {
+        return wrapOrNotFound(maybeResponse, headers, ifNoneMatch, ETagUtil::fromVersionField);
+    }
+
+    /**
+     * Wrap the mono into a {@link org.springframework.http.ResponseEntity} with the given ETag and an
+     * {@link org.springframework.http.HttpStatus#OK} status, or
+     * {@link org.springframework.http.HttpStatus#NOT_MODIFIED} without body if the {@code If-None-Match} header
+     * matches. If it's empty, throws a {@link org.springframework.web.server.ResponseStatusException} with status
+     * {@link org.springframework.http.HttpStatus#NOT_FOUND}.
+     *
+     * @param <X>           type of the response
+     * @param maybeResponse response to return if present
+     * @param headers       headers to be added to the response
+     * @param ifNoneMatch   the {@code If-None-Match} header of the request, or null
+     * @param eTag          function computing the ETag of the response, such as
+     *                      {@code dto -> ETagUtil.fromVersion(dto.getVersion())}, returning null if there is none
+     * @return response containing {@code maybeResponse} if present and modified
+     */
+    static <X> Mono<ResponseEntity<X>> wrapOrNotFound(Mono<X> maybeResponse, HttpHeaders headers, String ifNoneMatch,
+                                                      Function<? super X, String> eTag) {
+        return maybeResponse
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(response -> {
+                String currentETag = eTag.apply(response);
+                boolean notModified = ETagUtil.matches(ifNoneMatch, currentETag);
+                HttpStatus status = notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK;
+                ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).headers(headers);
+                if (currentETag != null) {
+                    builder.eTag(currentETag);
+                }
+                return notModified ? builder.<X>build() : builder.body(response);
+            });
+    }
 }
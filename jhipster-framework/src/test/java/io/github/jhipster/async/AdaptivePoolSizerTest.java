@@ -0,0 +1,203 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.async;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptivePoolSizerTest {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testPoolGrowsWhenTasksWait() {
+        ThreadPoolTaskExecutor executor = executor(2, 10);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(executor, 10);
+
+        for (int i = 0; i < AdaptivePoolSizer.SAMPLE_SIZE; i++) {
+            sizer.taskStarted(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        assertThat(executor.getCorePoolSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void testPoolDoesNotGrowBeyondMaxPoolSize() {
+        ThreadPoolTaskExecutor executor = executor(2, 3);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(executor, 10);
+
+        for (int i = 0; i < 5 * AdaptivePoolSizer.SAMPLE_SIZE; i++) {
+            sizer.taskStarted(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        assertThat(executor.getCorePoolSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void testPoolShrinksWhenThreadsAreIdle() {
+        ThreadPoolTaskExecutor executor = executor(2, 50);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(executor, 10);
+        executor.setCorePoolSize(20);
+
+        for (int i = 0; i < 3 * AdaptivePoolSizer.SAMPLE_SIZE; i++) {
+            sizer.taskStarted(0);
+            sizer.taskFinished(0);
+        }
+
+        // 20 -> 15 -> 11 -> 8
+        assertThat(executor.getCorePoolSize()).isEqualTo(8);
+        for (int i = 0; i < 20 * AdaptivePoolSizer.SAMPLE_SIZE; i++) {
+            sizer.taskStarted(0);
+            sizer.taskFinished(0);
+        }
+        assertThat(executor.getCorePoolSize()).isEqualTo(sizer.getMinPoolSize());
+    }
+
+    @Test
+    public void testPoolDoesNotShrinkWhenThreadsAreBusy() {
+        ThreadPoolTaskExecutor executor = executor(2, 50);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(executor, 10);
+        executor.setCorePoolSize(4);
+
+        for (int i = 0; i < 4; i++) {
+            sizer.taskStarted(0);
+        }
+        for (int i = 0; i < 5 * AdaptivePoolSizer.SAMPLE_SIZE; i++) {
+            sizer.taskFinished(0);
+            sizer.taskStarted(0);
+        }
+
+        assertThat(executor.getCorePoolSize()).isEqualTo(4);
+    }
+
+    @Test
+    public void testPoolGrowsWithQueueDepthWhenTasksAreSubmitted() {
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolTaskExecutor executor = executor(4, 50);
+        executor.initialize();
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(executor, 10);
+        try {
+            for (int i = 0; i < 4; i++) {
+                executor.execute(() -> await(release));
+            }
+            sizer.taskSubmitted();
+            assertThat(executor.getCorePoolSize()).isEqualTo(4);
+
+            for (int i = 0; i < 6; i++) {
+                executor.execute(() -> await(release));
+            }
+            sizer.taskSubmitted();
+            assertThat(executor.getCorePoolSize()).isEqualTo(5);
+
+            for (int i = 0; i < 40; i++) {
+                executor.execute(() -> await(release));
+            }
+            sizer.taskSubmitted();
+            assertThat(executor.getCorePoolSize()).isEqualTo(10);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSimulatedLoadImprovesThroughputAndLatency() {
+        // One task arrives every tick and runs for 5 ticks, so 5 threads are needed to keep up
+        Simulation fixed = simulate(executor(2, 50), null);
+        ThreadPoolTaskExecutor adaptiveExecutor = executor(2, 50);
+        Simulation adaptive = simulate(adaptiveExecutor, new AdaptivePoolSizer(adaptiveExecutor, 10));
+
+        assertThat(fixed.completed).isLessThan(900);
+        assertThat(adaptive.completed).isGreaterThan(1900);
+        assertThat(adaptive.averageQueueTicks()).isLessThan(fixed.averageQueueTicks() / 10);
+        assertThat(adaptiveExecutor.getCorePoolSize()).isBetween(5, 50);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadPoolTaskExecutor executor(int corePoolSize, int maxPoolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        return executor;
+    }
+
+    /**
+     * Discrete-time model of a thread pool with an unbounded queue: like a {@code ThreadPoolExecutor} whose queue
+     * never fills up, it runs at most {@code corePoolSize} tasks at the same time.
+     */
+    private static Simulation simulate(ThreadPoolTaskExecutor executor, TaskExecutionListener listener) {
+        int ticks = 2000;
+        int serviceTicks = 5;
+        Simulation simulation = new Simulation();
+        Deque<Integer> queue = new ArrayDeque<>();
+        List<int[]> running = new ArrayList<>();
+        for (int tick = 0; tick < ticks; tick++) {
+            for (Iterator<int[]> iterator = running.iterator(); iterator.hasNext(); ) {
+                int[] remaining = iterator.next();
+                if (--remaining[0] == 0) {
+                    iterator.remove();
+                    simulation.completed++;
+                    if (listener != null) {
+                        listener.taskFinished(serviceTicks * TICK_NANOS);
+                    }
+                }
+            }
+            queue.add(tick);
+            while (running.size() < executor.getCorePoolSize() && !queue.isEmpty()) {
+                int queueTicks = tick - queue.poll();
+                simulation.started++;
+                simulation.queueTicks += queueTicks;
+                if (listener != null) {
+                    listener.taskStarted(queueTicks * TICK_NANOS);
+                }
+                running.add(new int[]{serviceTicks});
+            }
+        }
+        return simulation;
+    }
+
+    private static class Simulation {
+
+        private int started;
+        private int completed;
+        private long queueTicks;
+
+        private long averageQueueTicks() {
+            return queueTicks / started;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.async;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AsyncTaskExecutorMetricsTest {
+
+    private ThreadPoolTaskExecutor pool;
+    private ExceptionHandlingAsyncTaskExecutor executor;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.setQueueCapacity(1);
+        pool.initialize();
+        executor = new ExceptionHandlingAsyncTaskExecutor(pool);
+        registry = new SimpleMeterRegistry();
+        new AsyncTaskExecutorMetrics(executor, "taskExecutor").bindTo(registry);
+    }
+
+    @AfterEach
+    public void teardown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> first = executor.submit(() -> {
+            running.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Future<?> second = executor.submit(() -> {
+        });
+        running.await(5, TimeUnit.SECONDS);
+        Throwable caught = catchThrowable(() -> executor.submit(() -> {
+        }));
+
+        assertThat(caught).isInstanceOf(TaskRejectedException.class);
+        assertThat(registry.get("executor.active").tag("name", "taskExecutor").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("executor.queued").tag("name", "taskExecutor").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("executor.rejected").tag("name", "taskExecutor").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        first.get();
+        second.get();
+
+        assertThat(registry.get("executor.idle").tag("name", "taskExecutor").timer().count()).isEqualTo(2);
+        assertThat(registry.get("executor").tag("name", "taskExecutor").timer().totalTime(TimeUnit.NANOSECONDS))
+            .isPositive();
+        assertThat(registry.get("executor.queued").gauge().value()).isZero();
+    }
+}
@@ -26,13 +26,26 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.slf4j.MDC;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
-
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -178,6 +191,310 @@ public class ExceptionHandlingAsyncTaskExecutorTest {
         assertThat(event.getThrown()).isEqualTo(exception.toString());
     }
 
+    @Test
+    public void testMdcIsPropagatedToWorkerThread() throws Exception {
+        MDC.put("traceId", "abc");
+        try {
+            Future<String> future = executor.submit(() -> MDC.get("traceId"));
+            assertThat(future.get()).isEqualTo("abc");
+        } finally {
+            MDC.remove("traceId");
+        }
+    }
+
+    @Test
+    public void testMdcIsRestoredAfterTask() throws Exception {
+        executor = new TestExceptionHandlingAsyncTaskExecutor(new SyncTaskExecutorAdapter());
+        MDC.put("traceId", "caller");
+        try {
+            executor.execute(() -> MDC.put("traceId", "task"));
+            assertThat(MDC.get("traceId")).isEqualTo("caller");
+        } finally {
+            MDC.remove("traceId");
+        }
+    }
+
+    @Test
+    public void testTaskExecutionListener() throws Exception {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        executor.addTaskExecutionListener(new TaskExecutionListener() {
+            @Override
+            public void taskStarted(long queuedNanos) {
+                calls.add("started");
+            }
+
+            @Override
+            public void taskFinished(long executionNanos) {
+                calls.add("finished");
+            }
+        });
+
+        Future<Integer> failing = executor.submit(new MockCallableWithException());
+        catchThrowable(failing::get);
+        executor.submit(new MockCallableWithoutException()).get();
+
+        assertThat(calls).containsExactly("started", "finished", "started", "finished");
+        assertThat(executor.getQueuedCount()).isZero();
+        assertThat(executor.getActiveCount()).isZero();
+    }
+
+    @Test
+    public void testQueuedAndActiveCounts() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.initialize();
+        executor = new TestExceptionHandlingAsyncTaskExecutor(pool);
+        try {
+            Future<?> first = executor.submit(() -> {
+                running.countDown();
+                await(release);
+            });
+            Future<?> second = executor.submit(() -> {
+            });
+            running.await(5, TimeUnit.SECONDS);
+
+            assertThat(executor.getActiveCount()).isEqualTo(1);
+            assertThat(executor.getQueuedCount()).isEqualTo(1);
+
+            release.countDown();
+            first.get();
+            second.get();
+            assertThat(executor.getQueuedCount()).isZero();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueuedCountIgnoresCancelledAndDiscardedTasks() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.initialize();
+        executor = new TestExceptionHandlingAsyncTaskExecutor(pool);
+        try {
+            Future<?> first = executor.submit(() -> {
+                running.countDown();
+                await(release);
+            });
+            executor.submit(() -> {
+            }).cancel(false);
+            running.await(5, TimeUnit.SECONDS);
+            release.countDown();
+            first.get();
+            executor.submit(() -> {
+            }).get();
+
+            assertThat(executor.getQueuedCount()).isZero();
+
+            CountDownLatch blocked = new CountDownLatch(1);
+            executor.submit(() -> {
+                blocked.countDown();
+                await(new CountDownLatch(1));
+            });
+            executor.submit(() -> {
+            });
+            blocked.await(5, TimeUnit.SECONDS);
+            assertThat(executor.getQueuedCount()).isEqualTo(1);
+            pool.getThreadPoolExecutor().shutdownNow();
+
+            assertThat(executor.getQueuedCount()).isZero();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSubmittedTasks() throws Exception {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        executor = new TestExceptionHandlingAsyncTaskExecutor(new SyncTaskExecutorAdapter());
+        executor.addTaskExecutionListener(new TaskExecutionListener() {
+            @Override
+            public void taskSubmitted() {
+                calls.add("submitted");
+            }
+        });
+
+        executor.execute(new MockRunnableWithoutException());
+        executor.submitAll(Arrays.asList(new MockCallableWithoutException(), new MockCallableWithoutException()))
+            .get();
+
+        assertThat(calls).containsExactly("submitted", "submitted", "submitted");
+    }
+
+    @Test
+    public void testRejectedTask() {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        executor = new TestExceptionHandlingAsyncTaskExecutor(new SyncTaskExecutorAdapter() {
+            @Override
+            public void execute(Runnable task) {
+                throw new TaskRejectedException("Full");
+            }
+        });
+        executor.addTaskExecutionListener(new TaskExecutionListener() {
+            @Override
+            public void taskRejected() {
+                calls.add("rejected");
+            }
+        });
+
+        Throwable caught = catchThrowable(() -> executor.execute(new MockRunnableWithoutException()));
+
+        assertThat(caught).isInstanceOf(TaskRejectedException.class);
+        assertThat(calls).containsExactly("rejected");
+        assertThat(executor.getQueuedCount()).isZero();
+    }
+
+    @Test
+    public void testSubmitListenableCallableWithException() {
+        ListenableFuture<Integer> future = executor.submitListenable(new MockCallableWithException());
+        Throwable caught = catchThrowable(() -> future.get());
+        assertThat(caught).isInstanceOf(ExecutionException.class);
+        assertThat(caught.getCause()).isEqualTo(exception);
+        assertThat(handled).isEqualTo(exception);
+    }
+
+    @Test
+    public void testSubmitListenableWithNonListenableExecutor() throws Exception {
+        executor = new TestExceptionHandlingAsyncTaskExecutor(new SyncTaskExecutorAdapter());
+        List<Integer> results = new CopyOnWriteArrayList<>();
+
+        ListenableFuture<Integer> future = executor.submitListenable(new MockCallableWithoutException());
+        future.addCallback(results::add, e -> {
+        });
+
+        assertThat(future.get()).isEqualTo(testResult);
+        assertThat(results).containsExactly(testResult);
+        assertThat(executor.submitListenable(new MockRunnableWithException()).get()).isNull();
+        assertThat(handled).isEqualTo(exception);
+    }
+
+    @Test
+    public void testSubmitCompletable() throws Exception {
+        MDC.put("traceId", "abc");
+        try {
+            CompletableFuture<String> future = executor.submitCompletable(() -> MDC.get("traceId"));
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("abc");
+        } finally {
+            MDC.remove("traceId");
+        }
+        assertThat(executor.submitCompletable(new MockRunnableWithoutException()).get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    public void testSubmitCompletableWithException() {
+        CompletableFuture<Integer> future = executor.submitCompletable(new MockCallableWithException());
+        Throwable caught = catchThrowable(() -> future.get(5, TimeUnit.SECONDS));
+        assertThat(caught).isInstanceOf(ExecutionException.class);
+        assertThat(caught.getCause()).isEqualTo(exception);
+        assertThat(handled).isEqualTo(exception);
+    }
+
+    @Test
+    public void testSubmitAll() throws Exception {
+        AtomicInteger handOffs = new AtomicInteger();
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                handOffs.incrementAndGet();
+                super.execute(task);
+            }
+        };
+        pool.setCorePoolSize(4);
+        pool.initialize();
+        executor = new TestExceptionHandlingAsyncTaskExecutor(pool);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int value = i;
+                tasks.add(() -> value * 2);
+            }
+
+            List<Integer> results = executor.submitAll(tasks).get(5, TimeUnit.SECONDS);
+
+            assertThat(results).hasSize(100);
+            for (int i = 0; i < 100; i++) {
+                assertThat(results.get(i)).isEqualTo(i * 2);
+            }
+            // Half of the threads of the pool are left to other work
+            assertThat(handOffs.get()).isEqualTo(2);
+            assertThat(executor.getQueuedCount()).isZero();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSubmitAllWithMaxParallelism() throws Exception {
+        AtomicInteger handOffs = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                handOffs.incrementAndGet();
+                super.execute(task);
+            }
+        };
+        pool.setCorePoolSize(8);
+        pool.initialize();
+        executor = new TestExceptionHandlingAsyncTaskExecutor(pool);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                tasks.add(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(1);
+                    running.decrementAndGet();
+                    return 1;
+                });
+            }
+
+            assertThat(executor.submitAll(tasks, 3).get(5, TimeUnit.SECONDS)).hasSize(50);
+            assertThat(handOffs.get()).isEqualTo(3);
+            assertThat(peak.get()).isLessThanOrEqualTo(3);
+            assertThat(catchThrowable(() -> executor.submitAll(tasks, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSubmitAllWithException() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(new MockCallableWithoutException());
+        tasks.add(new MockCallableWithException());
+
+        CompletableFuture<List<Integer>> future = executor.submitAll(tasks);
+
+        Throwable caught = catchThrowable(() -> future.get(5, TimeUnit.SECONDS));
+        assertThat(caught).isInstanceOf(ExecutionException.class);
+        assertThat(caught.getCause()).isEqualTo(exception);
+        assertThat(handled).isEqualTo(exception);
+    }
+
+    @Test
+    public void testSubmitAllRejected() {
+        executor = new TestExceptionHandlingAsyncTaskExecutor(new SyncTaskExecutorAdapter() {
+            @Override
+            public void execute(Runnable task) {
+                throw new TaskRejectedException("Full");
+            }
+        });
+
+        Throwable caught = catchThrowable(() -> executor.submitAll(Arrays.asList(
+            new MockCallableWithoutException(), new MockCallableWithoutException())));
+
+        assertThat(caught).isInstanceOf(TaskRejectedException.class);
+        assertThat(executor.getQueuedCount()).isZero();
+    }
+
     @Test
     public void testInitializingExecutor() {
         task = spy(new MockAsyncInitializingTaskExecutor());
@@ -275,6 +592,21 @@ public class ExceptionHandlingAsyncTaskExecutorTest {
         }
     }
 
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class SyncTaskExecutorAdapter extends TaskExecutorAdapter {
+
+        SyncTaskExecutorAdapter() {
+            super(new SyncTaskExecutor());
+        }
+    }
+
     @SuppressWarnings("serial")
     private class MockAsyncTaskExecutor extends SimpleAsyncTaskExecutor {
 
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.async;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class VirtualThreadTaskExecutorTest {
+
+    @Test
+    public void testSubmitRunsTaskOnNamedThread() throws Exception {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("virtual-test-", 2);
+
+        Future<String> future = executor.submit(() -> Thread.currentThread().getName());
+
+        assertThat(future.get(5, TimeUnit.SECONDS)).startsWith("virtual-test-");
+    }
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("virtual-test-", 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            futures.add(executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }));
+        }
+        awaitActiveCount(executor, 2);
+        // Permits are acquired before the tasks run, wait for the tasks themselves
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (running.get() != 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        release.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(maxRunning.get()).isEqualTo(2);
+        awaitActiveCount(executor, 0);
+    }
+
+    @Test
+    public void testWaitingTasksAreLimitedByQueueCapacity() throws Exception {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("virtual-test-", 2, 3);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            futures.add(executor.submit(() -> {
+                threads.add(Thread.currentThread().getName());
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        awaitActiveCount(executor, 2);
+        assertThat(executor.getQueueSize()).isEqualTo(3);
+        assertThat(catchThrowable(() -> executor.execute(() -> { }))).isInstanceOf(TaskRejectedException.class);
+
+        release.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(threads).hasSize(5);
+        assertThat(executor.getQueueSize()).isZero();
+        awaitActiveCount(executor, 0);
+    }
+
+    @Test
+    public void testInterruptStatusIsNotPassedToNextTask() throws Exception {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("virtual-test-", 1);
+
+        executor.submit(() -> Thread.currentThread().interrupt()).get(5, TimeUnit.SECONDS);
+        Future<Boolean> interrupted = executor.submit(() -> Thread.currentThread().isInterrupted());
+
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    public void testDestroy() throws Exception {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("virtual-test-", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> running = executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Future<?> waiting = executor.submit(() -> { });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        executor.destroy();
+
+        assertThat(waiting.isCancelled()).isTrue();
+        running.get(5, TimeUnit.SECONDS);
+        awaitActiveCount(executor, 0);
+        assertThat(catchThrowable(() -> executor.execute(() -> { }))).isInstanceOf(TaskRejectedException.class);
+    }
+
+    @Test
+    public void testCreateAsyncTaskExecutorPlatformMode() throws Exception {
+        JHipsterProperties.Async properties = new JHipsterProperties.Async();
+
+        ExceptionHandlingAsyncTaskExecutor executor =
+            AsyncTaskExecutorUtil.createAsyncTaskExecutor(properties, "platform-test-");
+        executor.afterPropertiesSet();
+        try {
+            Future<String> future = executor.submit(() -> Thread.currentThread().getName());
+            assertThat(future.get(5, TimeUnit.SECONDS)).startsWith("platform-test-");
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testCreateAsyncTaskExecutorVirtualMode() throws Exception {
+        JHipsterProperties.Async properties = new JHipsterProperties.Async();
+        properties.setMode(ExecutorMode.VIRTUAL);
+
+        ExceptionHandlingAsyncTaskExecutor executor =
+            AsyncTaskExecutorUtil.createAsyncTaskExecutor(properties, "virtual-test-");
+        executor.afterPropertiesSet();
+
+        Future<String> future = executor.submit(() -> Thread.currentThread().getName());
+        assertThat(future.get(5, TimeUnit.SECONDS)).startsWith("virtual-test-");
+        // Runtimes without virtual threads fall back to the platform mode
+        assertThat(executor).extracting("executor").isInstanceOf(VirtualThreadTaskExecutor.isVirtualThreadSupported() ?
+            VirtualThreadTaskExecutor.class : ThreadPoolTaskExecutor.class);
+        executor.destroy();
+    }
+
+    private static void awaitActiveCount(VirtualThreadTaskExecutor executor, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getActiveCount()).isEqualTo(expected);
+    }
+}
@@ -19,6 +19,8 @@
 
 package io.github.jhipster.config;
 
+import io.github.jhipster.async.ExecutorMode;
+import io.github.jhipster.config.logging.OverflowPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -93,6 +95,36 @@ public class JHipsterPropertiesTest {
         assertThat(obj.getQueueCapacity()).isEqualTo(val);
     }
 
+    @Test
+    public void testAsyncMode() {
+        JHipsterProperties.Async obj = properties.getAsync();
+        ExecutorMode val = JHipsterDefaults.Async.mode;
+        assertThat(obj.getMode()).isEqualTo(val);
+        val = ExecutorMode.VIRTUAL;
+        obj.setMode(val);
+        assertThat(obj.getMode()).isEqualTo(val);
+    }
+
+    @Test
+    public void testAsyncConcurrencyLimit() {
+        JHipsterProperties.Async obj = properties.getAsync();
+        int val = JHipsterDefaults.Async.concurrencyLimit;
+        assertThat(obj.getConcurrencyLimit()).isEqualTo(val);
+        val++;
+        obj.setConcurrencyLimit(val);
+        assertThat(obj.getConcurrencyLimit()).isEqualTo(val);
+    }
+
+    @Test
+    public void testAsyncTargetQueueTimeInMillis() {
+        JHipsterProperties.Async obj = properties.getAsync();
+        long val = JHipsterDefaults.Async.targetQueueTimeInMillis;
+        assertThat(obj.getTargetQueueTimeInMillis()).isEqualTo(val);
+        val++;
+        obj.setTargetQueueTimeInMillis(val);
+        assertThat(obj.getTargetQueueTimeInMillis()).isEqualTo(val);
+    }
+
     @Test
     public void testHttpCacheTimeToLiveInDays() {
         JHipsterProperties.Http.Cache obj = properties.getHttp().getCache();
@@ -111,6 +143,16 @@ public class JHipsterPropertiesTest {
         assertThat(obj.getBucketName()).isEqualTo("bucketName");
     }
 
+    @Test
+    public void testDatabasePostgresqlBatchEnabled() {
+        JHipsterProperties.Database.PostgresqlBatch obj = properties.getDatabase().getPostgresqlBatch();
+        boolean val = JHipsterDefaults.Database.PostgresqlBatch.enabled;
+        assertThat(obj.isEnabled()).isEqualTo(val);
+        val = !val;
+        obj.setEnabled(val);
+        assertThat(obj.isEnabled()).isEqualTo(val);
+    }
+
     @Test
     public void testCacheHazelcastTimeToLiveSeconds() {
         JHipsterProperties.Cache.Hazelcast obj = properties.getCache().getHazelcast();
@@ -751,6 +793,36 @@ public class JHipsterPropertiesTest {
         assertThat(obj.isUseJsonFormat()).isEqualTo(val);
     }
 
+    @Test
+    public void testLoggingAsyncConsoleEnabled() {
+        JHipsterProperties.Logging.AsyncConsole obj = properties.getLogging().getAsyncConsole();
+        boolean val = JHipsterDefaults.Logging.AsyncConsole.enabled;
+        assertThat(obj.isEnabled()).isEqualTo(val);
+        val = !val;
+        obj.setEnabled(val);
+        assertThat(obj.isEnabled()).isEqualTo(val);
+    }
+
+    @Test
+    public void testLoggingAsyncConsoleRingBufferSize() {
+        JHipsterProperties.Logging.AsyncConsole obj = properties.getLogging().getAsyncConsole();
+        int val = JHipsterDefaults.Logging.AsyncConsole.ringBufferSize;
+        assertThat(obj.getRingBufferSize()).isEqualTo(val);
+        val *= 2;
+        obj.setRingBufferSize(val);
+        assertThat(obj.getRingBufferSize()).isEqualTo(val);
+    }
+
+    @Test
+    public void testLoggingAsyncConsoleOverflowPolicy() {
+        JHipsterProperties.Logging.AsyncConsole obj = properties.getLogging().getAsyncConsole();
+        OverflowPolicy val = JHipsterDefaults.Logging.AsyncConsole.overflowPolicy;
+        assertThat(obj.getOverflowPolicy()).isEqualTo(val);
+        val = OverflowPolicy.BLOCK;
+        obj.setOverflowPolicy(val);
+        assertThat(obj.getOverflowPolicy()).isEqualTo(val);
+    }
+
     @Test
     public void testLoggingLogstashEnabled() {
         JHipsterProperties.Logging.Logstash obj = properties.getLogging().getLogstash();
@@ -791,6 +863,46 @@ public class JHipsterPropertiesTest {
         assertThat(obj.getQueueSize()).isEqualTo(val);
     }
 
+    @Test
+    public void testLoggingLogstashSpillEnabled() {
+        JHipsterProperties.Logging.Logstash.Spill obj = properties.getLogging().getLogstash().getSpill();
+        boolean val = JHipsterDefaults.Logging.Logstash.Spill.enabled;
+        assertThat(obj.isEnabled()).isEqualTo(val);
+        val = !val;
+        obj.setEnabled(val);
+        assertThat(obj.isEnabled()).isEqualTo(val);
+    }
+
+    @Test
+    public void testLoggingLogstashSpillPath() {
+        JHipsterProperties.Logging.Logstash.Spill obj = properties.getLogging().getLogstash().getSpill();
+        String val = JHipsterDefaults.Logging.Logstash.Spill.path;
+        assertThat(obj.getPath()).isEqualTo(val);
+        val = "1" + val;
+        obj.setPath(val);
+        assertThat(obj.getPath()).isEqualTo(val);
+    }
+
+    @Test
+    public void testLoggingLogstashSpillMaxSize() {
+        JHipsterProperties.Logging.Logstash.Spill obj = properties.getLogging().getLogstash().getSpill();
+        int val = JHipsterDefaults.Logging.Logstash.Spill.maxSize;
+        assertThat(obj.getMaxSize()).isEqualTo(val);
+        val++;
+        obj.setMaxSize(val);
+        assertThat(obj.getMaxSize()).isEqualTo(val);
+    }
+
+    @Test
+    public void testLoggingLogstashSpillReplayIntervalInSeconds() {
+        JHipsterProperties.Logging.Logstash.Spill obj = properties.getLogging().getLogstash().getSpill();
+        int val = JHipsterDefaults.Logging.Logstash.Spill.replayIntervalInSeconds;
+        assertThat(obj.getReplayIntervalInSeconds()).isEqualTo(val);
+        val++;
+        obj.setReplayIntervalInSeconds(val);
+        assertThat(obj.getReplayIntervalInSeconds()).isEqualTo(val);
+    }
+
     @Test
     public void testSocialRedirectAfterSignIn() {
         JHipsterProperties.Social obj = properties.getSocial();
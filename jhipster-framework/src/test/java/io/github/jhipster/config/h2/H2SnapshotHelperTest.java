@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.h2;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class H2SnapshotHelperTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRestoreWithoutSnapshot() throws SQLException {
+        DataSource dataSource = dataSource("missing");
+        execute(dataSource, "CREATE TABLE jhi_person (id BIGINT PRIMARY KEY)");
+
+        assertThat(H2SnapshotHelper.hasSnapshot(directory, "key")).isFalse();
+        assertThat(H2SnapshotHelper.restore(dataSource, directory, "key")).isFalse();
+        assertThat(count(dataSource, "jhi_person")).isZero();
+    }
+
+    @Test
+    public void testSnapshotAndRestore() throws SQLException {
+        DataSource source = dataSource("source");
+        execute(source, "CREATE TABLE jhi_person (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        execute(source, "INSERT INTO jhi_person VALUES (1, 'O''Brien')");
+
+        H2SnapshotHelper.snapshot(source, directory, "key");
+
+        assertThat(H2SnapshotHelper.hasSnapshot(directory, "key")).isTrue();
+        assertThat(directory.toFile().list()).containsExactly("key.sql.deflate");
+
+        DataSource target = dataSource("target");
+        execute(target, "CREATE TABLE jhi_other (id BIGINT PRIMARY KEY)");
+        assertThat(H2SnapshotHelper.restore(target, directory, "key")).isTrue();
+        assertThat(count(target, "jhi_person")).isEqualTo(1);
+        assertThat(tableExists(target, "JHI_OTHER")).isFalse();
+    }
+
+    @Test
+    public void testRestoreCorruptSnapshot() throws Exception {
+        Files.write(H2SnapshotHelper.getSnapshotPath(directory, "key"), new byte[]{1, 2, 3});
+        DataSource dataSource = dataSource("corrupt");
+        execute(dataSource, "CREATE TABLE jhi_person (id BIGINT PRIMARY KEY)");
+
+        Throwable caught = catchThrowable(() -> H2SnapshotHelper.restore(dataSource, directory, "key"));
+
+        assertThat(caught).isInstanceOf(SQLException.class);
+        assertThat(H2SnapshotHelper.hasSnapshot(directory, "key")).isFalse();
+        assertThat(tableExists(dataSource, "JHI_PERSON")).isFalse();
+    }
+
+    @Test
+    public void testPrune() throws Exception {
+        DataSource source = dataSource("prune");
+        H2SnapshotHelper.snapshot(source, directory, "used");
+        H2SnapshotHelper.snapshot(source, directory, "unused");
+        Path interrupted = Files.createFile(directory.resolve("interrupted.tmp"));
+        Path other = Files.createFile(directory.resolve("other.txt"));
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - Duration.ofDays(8).toMillis());
+        for (Path file : Arrays.asList(H2SnapshotHelper.getSnapshotPath(directory, "used"),
+            H2SnapshotHelper.getSnapshotPath(directory, "unused"), interrupted, other)) {
+            Files.setLastModifiedTime(file, old);
+        }
+        assertThat(H2SnapshotHelper.restore(dataSource("restore"), directory, "used")).isTrue();
+
+        assertThat(H2SnapshotHelper.prune(directory, H2SnapshotHelper.DEFAULT_MAX_AGE)).isEqualTo(2);
+        assertThat(directory.toFile().list()).containsExactlyInAnyOrder("used.sql.deflate", "other.txt");
+        assertThat(H2SnapshotHelper.prune(directory.resolve("missing"), Duration.ZERO)).isZero();
+    }
+
+    private static DataSource dataSource(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:snapshot-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static int count(DataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static boolean tableExists(DataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.getMetaData().getTables(null, null, table, null)) {
+            return resultSet.next();
+        }
+    }
+}
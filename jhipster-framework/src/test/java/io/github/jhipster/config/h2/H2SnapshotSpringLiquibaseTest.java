@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.h2;
+
+import io.github.jhipster.test.LogbackRecorder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class H2SnapshotSpringLiquibaseTest {
+
+    private static final String CHANGE_LOG = "classpath:config/liquibase/fingerprint/master.xml";
+
+    @TempDir
+    Path directory;
+
+    private LogbackRecorder recorder;
+
+    @BeforeEach
+    public void setup() {
+        recorder = LogbackRecorder.forClass(H2SnapshotSpringLiquibase.class).reset().capture("DEBUG");
+    }
+
+    @AfterEach
+    public void teardown() {
+        recorder.release();
+    }
+
+    @Test
+    public void testSnapshotIsTakenThenRestored() throws Exception {
+        H2SnapshotSpringLiquibase first = liquibase(dataSource("first"));
+        first.afterPropertiesSet();
+
+        assertThat(H2SnapshotHelper.hasSnapshot(directory, first.getSnapshotKey())).isTrue();
+        assertThat(recorder.play()).extracting(LogbackRecorder.Event::getMessage)
+            .containsExactly(H2SnapshotSpringLiquibase.SNAPSHOT_MESSAGE);
+
+        recorder.reset();
+        DataSource dataSource = dataSource("second");
+        liquibase(dataSource).afterPropertiesSet();
+
+        assertThat(recorder.play()).extracting(LogbackRecorder.Event::getMessage)
+            .containsExactly(H2SnapshotSpringLiquibase.RESTORED_MESSAGE);
+        assertThat(count(dataSource, "jhi_person")).isZero();
+        assertThat(count(dataSource, "DATABASECHANGELOG")).isEqualTo(1);
+    }
+
+    @Test
+    public void testSnapshotKeyDependsOnSettings() throws Exception {
+        H2SnapshotSpringLiquibase liquibase = liquibase(dataSource("key"));
+        String key = liquibase.getSnapshotKey();
+
+        assertThat(liquibase(dataSource("same")).getSnapshotKey()).isEqualTo(key);
+        assertThat(liquibase(dataSource("mode", ";MODE=PostgreSQL")).getSnapshotKey()).isNotEqualTo(key);
+        liquibase.setContexts("test");
+        assertThat(liquibase.getSnapshotKey()).isNotEqualTo(key);
+    }
+
+    @Test
+    public void testCorruptSnapshotFallsBackToMigrations() throws Exception {
+        DataSource dataSource = dataSource("corrupt");
+        H2SnapshotSpringLiquibase liquibase = liquibase(dataSource);
+        Files.createDirectories(directory);
+        Files.write(H2SnapshotHelper.getSnapshotPath(directory, liquibase.getSnapshotKey()), new byte[]{1, 2, 3});
+
+        liquibase.afterPropertiesSet();
+
+        assertThat(recorder.play()).extracting(LogbackRecorder.Event::getMessage).containsExactly(
+            H2SnapshotSpringLiquibase.RESTORE_FAILED_MESSAGE, H2SnapshotSpringLiquibase.SNAPSHOT_MESSAGE);
+        assertThat(count(dataSource, "DATABASECHANGELOG")).isEqualTo(1);
+        recorder.reset();
+        liquibase(dataSource("restored")).afterPropertiesSet();
+        assertThat(recorder.play()).extracting(LogbackRecorder.Event::getMessage)
+            .containsExactly(H2SnapshotSpringLiquibase.RESTORED_MESSAGE);
+    }
+
+    @Test
+    public void testSnapshotIsNotRestoredWhenLiquibaseShouldNotRun() throws Exception {
+        liquibase(dataSource("taken")).afterPropertiesSet();
+        DataSource dataSource = dataSource("kept");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE kept (id BIGINT)");
+        }
+        recorder.reset();
+
+        H2SnapshotSpringLiquibase liquibase = liquibase(dataSource);
+        liquibase.setShouldRun(false);
+        liquibase.afterPropertiesSet();
+
+        assertThat(recorder.play()).extracting(LogbackRecorder.Event::getMessage).doesNotContain(
+            H2SnapshotSpringLiquibase.RESTORED_MESSAGE, H2SnapshotSpringLiquibase.SNAPSHOT_MESSAGE);
+        assertThat(count(dataSource, "kept")).isZero();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.getMetaData().getTables(null, null, "DATABASECHANGELOG", null)) {
+            assertThat(resultSet.next()).isFalse();
+        }
+    }
+
+    private H2SnapshotSpringLiquibase liquibase(DataSource dataSource) {
+        H2SnapshotSpringLiquibase liquibase = new H2SnapshotSpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(CHANGE_LOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setSnapshotDirectory(directory);
+        return liquibase;
+    }
+
+    private static DataSource dataSource(String name) {
+        return dataSource(name, "");
+    }
+
+    private static DataSource dataSource(String name, String settings) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:snapshot-liquibase-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1" +
+            settings);
+        return dataSource;
+    }
+
+    private static int count(DataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
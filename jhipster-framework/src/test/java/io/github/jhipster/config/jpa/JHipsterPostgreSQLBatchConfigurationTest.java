@@ -0,0 +1,295 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.jpa;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.jhipster.config.JHipsterProperties;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JHipsterPostgreSQLBatchConfigurationTest {
+
+    private final JHipsterPostgreSQLBatchConfiguration configuration = new JHipsterPostgreSQLBatchConfiguration();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(JHipsterPostgreSQLBatchConfiguration.class))
+        .withUserConfiguration(PropertiesConfiguration.class);
+
+    @Test
+    public void testEnabledByProperty() {
+        contextRunner.withPropertyValues("jhipster.database.postgresql-batch.enabled=true").run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).hasSingleBean(HibernatePropertiesCustomizer.class);
+            assertThat(context.getBean(JHipsterProperties.class).getDatabase().getPostgresqlBatch().isEnabled())
+                .isTrue();
+        });
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(HibernatePropertiesCustomizer.class);
+        });
+    }
+
+    @Test
+    public void testBatchedInsertsRewriteOnPostgreSQL() {
+        HikariDataSource dataSource = dataSource("jdbc:postgresql://localhost:5432/jhipster");
+
+        Object bean = JHipsterPostgreSQLBatchConfiguration.postgreSQLBatchDataSourcePostProcessor()
+            .postProcessBeforeInitialization(dataSource, "dataSource");
+
+        assertThat(bean).isSameAs(dataSource);
+        assertThat(dataSource.getDataSourceProperties())
+            .containsEntry(JHipsterPostgreSQLBatchConfiguration.REWRITE_BATCHED_INSERTS, "true");
+    }
+
+    @Test
+    public void testBatchedInsertsRewriteKeepsExplicitSettings() {
+        HikariDataSource dataSource = dataSource("jdbc:postgresql://localhost:5432/jhipster");
+        dataSource.addDataSourceProperty(JHipsterPostgreSQLBatchConfiguration.REWRITE_BATCHED_INSERTS, "false");
+        HikariDataSource urlDataSource =
+            dataSource("jdbc:postgresql://localhost:5432/jhipster?reWriteBatchedInserts=false");
+
+        BeanPostProcessor postProcessor = JHipsterPostgreSQLBatchConfiguration.postgreSQLBatchDataSourcePostProcessor();
+        postProcessor.postProcessBeforeInitialization(dataSource, "dataSource");
+        postProcessor.postProcessBeforeInitialization(urlDataSource, "urlDataSource");
+
+        assertThat(dataSource.getDataSourceProperties())
+            .containsEntry(JHipsterPostgreSQLBatchConfiguration.REWRITE_BATCHED_INSERTS, "false");
+        assertThat(urlDataSource.getDataSourceProperties()).isEmpty();
+    }
+
+    @Test
+    public void testBatchedInsertsRewriteIgnoresOtherDatabases() {
+        HikariDataSource dataSource = dataSource("jdbc:h2:mem:jhipster");
+
+        JHipsterPostgreSQLBatchConfiguration.postgreSQLBatchDataSourcePostProcessor()
+            .postProcessBeforeInitialization(dataSource, "dataSource");
+
+        assertThat(dataSource.getDataSourceProperties()).isEmpty();
+    }
+
+    @Test
+    public void testBatchSettings() {
+        Map<String, Object> properties = new HashMap<>();
+
+        configuration.postgreSQLBatchHibernatePropertiesCustomizer().customize(properties);
+
+        assertThat(properties)
+            .containsEntry(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+            .containsEntry(AvailableSettings.ORDER_INSERTS, "true")
+            .containsEntry(AvailableSettings.ORDER_UPDATES, "true")
+            .containsEntry(AvailableSettings.BATCH_VERSIONED_DATA, "true");
+    }
+
+    @Test
+    public void testBatchSettingsKeepExplicitSettings() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, "20");
+        properties.put(AvailableSettings.ORDER_UPDATES, "false");
+
+        configuration.postgreSQLBatchHibernatePropertiesCustomizer().customize(properties);
+
+        assertThat(properties)
+            .containsEntry(AvailableSettings.STATEMENT_BATCH_SIZE, "20")
+            .containsEntry(AvailableSettings.ORDER_UPDATES, "false");
+    }
+
+    @Test
+    public void testPooledLoOptimizer() {
+        Map<String, Object> properties = new HashMap<>();
+
+        configuration.postgreSQLBatchHibernatePropertiesCustomizer().customize(properties);
+
+        assertThat(properties).containsEntry(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+    }
+
+    @Test
+    public void testPooledLoOptimizerKeepsExplicitSettings() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled");
+
+        configuration.postgreSQLBatchHibernatePropertiesCustomizer().customize(properties);
+
+        assertThat(properties).containsEntry(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled");
+    }
+
+    @Test
+    public void testBatchSettingsBatchInsertsOnPostgreSQLMode() {
+        Map<String, Object> properties = new HashMap<>();
+        configuration.postgreSQLBatchHibernatePropertiesCustomizer().customize(properties);
+
+        StatementCounter batched = persist("batched", properties, 100);
+        StatementCounter unbatched = persist("unbatched", new HashMap<>(), 100);
+
+        // 100 rows: 2 batches of 50 inserts and 2 sequence calls with pooled-lo, instead of 100 inserts
+        assertThat(batched.batches.get()).isEqualTo(2);
+        assertThat(batched.updates.get()).isZero();
+        assertThat(batched.queries.get()).isEqualTo(2);
+        assertThat(unbatched.batches.get()).isZero();
+        assertThat(unbatched.updates.get()).isEqualTo(100);
+    }
+
+    private static StatementCounter persist(String database, Map<String, Object> properties, int count) {
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL("jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        StatementCounter counter = new StatementCounter();
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+            .applySettings(properties)
+            .applySetting(AvailableSettings.DATASOURCE, counter.wrap(h2DataSource))
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .build();
+        try (SessionFactory sessionFactory = new MetadataSources(registry).addAnnotatedClass(BatchEntity.class)
+            .buildMetadata().buildSessionFactory(); Session session = sessionFactory.openSession()) {
+            counter.reset();
+            session.beginTransaction();
+            for (int i = 0; i < count; i++) {
+                session.persist(new BatchEntity());
+            }
+            session.getTransaction().commit();
+            StatementCounter result = counter.copy();
+            assertThat(session.createQuery("select count(e) from BatchEntity e", Long.class).getSingleResult())
+                .isEqualTo(count);
+            return result;
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    private static HikariDataSource dataSource(String jdbcUrl) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl);
+        return dataSource;
+    }
+
+    @EnableConfigurationProperties(JHipsterProperties.class)
+    static class PropertiesConfiguration {
+    }
+
+    @Entity(name = "BatchEntity")
+    @Table(name = "batch_entity")
+    public static class BatchEntity {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "batchEntitySequence")
+        @SequenceGenerator(name = "batchEntitySequence", sequenceName = "batch_entity_seq")
+        private Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Counts the statements executed on the prepared statements of a data source.
+     */
+    private static class StatementCounter {
+
+        private final AtomicInteger batches = new AtomicInteger();
+
+        private final AtomicInteger updates = new AtomicInteger();
+
+        private final AtomicInteger queries = new AtomicInteger();
+
+        void reset() {
+            batches.set(0);
+            updates.set(0);
+            queries.set(0);
+        }
+
+        StatementCounter copy() {
+            StatementCounter copy = new StatementCounter();
+            copy.batches.set(batches.get());
+            copy.updates.set(updates.get());
+            copy.queries.set(queries.get());
+            return copy;
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource);
+        }
+
+        private <T> T proxy(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Connection) {
+                        return proxy(Connection.class, (Connection) result);
+                    }
+                    if (result instanceof PreparedStatement) {
+                        return proxy(PreparedStatement.class, (PreparedStatement) result);
+                    }
+                    if (target instanceof PreparedStatement) {
+                        count(method.getName());
+                    }
+                    return result;
+                }));
+        }
+
+        private void count(String methodName) {
+            if ("executeBatch".equals(methodName)) {
+                batches.incrementAndGet();
+            } else if ("executeUpdate".equals(methodName)) {
+                updates.incrementAndGet();
+            } else if ("executeQuery".equals(methodName)) {
+                queries.incrementAndGet();
+            }
+        }
+    }
+}
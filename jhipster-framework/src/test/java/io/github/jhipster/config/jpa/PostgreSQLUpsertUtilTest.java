@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.jhipster.config.jpa;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class PostgreSQLUpsertUtilTest {
+
+    @Test
+    public void testUpsertString() {
+        String sql = PostgreSQLUpsertUtil.getUpsertString("jhi_person", new String[]{"id", "name", "age"},
+            new String[]{"id"});
+        assertThat(sql).isEqualTo("insert into jhi_person (id, name, age) values (?, ?, ?) " +
+            "on conflict (id) do update set name = excluded.name, age = excluded.age");
+    }
+
+    @Test
+    public void testUpsertStringWithOnlyConflictColumns() {
+        String sql = PostgreSQLUpsertUtil.getUpsertString("jhi_tag", new String[]{"name"}, new String[]{"NAME"});
+        assertThat(sql).isEqualTo("insert into jhi_tag (name) values (?) on conflict (NAME) do nothing");
+    }
+
+    @Test
+    public void testUpsertStringWithoutConflictColumns() {
+        Throwable caught = catchThrowable(() ->
+            PostgreSQLUpsertUtil.getUpsertString("jhi_tag", new String[]{"name"}, new String[0]));
+        assertThat(caught).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testUpsertInBatches() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.supportsBatchUpdates()).thenReturn(true);
+        when(connection.prepareStatement(any())).thenReturn(statement);
+        when(statement.getConnection()).thenReturn(connection);
+        when(statement.executeBatch()).thenReturn(new int[0]);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            rows.add(new Object[]{i, "name" + i});
+        }
+
+        int[][] counts = PostgreSQLUpsertUtil.upsert(new JdbcTemplate(dataSource), "jhi_person",
+            new String[]{"id", "name"}, new String[]{"id"}, rows);
+
+        assertThat(counts).hasSize(3);
+        verify(connection).prepareStatement("insert into jhi_person (id, name) values (?, ?) " +
+            "on conflict (id) do update set name = excluded.name");
+        verify(statement, times(120)).addBatch();
+        verify(statement, times(3)).executeBatch();
+        verify(statement).setObject(1, 119);
+        verify(statement).setObject(2, "name119");
+        verify(statement, never()).executeUpdate();
+        verify(statement, times(240)).setObject(anyInt(), any());
+    }
+}
@@ -19,23 +19,30 @@
 
 package io.github.jhipster.config.liquibase;
 
+import com.zaxxer.hikari.HikariDataSource;
 import io.github.jhipster.test.LogbackRecorder;
 import io.github.jhipster.test.LogbackRecorder.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import liquibase.Liquibase;
 import liquibase.exception.LiquibaseException;
+import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.mock.env.MockEnvironment;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static io.github.jhipster.config.JHipsterConstants.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -238,6 +245,203 @@ public class AsyncSpringLiquibaseTest {
         assertThat(event1.getThrown()).isEqualTo(exception.toString());
     }
 
+    @Test
+    public void testFingerprintSkipsUnchangedChangeLog() throws Exception {
+        environment.setActiveProfiles(SPRING_PROFILE_PRODUCTION);
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:async-liquibase-fingerprint;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection()) {
+            fingerprintLiquibase(dataSource).afterPropertiesSet();
+            assertThat(recorder.play()).extracting(Event::getMessage)
+                .doesNotContain(AsyncSpringLiquibase.FINGERPRINT_MATCH_MESSAGE);
+            String stored = new ChangeLogFingerprint(ChangeLogFingerprint.DEFAULT_TABLE_NAME).read(connection);
+            assertThat(stored).isNotNull();
+
+            recorder.reset();
+            fingerprintLiquibase(dataSource).afterPropertiesSet();
+            assertThat(recorder.play()).extracting(Event::getMessage)
+                .contains(AsyncSpringLiquibase.FINGERPRINT_MATCH_MESSAGE);
+
+            connection.createStatement().executeUpdate("UPDATE JHI_CHANGELOG_FINGERPRINT SET FINGERPRINT = 'stale'");
+            recorder.reset();
+            fingerprintLiquibase(dataSource).afterPropertiesSet();
+            assertThat(recorder.play()).extracting(Event::getMessage)
+                .doesNotContain(AsyncSpringLiquibase.FINGERPRINT_MATCH_MESSAGE);
+            assertThat(new ChangeLogFingerprint(ChangeLogFingerprint.DEFAULT_TABLE_NAME).read(connection))
+                .isEqualTo(stored);
+        } finally {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.createStatement().execute("DROP ALL OBJECTS");
+            }
+        }
+    }
+
+    @Test
+    public void testMigrationProgress() throws Exception {
+        environment.setActiveProfiles(SPRING_PROFILE_PRODUCTION);
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:async-liquibase-progress;DB_CLOSE_DELAY=-1");
+        AsyncSpringLiquibase liquibase = fingerprintLiquibase(dataSource);
+        liquibase.setFingerprintEnabled(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new LiquibaseMetrics(liquibase.getMigrationProgress()).bindTo(registry);
+        LiquibaseMigrationHealthIndicator healthIndicator =
+            new LiquibaseMigrationHealthIndicator(liquibase.getMigrationProgress());
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        try {
+            liquibase.afterPropertiesSet();
+        } finally {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.createStatement().execute("DROP ALL OBJECTS");
+            }
+        }
+
+        assertThat(liquibase.getMigrationProgress().getStatus()).isEqualTo(LiquibaseMigrationProgress.Status.SUCCEEDED);
+        assertThat(registry.get("liquibase.changesets.applied").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("liquibase.changesets.remaining").gauge().value()).isZero();
+        assertThat(registry.get("liquibase.changeset").tag("outcome", "EXECUTED").timer().count()).isEqualTo(1);
+        assertThat(registry.find("liquibase.changeset").tagKeys("id").timer()).isNull();
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    public void testMigrationProgressFailure() {
+        environment.setActiveProfiles(SPRING_PROFILE_PRODUCTION);
+        TestAsyncSpringLiquibase liquibase = new TestAsyncSpringLiquibase(executor, environment) {
+            @Override
+            protected void performUpdate(Liquibase liquibase) {
+                throw new IllegalStateException("Eek");
+            }
+        };
+
+        Throwable caught = catchThrowable(liquibase::afterPropertiesSet);
+
+        assertThat(caught).isInstanceOf(IllegalStateException.class);
+        assertThat(liquibase.getMigrationProgress().getStatus()).isEqualTo(LiquibaseMigrationProgress.Status.FAILED);
+        assertThat(new LiquibaseMigrationHealthIndicator(liquibase.getMigrationProgress()).health().getStatus())
+            .isEqualTo(Status.DOWN);
+    }
+
+    @Test
+    public void testParallelChangeSets() throws Exception {
+        environment.setActiveProfiles(SPRING_PROFILE_PRODUCTION);
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:async-liquibase-parallel;DB_CLOSE_DELAY=-1");
+        AsyncSpringLiquibase liquibase = fingerprintLiquibase(dataSource);
+        liquibase.setFingerprintEnabled(false);
+        liquibase.setChangeLog("classpath:config/liquibase/parallel/master.xml");
+        liquibase.setParallelChangeSetsEnabled(true);
+
+        try (Connection connection = dataSource.getConnection()) {
+            liquibase.afterPropertiesSet();
+            ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM DATABASECHANGELOG");
+            resultSet.next();
+            assertThat(resultSet.getInt(1)).isEqualTo(6);
+            assertThat(liquibase.getMigrationProgress().getAppliedCount()).isEqualTo(6);
+            assertThat(liquibase.getMigrationProgress().getRemainingCount()).isZero();
+        } finally {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.createStatement().execute("DROP ALL OBJECTS");
+            }
+        }
+    }
+
+    @Test
+    public void testParallelLabelsAreIgnoredWhenFilteringSequentially() throws Exception {
+        environment.setActiveProfiles(SPRING_PROFILE_PRODUCTION);
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:async-liquibase-sequential;DB_CLOSE_DELAY=-1");
+        AsyncSpringLiquibase liquibase = fingerprintLiquibase(dataSource);
+        liquibase.setFingerprintEnabled(false);
+        liquibase.setChangeLog("classpath:config/liquibase/parallel/master.xml");
+        liquibase.setLabels("v1");
+
+        try (Connection connection = dataSource.getConnection()) {
+            liquibase.afterPropertiesSet();
+            ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM DATABASECHANGELOG");
+            resultSet.next();
+            assertThat(resultSet.getInt(1)).isEqualTo(6);
+        } finally {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.createStatement().execute("DROP ALL OBJECTS");
+            }
+        }
+    }
+
+    @Test
+    public void testConnectionIsReusedForMigration() throws Exception {
+        environment.setActiveProfiles(SPRING_PROFILE_DEVELOPMENT);
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL("jdbc:h2:mem:async-liquibase-connection;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = spy(h2DataSource);
+        AsyncSpringLiquibase liquibase = fingerprintLiquibase(dataSource);
+        liquibase.setFingerprintEnabled(false);
+
+        try {
+            liquibase.afterPropertiesSet();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (liquibase.getMigrationProgress().getStatus() == LiquibaseMigrationProgress.Status.RUNNING &&
+                System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            try (Connection connection = h2DataSource.getConnection()) {
+                connection.createStatement().execute("DROP ALL OBJECTS");
+            }
+        }
+
+        assertThat(liquibase.getMigrationProgress().getStatus()).isEqualTo(LiquibaseMigrationProgress.Status.SUCCEEDED);
+        assertThat(liquibase.getMigrationProgress().getConnectionAcquireNanos()).isPositive();
+        verify(dataSource, times(1)).getConnection();
+        assertThat(liquibase.getDataSource()).isSameAs(dataSource);
+    }
+
+    @Test
+    public void testDataSourceIsClosedWhenLiquibaseShouldNotRun() throws Exception {
+        environment.setActiveProfiles(SPRING_PROFILE_DEVELOPMENT);
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:async-liquibase-should-not-run");
+        dataSource.setPoolName(SpringLiquibaseUtil.LIQUIBASE_POOL_NAME);
+        AsyncSpringLiquibase liquibase = fingerprintLiquibase(dataSource);
+        liquibase.setCloseDataSourceOnceMigrated(true);
+        liquibase.setShouldRun(false);
+
+        liquibase.afterPropertiesSet();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!dataSource.isClosed() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(dataSource.isClosed()).isTrue();
+        assertThat(liquibase.getMigrationProgress().getStatus()).isEqualTo(LiquibaseMigrationProgress.Status.SUCCEEDED);
+    }
+
+    @Test
+    public void testDataSourceIsClosedOnDestroyWhenKept() throws Exception {
+        environment.setActiveProfiles(SPRING_PROFILE_PRODUCTION);
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:async-liquibase-destroy");
+        AsyncSpringLiquibase liquibase = fingerprintLiquibase(dataSource);
+        liquibase.setShouldRun(false);
+
+        liquibase.afterPropertiesSet();
+        assertThat(dataSource.isClosed()).isFalse();
+
+        liquibase.destroy();
+        assertThat(dataSource.isClosed()).isTrue();
+    }
+
+    private AsyncSpringLiquibase fingerprintLiquibase(DataSource dataSource) {
+        AsyncSpringLiquibase liquibase = new AsyncSpringLiquibase(executor, environment);
+        liquibase.setCloseDataSourceOnceMigrated(false);
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setChangeLog("classpath:config/liquibase/fingerprint/master.xml");
+        liquibase.setFingerprintEnabled(true);
+        return liquibase;
+    }
+
     private class TestAsyncSpringLiquibase
         extends AsyncSpringLiquibase {
 
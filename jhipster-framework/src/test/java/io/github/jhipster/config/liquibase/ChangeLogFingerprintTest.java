@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.liquibase;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.sql.Connection;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeLogFingerprintTest {
+
+    private static final String LOCATION_PATTERN = "classpath*:config/liquibase/fingerprint/**";
+
+    private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+    private final ChangeLogFingerprint fingerprint = new ChangeLogFingerprint(ChangeLogFingerprint.DEFAULT_TABLE_NAME);
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:fingerprint;DB_CLOSE_DELAY=-1");
+        connection = dataSource.getConnection();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        connection.createStatement().execute("DROP ALL OBJECTS");
+        connection.close();
+    }
+
+    @Test
+    public void testDefaultLocationPattern() {
+        assertThat(ChangeLogFingerprint.getDefaultLocationPattern("classpath:config/liquibase/master.xml"))
+            .isEqualTo("classpath*:config/liquibase/**");
+        assertThat(ChangeLogFingerprint.getDefaultLocationPattern("master.xml")).isEqualTo("classpath*:master.xml");
+    }
+
+    @Test
+    public void testComputeIsStable() throws Exception {
+        String first = fingerprint.compute(resolver, LOCATION_PATTERN, Collections.singletonMap("contexts", "prod"));
+        String second = fingerprint.compute(resolver, LOCATION_PATTERN, Collections.singletonMap("contexts", "prod"));
+
+        assertThat(first).hasSize(64).isEqualTo(second);
+    }
+
+    @Test
+    public void testComputeDependsOnSettingsAndResources() throws Exception {
+        String prod = fingerprint.compute(resolver, LOCATION_PATTERN, Collections.singletonMap("contexts", "prod"));
+        String dev = fingerprint.compute(resolver, LOCATION_PATTERN, Collections.singletonMap("contexts", "dev"));
+        String masterOnly = fingerprint.compute(resolver, "classpath*:config/liquibase/fingerprint/master.xml",
+            Collections.singletonMap("contexts", "prod"));
+
+        assertThat(prod).isNotEqualTo(dev).isNotEqualTo(masterOnly);
+    }
+
+    @Test
+    public void testReadAndStore() throws Exception {
+        assertThat(fingerprint.read(connection)).isNull();
+
+        fingerprint.store(connection, "first");
+        assertThat(fingerprint.read(connection)).isEqualTo("first");
+
+        fingerprint.store(connection, "second");
+        assertThat(fingerprint.read(connection)).isEqualTo("second");
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.jhipster.config.liquibase;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.availability.ApplicationAvailabilityAutoConfiguration;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JHipsterLiquibaseMigrationConfigurationTest {
+
+    private final LiquibaseMigrationProgress progress = new LiquibaseMigrationProgress();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(JHipsterLiquibaseMigrationConfiguration.class,
+            ApplicationAvailabilityAutoConfiguration.class));
+
+    @Test
+    public void testBeansAreRegisteredForAsyncSpringLiquibase() {
+        contextRunner.withBean(AsyncSpringLiquibase.class, this::liquibase).run(context -> {
+            assertThat(context).hasSingleBean(LiquibaseMetrics.class);
+            assertThat(context).hasSingleBean(LiquibaseMigrationReadinessListener.class);
+            assertThat(context.getBean("liquibaseMigrationHealthIndicator", LiquibaseMigrationHealthIndicator.class)
+                .health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        });
+    }
+
+    @Test
+    public void testHealthIndicatorCanBeDisabled() {
+        contextRunner.withBean(AsyncSpringLiquibase.class, this::liquibase)
+            .withPropertyValues("management.health.liquibase-migration.enabled=false")
+            .run(context -> assertThat(context).doesNotHaveBean(LiquibaseMigrationHealthIndicator.class));
+    }
+
+    @Test
+    public void testNothingIsRegisteredWithoutAsyncSpringLiquibase() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(LiquibaseMetrics.class);
+            assertThat(context).doesNotHaveBean(LiquibaseMigrationHealthIndicator.class);
+            assertThat(context).doesNotHaveBean(LiquibaseMigrationReadinessListener.class);
+        });
+    }
+
+    @Test
+    public void testTrafficIsRefusedUntilMigrationSucceeds() {
+        contextRunner.withBean(AsyncSpringLiquibase.class, this::liquibase).run(context -> {
+            ApplicationAvailability availability = context.getBean(ApplicationAvailability.class);
+            progress.started();
+
+            AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+            assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+
+            progress.succeeded();
+            assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        });
+    }
+
+    @Test
+    public void testTrafficIsRefusedWhenMigrationFails() {
+        contextRunner.withBean(AsyncSpringLiquibase.class, this::liquibase).run(context -> {
+            ApplicationAvailability availability = context.getBean(ApplicationAvailability.class);
+            progress.started();
+
+            AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+            progress.failed(new IllegalStateException("Eek"));
+
+            assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+        });
+    }
+
+    @Test
+    public void testTrafficIsAcceptedOnceMigrated() {
+        contextRunner.withBean(AsyncSpringLiquibase.class, this::liquibase).run(context -> {
+            ApplicationAvailability availability = context.getBean(ApplicationAvailability.class);
+            progress.succeeded();
+
+            AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+
+            assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        });
+    }
+
+    private AsyncSpringLiquibase liquibase() {
+        AsyncSpringLiquibase liquibase = mock(AsyncSpringLiquibase.class);
+        when(liquibase.getMigrationProgress()).thenReturn(progress);
+        return liquibase;
+    }
+}
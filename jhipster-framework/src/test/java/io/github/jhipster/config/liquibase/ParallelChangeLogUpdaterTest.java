@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.liquibase;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Labels;
+import liquibase.Liquibase;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.LiquibaseException;
+import liquibase.exception.MigrationFailedException;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ParallelChangeLogUpdaterTest {
+
+    private JdbcDataSource dataSource;
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:parallel-liquibase;DB_CLOSE_DELAY=-1");
+        connection = dataSource.getConnection();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        connection.createStatement().execute("DROP ALL OBJECTS");
+        connection.close();
+    }
+
+    @Test
+    public void testParallelGroup() {
+        assertThat(ParallelChangeLogUpdater.getParallelGroup(changeSet("parallel:indexes"))).isEqualTo("indexes");
+        assertThat(ParallelChangeLogUpdater.getParallelGroup(changeSet("other, parallel:b"))).isEqualTo("b");
+        assertThat(ParallelChangeLogUpdater.getParallelGroup(changeSet("parallel:"))).isNull();
+        assertThat(ParallelChangeLogUpdater.getParallelGroup(changeSet(null))).isNull();
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        Map<String, String> threads = new ConcurrentHashMap<>();
+        LiquibaseMigrationProgress progress = new LiquibaseMigrationProgress();
+        progress.addChangeSetListener((changeSet, execType, duration) ->
+            threads.put(changeSet.getId(), Thread.currentThread().getName()));
+        ParallelChangeLogUpdater updater = new ParallelChangeLogUpdater(this::newDatabase, 2);
+        updater.setChangeExecListener(progress);
+
+        updater.update(liquibase("config/liquibase/parallel/master.xml"), new Contexts(), new LabelExpression());
+
+        assertThat(executedChangeSets()).containsExactly("1", "2", "3", "4", "5", "6");
+        assertThat(count("jhi_group_a")).isEqualTo(1);
+        assertThat(count("jhi_group_b")).isEqualTo(1);
+        assertThat(count("jhi_final")).isZero();
+        assertThat(progress.getAppliedCount()).isEqualTo(6);
+        assertThat(threads.get("1")).isEqualTo(Thread.currentThread().getName());
+        assertThat(threads.get("2")).startsWith("liquibase-parallel-").isEqualTo(threads.get("4"));
+        assertThat(threads.get("3")).startsWith("liquibase-parallel-").isEqualTo(threads.get("5"));
+        assertThat(threads.get("6")).isEqualTo(Thread.currentThread().getName());
+
+        // Nothing left to run
+        updater.update(liquibase("config/liquibase/parallel/master.xml"), new Contexts(), new LabelExpression());
+        assertThat(progress.getAppliedCount()).isEqualTo(6);
+    }
+
+    @Test
+    public void testUpdateRecordsOtherGroupsWhenOneFails() throws Exception {
+        ParallelChangeLogUpdater updater = new ParallelChangeLogUpdater(this::newDatabase, 2);
+
+        Throwable caught = catchThrowable(() ->
+            updater.update(liquibase("config/liquibase/parallel/failing.xml"), new Contexts(), new LabelExpression()));
+
+        assertThat(caught).isInstanceOf(MigrationFailedException.class);
+        assertThat(executedChangeSets()).containsExactlyInAnyOrder("1", "3");
+        assertThat(count("jhi_group_a")).isEqualTo(1);
+    }
+
+    @Test
+    public void testUpdateRecordsChangeSetsInChangeLogOrder() throws Exception {
+        List<String> recordedBeforeLast = new ArrayList<>();
+        LiquibaseMigrationProgress progress = new LiquibaseMigrationProgress();
+        progress.addChangeSetListener((changeSet, execType, duration) -> {
+            if ("5".equals(changeSet.getId())) {
+                try {
+                    recordedBeforeLast.addAll(executedChangeSets());
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        // With a single group at a time, change sets 2 and 4 of group a run before change sets 3 and 5 of group b
+        ParallelChangeLogUpdater updater = new ParallelChangeLogUpdater(this::newDatabase, 1);
+        updater.setChangeExecListener(progress);
+
+        updater.update(liquibase("config/liquibase/parallel/master.xml"), new Contexts(), new LabelExpression());
+
+        // The segment is recorded once all its groups are done
+        assertThat(recordedBeforeLast).containsExactly("1");
+        assertThat(executedChangeSets()).containsExactly("1", "2", "3", "4", "5", "6");
+    }
+
+    @Test
+    public void testUpdateIgnoresParallelLabelsWhenFiltering() throws Exception {
+        ParallelChangeLogUpdater updater = new ParallelChangeLogUpdater(this::newDatabase, 2);
+
+        updater.update(liquibase("config/liquibase/parallel/master.xml"), new Contexts(), new LabelExpression("v1"));
+
+        assertThat(executedChangeSets()).containsExactlyInAnyOrder("1", "2", "3", "4", "5", "6");
+    }
+
+    @Test
+    public void testMoveParallelLabels() {
+        DatabaseChangeLog changeLog = new DatabaseChangeLog();
+        ChangeSet parallel = changeSet("parallel:a");
+        ChangeSet labelled = changeSet("parallel:a, v2");
+        ChangeSet other = changeSet("v2");
+        ChangeSet unlabelled = changeSet(null);
+        changeLog.addChangeSet(parallel);
+        changeLog.addChangeSet(labelled);
+        changeLog.addChangeSet(other);
+        changeLog.addChangeSet(unlabelled);
+
+        ParallelChangeLogUpdater.moveParallelLabels(changeLog);
+        ParallelChangeLogUpdater.moveParallelLabels(changeLog);
+
+        assertThat(parallel.getLabels().isEmpty()).isTrue();
+        assertThat(ParallelChangeLogUpdater.getParallelGroup(parallel)).isEqualTo("a");
+        assertThat(labelled.getLabels().getLabels()).containsExactly("v2");
+        assertThat(ParallelChangeLogUpdater.getParallelGroup(labelled)).isEqualTo("a");
+        assertThat(other.getLabels().getLabels()).containsExactly("v2");
+        assertThat(ParallelChangeLogUpdater.getParallelGroup(other)).isNull();
+        assertThat(unlabelled.getLabels()).isNull();
+        assertThat(ParallelChangeLogUpdater.getParallelGroup(unlabelled)).isNull();
+    }
+
+    private Liquibase liquibase(String changeLog) throws LiquibaseException {
+        return new Liquibase(changeLog, new ClassLoaderResourceAccessor(), newDatabase());
+    }
+
+    private Database newDatabase() throws LiquibaseException {
+        try {
+            return DatabaseFactory.getInstance().findCorrectDatabaseImplementation(
+                new JdbcConnection(dataSource.getConnection()));
+        } catch (SQLException e) {
+            throw new LiquibaseException(e);
+        }
+    }
+
+    private List<String> executedChangeSets() throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (ResultSet resultSet = connection.createStatement()
+            .executeQuery("SELECT ID FROM DATABASECHANGELOG ORDER BY ORDEREXECUTED")) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getString(1));
+            }
+        }
+        return ids;
+    }
+
+    private int count(String table) throws SQLException {
+        try (ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static ChangeSet changeSet(String labels) {
+        ChangeSet changeSet = new ChangeSet("1", "jhipster", false, false, "changelog.xml", null, null, null, null);
+        if (labels != null) {
+            changeSet.setLabels(new Labels(labels));
+        }
+        return changeSet;
+    }
+}
@@ -21,12 +21,17 @@ package io.github.jhipster.config.liquibase;
 import com.zaxxer.hikari.HikariDataSource;
 import javax.sql.DataSource;
 import liquibase.integration.spring.SpringLiquibase;
+import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.autoconfigure.liquibase.DataSourceClosingSpringLiquibase;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 
@@ -81,7 +86,10 @@ public class SpringLiquibaseUtilTest {
             .asInstanceOf(type(HikariDataSource.class))
             .hasFieldOrPropertyWithValue("jdbcUrl", "jdbc:h2:mem:liquibase")
             .hasFieldOrPropertyWithValue("username", "sa")
-            .hasFieldOrPropertyWithValue("password", "password");
+            .hasFieldOrPropertyWithValue("password", "password")
+            .hasFieldOrPropertyWithValue("poolName", SpringLiquibaseUtil.LIQUIBASE_POOL_NAME)
+            .hasFieldOrPropertyWithValue("maximumPoolSize", SpringLiquibaseUtil.LIQUIBASE_POOL_SIZE)
+            .hasFieldOrPropertyWithValue("minimumIdle", 0);
     }
 
     @Test
@@ -129,7 +137,52 @@ public class SpringLiquibaseUtilTest {
             .asInstanceOf(type(HikariDataSource.class))
             .hasFieldOrPropertyWithValue("jdbcUrl", "jdbc:h2:mem:liquibase")
             .hasFieldOrPropertyWithValue("username", "sa")
-            .hasFieldOrPropertyWithValue("password", "password");
+            .hasFieldOrPropertyWithValue("password", "password")
+            .hasFieldOrPropertyWithValue("poolName", SpringLiquibaseUtil.LIQUIBASE_POOL_NAME)
+            .hasFieldOrPropertyWithValue("maximumPoolSize", SpringLiquibaseUtil.LIQUIBASE_POOL_SIZE)
+            .hasFieldOrPropertyWithValue("minimumIdle", 0);
+    }
+
+    @Test
+    public void fitParallelismGrowsDedicatedPool() throws Exception {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:liquibase");
+        dataSource.setPoolName(SpringLiquibaseUtil.LIQUIBASE_POOL_NAME);
+        dataSource.setMaximumPoolSize(SpringLiquibaseUtil.LIQUIBASE_POOL_SIZE);
+        dataSource.setConnectionTimeout(1000);
+        List<Connection> connections = new ArrayList<>();
+        try {
+            // The pool is already started when the migration begins
+            connections.add(dataSource.getConnection());
+
+            assertThat(SpringLiquibaseUtil.fitParallelism(dataSource, 8)).isEqualTo(8);
+
+            for (int i = 0; i < 8; i++) {
+                connections.add(dataSource.getConnection());
+            }
+            assertThat(dataSource.getMaximumPoolSize()).isEqualTo(9);
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+            dataSource.close();
+        }
     }
 
+    @Test
+    public void fitParallelismCapsSharedPool() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(4);
+
+        assertThat(SpringLiquibaseUtil.fitParallelism(dataSource, 8)).isEqualTo(3);
+        assertThat(SpringLiquibaseUtil.fitParallelism(dataSource, 2)).isEqualTo(2);
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(4);
+    }
+
+    @Test
+    public void fitParallelismKeepsOtherDataSources() {
+        DataSource dataSource = new JdbcDataSource();
+
+        assertThat(SpringLiquibaseUtil.fitParallelism(dataSource, 8)).isEqualTo(8);
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.locale;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AngularCookieLocaleCacheTest {
+
+    @Test
+    public void testParse() {
+        AngularCookieLocaleContext context = AngularCookieLocaleCache.parse("%22fr-FR%20Europe/Paris%22");
+
+        assertThat(context.getLocale()).isEqualTo(Locale.FRANCE);
+        assertThat(context.getTimeZone()).isEqualTo(TimeZone.getTimeZone("Europe/Paris"));
+    }
+
+    @Test
+    public void testParseWithoutLocale() {
+        AngularCookieLocaleContext context = AngularCookieLocaleCache.parse("- GMT");
+
+        assertThat(context.getLocale()).isNull();
+        assertThat(context.getTimeZone()).isEqualTo(TimeZone.getTimeZone("GMT"));
+    }
+
+    @Test
+    public void testParseWithoutTimeZone() {
+        AngularCookieLocaleContext context = AngularCookieLocaleCache.parse("%22en%22");
+
+        assertThat(context.getLocale()).isEqualTo(Locale.ENGLISH);
+        assertThat(context.getTimeZone()).isNull();
+    }
+
+    @Test
+    public void testParsedValuesAreCached() {
+        AngularCookieLocaleCache cache = new AngularCookieLocaleCache();
+
+        AngularCookieLocaleContext first = cache.get("%22fr%22");
+        AngularCookieLocaleContext second = cache.get("%22fr%22");
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        AngularCookieLocaleCache cache = new AngularCookieLocaleCache(2);
+
+        cache.get("fr");
+        cache.get("en");
+        AngularCookieLocaleContext first = cache.get("de");
+        AngularCookieLocaleContext second = cache.get("de");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(first.getLocale()).isEqualTo(Locale.GERMAN);
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    public void testInvalidValuesAreNotCached() {
+        AngularCookieLocaleCache cache = new AngularCookieLocaleCache();
+
+        Throwable caught = catchThrowable(() -> cache.get("fr\u0000"));
+
+        assertThat(caught).isInstanceOf(IllegalArgumentException.class);
+        assertThat(cache.size()).isZero();
+    }
+}
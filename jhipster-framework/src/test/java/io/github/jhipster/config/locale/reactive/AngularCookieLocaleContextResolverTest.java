@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.locale.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleLocaleContext;
+import org.springframework.context.i18n.SimpleTimeZoneAwareLocaleContext;
+import org.springframework.context.i18n.TimeZoneAwareLocaleContext;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AngularCookieLocaleContextResolverTest {
+
+    private static final String COOKIE_NAME = "NG_TRANSLATE_LANG_KEY";
+    private static final Locale LOCALE_DEFAULT = Locale.UK;
+    private static final TimeZone TIMEZONE_CUSTOM = TimeZone.getTimeZone("GMT");
+    private static final TimeZone TIMEZONE_DEFAULT = TimeZone.getTimeZone("GMT+01:00");
+
+    private AngularCookieLocaleContextResolver resolver;
+
+    @BeforeEach
+    public void setup() {
+        resolver = new AngularCookieLocaleContextResolver();
+        resolver.setCookieName(COOKIE_NAME);
+        resolver.setDefaultLocale(LOCALE_DEFAULT);
+        resolver.setDefaultTimeZone(TIMEZONE_DEFAULT);
+    }
+
+    @Test
+    public void testDefaults() {
+        TimeZoneAwareLocaleContext context = resolve(MockServerHttpRequest.get("/"));
+
+        assertThat(context.getLocale()).isEqualTo(LOCALE_DEFAULT);
+        assertThat(context.getTimeZone()).isEqualTo(TIMEZONE_DEFAULT);
+    }
+
+    @Test
+    public void testAcceptLanguageWithoutDefaultLocale() {
+        resolver.setDefaultLocale(null);
+
+        TimeZoneAwareLocaleContext context = resolve(MockServerHttpRequest.get("/")
+            .header(HttpHeaders.ACCEPT_LANGUAGE, "de-DE, en;q=0.5"));
+
+        assertThat(context.getLocale()).isEqualTo(Locale.GERMANY);
+    }
+
+    @Test
+    public void testLocaleWithQuotes() {
+        TimeZoneAwareLocaleContext context = resolve(MockServerHttpRequest.get("/")
+            .cookie(new HttpCookie(COOKIE_NAME, "%22fr%22")));
+
+        assertThat(context.getLocale()).isEqualTo(Locale.FRENCH);
+        assertThat(context.getTimeZone()).isEqualTo(TIMEZONE_DEFAULT);
+    }
+
+    @Test
+    public void testTimeZoneWithoutLocale() {
+        TimeZoneAwareLocaleContext context = resolve(MockServerHttpRequest.get("/")
+            .cookie(new HttpCookie(COOKIE_NAME, "%22-%20GMT%22")));
+
+        assertThat(context.getLocale()).isEqualTo(LOCALE_DEFAULT);
+        assertThat(context.getTimeZone()).isEqualTo(TIMEZONE_CUSTOM);
+    }
+
+    @Test
+    public void testInvalidCookieFallsBackToDefaults() {
+        TimeZoneAwareLocaleContext context = resolve(MockServerHttpRequest.get("/")
+            .cookie(new HttpCookie(COOKIE_NAME, "fr%20Not/AZone")));
+
+        assertThat(context.getLocale()).isEqualTo(LOCALE_DEFAULT);
+        assertThat(context.getTimeZone()).isEqualTo(TIMEZONE_DEFAULT);
+    }
+
+    @Test
+    public void testSetLocaleContextWritesQuotedCookie() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+        resolver.setCookieMaxAge(Duration.ofDays(1));
+
+        resolver.setLocaleContext(exchange, new SimpleTimeZoneAwareLocaleContext(Locale.FRANCE, TIMEZONE_CUSTOM));
+
+        ResponseCookie cookie = exchange.getResponse().getCookies().getFirst(COOKIE_NAME);
+        assertThat(cookie.getValue()).isEqualTo("%22fr-FR%20GMT%22");
+        assertThat(cookie.getMaxAge()).isEqualTo(Duration.ofDays(1));
+        assertThat(cookie.getPath()).isEqualTo("/");
+    }
+
+    @Test
+    public void testWrittenCookieIsResolved() {
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+        resolver.setLocaleContext(first, new SimpleLocaleContext(Locale.CANADA_FRENCH));
+        ResponseCookie cookie = first.getResponse().getCookies().getFirst(COOKIE_NAME);
+
+        TimeZoneAwareLocaleContext context = resolve(MockServerHttpRequest.get("/")
+            .cookie(new HttpCookie(COOKIE_NAME, cookie.getValue())));
+
+        assertThat(context.getLocale()).isEqualTo(Locale.CANADA_FRENCH);
+    }
+
+    @Test
+    public void testSetNullLocaleContextExpiresCookie() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+        resolver.setLocaleContext(exchange, null);
+
+        ResponseCookie cookie = exchange.getResponse().getCookies().getFirst(COOKIE_NAME);
+        assertThat(cookie.getValue()).isEmpty();
+        assertThat(cookie.getMaxAge()).isEqualTo(Duration.ZERO);
+    }
+
+    private TimeZoneAwareLocaleContext resolve(MockServerHttpRequest.BaseBuilder<?> request) {
+        LocaleContext context = resolver.resolveLocaleContext(MockServerWebExchange.from(request));
+        assertThat(context).isInstanceOf(TimeZoneAwareLocaleContext.class);
+        return (TimeZoneAwareLocaleContext) context;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncConsoleAppenderTest {
+
+    private LoggerContext context;
+    private Logger logger;
+    private RecordingAppender delegate;
+    private AsyncConsoleAppender appender;
+
+    @BeforeEach
+    public void setup() {
+        context = new LoggerContext();
+        logger = context.getLogger(AsyncConsoleAppenderTest.class);
+        delegate = new RecordingAppender();
+        delegate.setContext(context);
+        delegate.start();
+        appender = new AsyncConsoleAppender();
+        appender.setContext(context);
+        appender.setName(LoggingUtils.CONSOLE_APPENDER_NAME);
+        appender.setRingBufferSize(4);
+        appender.addAppender(delegate);
+    }
+
+    @AfterEach
+    public void teardown() {
+        delegate.release();
+        appender.stop();
+        context.stop();
+    }
+
+    @Test
+    public void testEventsAreWrittenByDelegate() throws Exception {
+        delegate.release();
+        appender.start();
+
+        for (int i = 0; i < 3; i++) {
+            appender.doAppend(event("message " + i));
+        }
+
+        await(() -> delegate.events.size() == 3);
+        assertThat(delegate.events).extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("message 0", "message 1", "message 2");
+        assertThat(delegate.writerThreads).doesNotContain(Thread.currentThread().getName());
+        assertThat(appender.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    public void testDropPolicyDropsEventsWhenFull() {
+        appender.setOverflowPolicy(OverflowPolicy.DROP);
+        appender.start();
+
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event("message " + i));
+        }
+
+        assertThat(appender.getDroppedEvents()).isPositive();
+        assertThat(appender.getQueueDepth()).isPositive();
+    }
+
+    @Test
+    public void testBlockPolicyWaitsForCapacity() throws Exception {
+        appender.setOverflowPolicy(OverflowPolicy.BLOCK);
+        appender.start();
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                appender.doAppend(event("message " + i));
+            }
+        });
+        producer.start();
+        producer.join(200);
+        assertThat(producer.isAlive()).isTrue();
+
+        delegate.release();
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(producer.isAlive()).isFalse();
+        await(() -> delegate.events.size() == 10);
+        assertThat(appender.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    public void testMetrics() {
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new AsyncConsoleAppenderMetrics(context).bindTo(registry);
+        // The binder is not referenced anymore: the meters must keep working once it is collected
+        System.gc();
+
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event("message " + i));
+        }
+
+        assertThat(registry.get("logback.async.queue.depth").tag("appender", "CONSOLE").gauge().value())
+            .isPositive();
+        assertThat(registry.get("logback.async.dropped").tag("appender", "CONSOLE").functionCounter().count())
+            .isEqualTo(appender.getDroppedEvents());
+    }
+
+    private ILoggingEvent event(String message) {
+        return new LoggingEvent(AsyncConsoleAppenderTest.class.getName(), logger, Level.INFO, message, null, null);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static class RecordingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final List<String> writerThreads = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+            writerThreads.add(Thread.currentThread().getName());
+        }
+
+        private void release() {
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import net.logstash.logback.composite.ContextJsonProvider;
+import net.logstash.logback.composite.GlobalCustomFieldsJsonProvider;
+import net.logstash.logback.composite.loggingevent.*;
+import net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder;
+import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LowAllocationJsonEncoderTest {
+
+    private static final String CUSTOM_FIELDS =
+        "{\"app_name\":\"jhipster\",\"nested\":{\"a\":1,\"b\":[true,null,2.5]},\"unicode\":\"caf\u00e9 \\u2028\"}";
+
+    private LoggerContext context;
+    private Logger logger;
+    private LoggingEventCompositeJsonEncoder reference;
+    private LoggingEventCompositeJsonEncoder encoder;
+
+    @BeforeEach
+    public void setup() {
+        context = new LoggerContext();
+        context.putProperty("context_property", "value");
+        logger = context.getLogger("io.github.jhipster.config.logging.LowAllocationJsonEncoderTest");
+        reference = referenceEncoder(CUSTOM_FIELDS);
+        encoder = LoggingUtils.compositeJsonEncoder(context, CUSTOM_FIELDS);
+    }
+
+    @Test
+    public void testSimpleEvent() {
+        ILoggingEvent event = event("Hello {}", new Object[]{"world"}, null);
+
+        assertSameOutput(event);
+        assertThat(new String(encoder.encode(event)))
+            .contains("\"app_name\":\"jhipster\",\"nested\":{\"a\":1,\"b\":[true,null,2.5]}");
+    }
+
+    @Test
+    public void testEventWithMdc() {
+        LoggingEvent event = event("Hello", null, null);
+        Map<String, String> mdc = new HashMap<>();
+        mdc.put("traceId", "abc\"123");
+        mdc.put("user", "admin");
+        event.setMDCPropertyMap(mdc);
+
+        assertSameOutput(event);
+    }
+
+    @Test
+    public void testEventWithException() {
+        assertSameOutput(event("Failure", null, new IllegalStateException("Eek", new RuntimeException("Cause"))));
+    }
+
+    @Test
+    public void testLargeEventsAfterSmallOnes() {
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            large.append(i);
+        }
+        assertSameOutput(event("small", null, null));
+        assertSameOutput(event(large.toString(), null, null));
+        assertSameOutput(event("small again", null, null));
+    }
+
+    @Test
+    public void testWithoutCustomFields() {
+        reference = referenceEncoder(null);
+        encoder = LoggingUtils.compositeJsonEncoder(context, null);
+
+        assertSameOutput(event("Hello", null, null));
+    }
+
+    private void assertSameOutput(ILoggingEvent event) {
+        assertThat(new String(encoder.encode(event))).isEqualTo(new String(reference.encode(event)));
+        assertThat(encoder.encode(event)).isEqualTo(reference.encode(event));
+    }
+
+    private LoggingEvent event(String message, Object[] arguments, Throwable throwable) {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, throwable, arguments);
+        event.setTimeStamp(1600000000123L);
+        event.setThreadName("http-nio-8080-exec-1");
+        return event;
+    }
+
+    /**
+     * The provider chain {@link LoggingUtils} used before {@link LowAllocationJsonEncoder}.
+     */
+    private LoggingEventCompositeJsonEncoder referenceEncoder(String customFields) {
+        LoggingEventJsonProviders jsonProviders = new LoggingEventJsonProviders();
+        jsonProviders.addArguments(new ArgumentsJsonProvider());
+        jsonProviders.addContext(new ContextJsonProvider<>());
+        GlobalCustomFieldsJsonProvider<ILoggingEvent> customFieldsJsonProvider = new GlobalCustomFieldsJsonProvider<>();
+        customFieldsJsonProvider.setCustomFields(customFields);
+        jsonProviders.addGlobalCustomFields(customFieldsJsonProvider);
+        jsonProviders.addLogLevel(new LogLevelJsonProvider());
+        LoggerNameJsonProvider loggerNameJsonProvider = new LoggerNameJsonProvider();
+        loggerNameJsonProvider.setShortenedLoggerNameLength(20);
+        jsonProviders.addLoggerName(loggerNameJsonProvider);
+        jsonProviders.addMdc(new MdcJsonProvider());
+        jsonProviders.addMessage(new MessageJsonProvider());
+        jsonProviders.addPattern(new LoggingEventPatternJsonProvider());
+        StackTraceJsonProvider stackTraceJsonProvider = new StackTraceJsonProvider();
+        ShortenedThrowableConverter throwableConverter = new ShortenedThrowableConverter();
+        throwableConverter.setRootCauseFirst(true);
+        stackTraceJsonProvider.setThrowableConverter(throwableConverter);
+        jsonProviders.addStackTrace(stackTraceJsonProvider);
+        jsonProviders.addThreadName(new ThreadNameJsonProvider());
+        LoggingEventFormattedTimestampJsonProvider timestampJsonProvider = new LoggingEventFormattedTimestampJsonProvider();
+        timestampJsonProvider.setTimeZone("UTC");
+        timestampJsonProvider.setFieldName("timestamp");
+        jsonProviders.addTimestamp(timestampJsonProvider);
+        jsonProviders.setContext(context);
+
+        LoggingEventCompositeJsonEncoder compositeJsonEncoder = new LoggingEventCompositeJsonEncoder();
+        compositeJsonEncoder.setContext(context);
+        compositeJsonEncoder.setProviders(jsonProviders);
+        compositeJsonEncoder.start();
+        return compositeJsonEncoder;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class MappedSpillFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testAppendAndDrain() throws Exception {
+        try (MappedSpillFile file = new MappedSpillFile(tempDir.resolve("spill.dat"), 1024)) {
+            assertThat(file.append(bytes("first\n"))).isTrue();
+            assertThat(file.append(bytes("second\n"))).isTrue();
+            assertThat(file.size()).isEqualTo(13);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertThat(file.drainTo(out)).isEqualTo(13);
+
+            assertThat(out.toString("UTF-8")).isEqualTo("first\nsecond\n");
+            assertThat(file.size()).isZero();
+        }
+    }
+
+    @Test
+    public void testAppendRejectsRecordsOverMaxSize() throws Exception {
+        try (MappedSpillFile file = new MappedSpillFile(tempDir.resolve("spill.dat"), 16)) {
+            assertThat(file.append(bytes("12345678"))).isTrue();
+            assertThat(file.append(bytes("9"))).isFalse();
+            assertThat(file.size()).isEqualTo(8);
+        }
+    }
+
+    @Test
+    public void testContentSurvivesReopen() throws Exception {
+        Path path = tempDir.resolve("spill.dat");
+        try (MappedSpillFile file = new MappedSpillFile(path, 1024)) {
+            file.append(bytes("kept\n"));
+        }
+
+        try (MappedSpillFile file = new MappedSpillFile(path, 1024)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            file.drainTo(out);
+            assertThat(out.toString("UTF-8")).isEqualTo("kept\n");
+        }
+    }
+
+    @Test
+    public void testFailedDrainKeepsContent() throws Exception {
+        try (MappedSpillFile file = new MappedSpillFile(tempDir.resolve("spill.dat"), 1024)) {
+            file.append(bytes("kept\n"));
+
+            Throwable caught = catchThrowable(() -> file.drainTo(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("Connection reset");
+                }
+            }));
+
+            assertThat(caught).isInstanceOf(IOException.class);
+            assertThat(file.size()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    public void testRecordsAppendedWhileDrainingAreKept() throws Exception {
+        try (MappedSpillFile file = new MappedSpillFile(tempDir.resolve("spill.dat"), 1024)) {
+            file.append(bytes("first\n"));
+
+            file.drainTo(new ByteArrayOutputStream() {
+                @Override
+                public void flush() {
+                    file.append(bytes("second\n"));
+                }
+            });
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            file.drainTo(out);
+            assertThat(out.toString("UTF-8")).isEqualTo("second\n");
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
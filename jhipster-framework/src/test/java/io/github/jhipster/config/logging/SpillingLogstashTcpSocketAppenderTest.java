@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.util.Duration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpillingLogstashTcpSocketAppenderTest {
+
+    private static final int EVENT_COUNT = 50;
+
+    @TempDir
+    Path tempDir;
+
+    private LoggerContext context;
+    private Logger logger;
+    private SpillingLogstashTcpSocketAppender appender;
+    private LogstashStandIn logstash;
+    private int port;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+        context = new LoggerContext();
+        logger = context.getLogger(SpillingLogstashTcpSocketAppenderTest.class);
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        appender = new SpillingLogstashTcpSocketAppender();
+        appender.setContext(context);
+        appender.setName(LoggingUtils.ASYNC_LOGSTASH_APPENDER_NAME);
+        appender.setEncoder(encoder);
+        appender.addDestinations(new InetSocketAddress("localhost", port));
+        appender.setReconnectionDelay(Duration.buildByMilliseconds(100));
+        appender.setRingBufferSize(4);
+        appender.setSpillPath(tempDir.resolve("spill.dat"));
+        appender.setSpillMaxSize(1024 * 1024);
+        appender.setReplayIntervalInSeconds(1);
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        appender.stop();
+        if (logstash != null) {
+            logstash.close();
+        }
+        context.stop();
+    }
+
+    @Test
+    public void testEventsAreSpilledWhileLogstashIsDownAndReplayedWhenItComesBack() throws Exception {
+        appender.start();
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            appender.doAppend(event("message " + i));
+        }
+
+        assertThat(appender.getSpilledEvents()).isPositive();
+        assertThat(appender.getSpillSize()).isPositive();
+        assertThat(appender.getDroppedEvents()).isZero();
+
+        logstash = new LogstashStandIn(port);
+
+        await(() -> logstash.lines.size() == EVENT_COUNT);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            String message = "\"message\":\"message " + i + "\"";
+            assertThat(logstash.lines).anyMatch(line -> line.contains(message));
+        }
+        assertThat(appender.getSpillSize()).isZero();
+        assertThat(appender.getReplayedBytes()).isPositive();
+    }
+
+    @Test
+    public void testEventsAreDroppedWhenSpillFileIsFull() {
+        appender.setSpillMaxSize(16);
+        appender.start();
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            appender.doAppend(event("message " + i));
+        }
+
+        assertThat(appender.getSpilledEvents()).isZero();
+        assertThat(appender.getDroppedEvents()).isPositive();
+    }
+
+    @Test
+    public void testMetrics() {
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new LogstashSpillMetrics(context).bindTo(registry);
+        // The binder is not referenced anymore: the meters must keep working once it is collected
+        System.gc();
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            appender.doAppend(event("message " + i));
+        }
+
+        assertThat(registry.get("logstash.spill.size").gauge().value()).isEqualTo(appender.getSpillSize());
+        assertThat(registry.get("logstash.spill.spilled").functionCounter().count())
+            .isEqualTo(appender.getSpilledEvents());
+        assertThat(registry.get("logstash.spill.dropped").functionCounter().count()).isZero();
+    }
+
+    private LoggingEvent event(String message) {
+        return new LoggingEvent(SpillingLogstashTcpSocketAppenderTest.class.getName(), logger, Level.INFO, message, null, null);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Local TCP server standing in for a Logstash tcp input with the json_lines codec.
+     */
+    private static class LogstashStandIn implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final List<String> lines = new CopyOnWriteArrayList<>();
+
+        private LogstashStandIn(int port) throws IOException {
+            serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress("localhost", port));
+            Thread acceptor = new Thread(this::accept, "logstash-stand-in");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private void accept() {
+            try {
+                while (!serverSocket.isClosed()) {
+                    Socket socket = serverSocket.accept();
+                    Thread reader = new Thread(() -> read(socket), "logstash-stand-in-reader");
+                    reader.setDaemon(true);
+                    reader.start();
+                }
+            } catch (IOException e) {
+                // Server closed
+            }
+        }
+
+        private void read(Socket socket) {
+            try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } catch (SocketException e) {
+                // Connection closed
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
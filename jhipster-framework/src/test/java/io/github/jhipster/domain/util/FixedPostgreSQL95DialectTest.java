@@ -79,6 +79,12 @@ public class FixedPostgreSQL95DialectTest {
         assertThat(descriptor).isEqualTo(BinaryTypeDescriptor.INSTANCE);
     }
 
+    @Test
+    public void testStreamingBlobTypeIsNotRemapped() {
+        SqlTypeDescriptor descriptor = dialect.remapSqlTypeDescriptor(StreamingBlobTypeDescriptor.INSTANCE);
+        assertThat(descriptor).isEqualTo(StreamingBlobTypeDescriptor.INSTANCE);
+    }
+
     @Test
     public void testOtherTypeRemap() {
         SqlTypeDescriptor descriptor = dialect.remapSqlTypeDescriptor(BooleanTypeDescriptor.INSTANCE);
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.domain.util;
+
+import io.github.jhipster.domain.util.JSR310DateConverters.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JSR310DateConvertersTest {
+
+    private static final List<String> ZONES = Arrays.asList("UTC", "GMT+05:30", "Europe/Paris",
+        "America/Sao_Paulo", "Asia/Kolkata", "Pacific/Apia");
+
+    private TimeZone defaultTimeZone;
+
+    @BeforeEach
+    public void setup() {
+        defaultTimeZone = TimeZone.getDefault();
+    }
+
+    @AfterEach
+    public void teardown() {
+        TimeZone.setDefault(defaultTimeZone);
+        JSR310DateConverters.refreshSystemZone();
+    }
+
+    @Test
+    public void testLocalDateConversions() {
+        Random random = new Random(42);
+        for (String zoneId : ZONES) {
+            ZoneId zone = useZone(zoneId);
+            for (int i = 0; i < 1000; i++) {
+                LocalDate date = LocalDate.ofEpochDay(random.nextInt(40_000) - 10_000);
+                Date converted = LocalDateToDateConverter.INSTANCE.convert(date);
+                assertThat(converted).isEqualTo(Date.from(date.atStartOfDay(zone).toInstant()));
+                assertThat(DateToLocalDateConverter.INSTANCE.convert(converted)).isEqualTo(date);
+            }
+        }
+    }
+
+    @Test
+    public void testLocalDateInGap() {
+        // Clocks moved from midnight to 1am on 2018-11-04 in Sao Paulo
+        ZoneId zone = useZone("America/Sao_Paulo");
+        LocalDate date = LocalDate.of(2018, 11, 4);
+
+        Date converted = LocalDateToDateConverter.INSTANCE.convert(date);
+
+        assertThat(converted.toInstant()).isEqualTo(ZonedDateTime.of(2018, 11, 4, 1, 0, 0, 0, zone).toInstant());
+    }
+
+    @Test
+    public void testDateConversions() {
+        Random random = new Random(42);
+        for (String zoneId : ZONES) {
+            ZoneId zone = useZone(zoneId);
+            for (int i = 0; i < 1000; i++) {
+                Date date = new Date(random.nextLong() % 4_000_000_000_000L);
+                Instant instant = date.toInstant();
+                assertThat(DateToLocalDateConverter.INSTANCE.convert(date))
+                    .isEqualTo(ZonedDateTime.ofInstant(instant, zone).toLocalDate());
+                assertThat(DateToLocalDateTimeConverter.INSTANCE.convert(date))
+                    .isEqualTo(LocalDateTime.ofInstant(instant, zone));
+                assertThat(DateToZonedDateTimeConverter.INSTANCE.convert(date))
+                    .isEqualTo(ZonedDateTime.ofInstant(instant, zone));
+                assertThat(LocalDateTimeToDateConverter.INSTANCE.convert(LocalDateTime.ofInstant(instant, zone)))
+                    .isEqualTo(Date.from(LocalDateTime.ofInstant(instant, zone).atZone(zone).toInstant()));
+                assertThat(ZonedDateTimeToDateConverter.INSTANCE.convert(ZonedDateTime.ofInstant(instant, zone)))
+                    .isEqualTo(date);
+            }
+        }
+    }
+
+    @Test
+    public void testSqlDateConversion() {
+        useZone("Europe/Paris");
+
+        assertThat(DateToLocalDateConverter.INSTANCE.convert(java.sql.Date.valueOf("2020-02-29")))
+            .isEqualTo(LocalDate.of(2020, 2, 29));
+    }
+
+    @Test
+    public void testNullConversions() {
+        assertThat(LocalDateToDateConverter.INSTANCE.convert(null)).isNull();
+        assertThat(DateToLocalDateConverter.INSTANCE.convert(null)).isNull();
+        assertThat(LocalDateTimeToDateConverter.INSTANCE.convert(null)).isNull();
+        assertThat(DateToLocalDateTimeConverter.INSTANCE.convert(null)).isNull();
+        assertThat(ZonedDateTimeToDateConverter.INSTANCE.convert(null)).isNull();
+        assertThat(DateToZonedDateTimeConverter.INSTANCE.convert(null)).isNull();
+    }
+
+    @Test
+    public void testSystemZoneListener() {
+        List<ZoneId> changes = new ArrayList<>();
+        Consumer<ZoneId> listener = changes::add;
+        useZone("UTC");
+        JSR310DateConverters.addSystemZoneListener(listener);
+        try {
+            JSR310DateConverters.setSystemZone(ZoneId.of("Asia/Kolkata"));
+
+            assertThat(TimeZone.getDefault().getID()).isEqualTo("Asia/Kolkata");
+            assertThat(DateToLocalDateTimeConverter.INSTANCE.convert(new Date(0)))
+                .isEqualTo(LocalDateTime.of(1970, 1, 1, 5, 30));
+            assertThat(JSR310DateConverters.getSystemZone()).isEqualTo(ZoneId.of("Asia/Kolkata"));
+            assertThat(changes).containsExactly(ZoneId.of("Asia/Kolkata"));
+        } finally {
+            JSR310DateConverters.removeSystemZoneListener(listener);
+        }
+    }
+
+    @Test
+    public void testSystemZoneIsRefreshedExplicitly() {
+        useZone("UTC");
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+
+        assertThat(DateToLocalDateTimeConverter.INSTANCE.convert(new Date(0)))
+            .isEqualTo(LocalDateTime.of(1970, 1, 1, 0, 0));
+
+        assertThat(JSR310DateConverters.refreshSystemZone()).isEqualTo(ZoneId.of("Asia/Kolkata"));
+        assertThat(DateToLocalDateTimeConverter.INSTANCE.convert(new Date(0)))
+            .isEqualTo(LocalDateTime.of(1970, 1, 1, 5, 30));
+    }
+
+    @Test
+    public void testConvertAll() {
+        useZone("UTC");
+
+        List<Date> dates = JSR310DateConverters.convertAll(
+            Arrays.asList(LocalDate.of(1970, 1, 2), null), LocalDateToDateConverter.INSTANCE);
+
+        assertThat(dates).containsExactly(new Date(86_400_000L), null);
+    }
+
+    private static ZoneId useZone(String zoneId) {
+        JSR310DateConverters.setSystemZone(ZoneId.of(zoneId));
+        return ZoneId.systemDefault();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.domain.util;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.hibernate.engine.jdbc.NonContextualLobCreator;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.BlobTypeDescriptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StreamingBlobTypeTest {
+
+    private Connection connection;
+    private WrapperOptions options;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:streaming-blob-" + System.nanoTime());
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE jhi_attachment (id BIGINT PRIMARY KEY, content BLOB)");
+        }
+        options = mock(WrapperOptions.class);
+        when(options.getLobCreator()).thenReturn(NonContextualLobCreator.INSTANCE);
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    public void testName() {
+        assertThat(StreamingBlobType.INSTANCE.getName()).isEqualTo("streaming_blob");
+        assertThat(StreamingBlobType.INSTANCE.getSqlTypeDescriptor()).isEqualTo(StreamingBlobTypeDescriptor.INSTANCE);
+        assertThat(StreamingBlobTypeDescriptor.INSTANCE.canBeRemapped()).isFalse();
+    }
+
+    @Test
+    public void testBindAndExtract() throws Exception {
+        byte[] bytes = new byte[100_000];
+        new Random(42).nextBytes(bytes);
+
+        try (PreparedStatement statement =
+                 connection.prepareStatement("INSERT INTO jhi_attachment (id, content) VALUES (1, ?)")) {
+            Blob blob = BlobProxy.generateProxy(new ByteArrayInputStream(bytes), bytes.length);
+            StreamingBlobTypeDescriptor.INSTANCE.getBinder(BlobTypeDescriptor.INSTANCE)
+                .bind(statement, blob, 1, options);
+            statement.executeUpdate();
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT content FROM jhi_attachment WHERE id = 1")) {
+            resultSet.next();
+            Blob blob = StreamingBlobTypeDescriptor.INSTANCE.getExtractor(BlobTypeDescriptor.INSTANCE)
+                .extract(resultSet, "content", options);
+
+            assertThat(blob.length()).isEqualTo(bytes.length);
+            try (InputStream content = blob.getBinaryStream()) {
+                assertThat(content).hasSameContentAs(new ByteArrayInputStream(bytes));
+            }
+        }
+    }
+
+    @Test
+    public void testBindAndExtractNull() throws Exception {
+        try (PreparedStatement statement =
+                 connection.prepareStatement("INSERT INTO jhi_attachment (id, content) VALUES (2, ?)")) {
+            StreamingBlobTypeDescriptor.INSTANCE.getBinder(BlobTypeDescriptor.INSTANCE)
+                .bind(statement, null, 1, options);
+            statement.executeUpdate();
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT content FROM jhi_attachment WHERE id = 2")) {
+            resultSet.next();
+            assertThat(StreamingBlobTypeDescriptor.INSTANCE.getExtractor(BlobTypeDescriptor.INSTANCE)
+                .extract(resultSet, "content", options)).isNull();
+        }
+    }
+}
@@ -20,26 +20,41 @@
 package io.github.jhipster.web.filter;
 
 import io.github.jhipster.config.JHipsterProperties;
+import io.github.jhipster.web.util.ResourceLastModifiedResolver;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.github.jhipster.web.filter.CachingHttpHeadersFilter.DEFAULT_DAYS_TO_LIVE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
 public class CachingHttpHeadersFilterTest {
 
+    private static final long LAST_MODIFIED = 1445412480000L;
+
+    @TempDir
+    Path directory;
+
     private MockHttpServletRequest request;
     private MockHttpServletResponse response;
     private FilterChain chain;
@@ -78,7 +93,7 @@ public class CachingHttpHeadersFilterTest {
 
         verify(response).setHeader("Cache-Control", "max-age=" + secsToLive + ", public");
         verify(response).setHeader("Pragma", "cache");
-        verify(response).setDateHeader(eq("Expires"), anyLong());
+        verify(response).setHeader(eq("Expires"), anyString());
         assertThat(response.getDateHeader("Expires")).isBetween(before + secsToLive, after + secsToLive);
         assertThat(caught).isNull();
     }
@@ -103,8 +118,165 @@ public class CachingHttpHeadersFilterTest {
 
         verify(response).setHeader("Cache-Control", "max-age=" + secsToLive + ", public");
         verify(response).setHeader("Pragma", "cache");
-        verify(response).setDateHeader(eq("Expires"), anyLong());
+        verify(response).setHeader(eq("Expires"), anyString());
         assertThat(response.getDateHeader("Expires")).isBetween(before + secsToLive, after + secsToLive);
         assertThat(caught).isNull();
     }
+
+    @Test
+    public void testETagIsComputedThenReused() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain resourceChain = resourceChain(calls, "Wed, 21 Oct 2015 07:28:00 GMT");
+
+        MockHttpServletResponse first = doGet(resourceChain, null);
+        MockHttpServletResponse second = doGet(resourceChain, null);
+
+        assertThat(first.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(first.getContentAsString()).isEqualTo("console.log('jhipster');");
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        assertThat(second.getContentAsString()).isEqualTo("console.log('jhipster');");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    public void testIfNoneMatchIsAnsweredWithNotModified() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain resourceChain = resourceChain(calls, "Wed, 21 Oct 2015 07:28:00 GMT");
+        doGet(resourceChain, null);
+        String eTag = doGet(resourceChain, null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse notModified = doGet(resourceChain, "W/\"other\", " + eTag);
+
+        assertThat(notModified.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(notModified.getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+        assertThat(notModified.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(notModified.getHeader("Cache-Control")).startsWith("max-age=");
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    public void testIfNoneMatchIsAnsweredBeforeTheChain() throws Exception {
+        Path file = resource();
+        filter = new CachingHttpHeadersFilter(properties,
+            new ResourceLastModifiedResolver(new FileSystemResource(directory.toString() + "/")));
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain resourceChain = resourceChain(calls, "Wed, 21 Oct 2015 07:28:00 GMT");
+        doGet(resourceChain, null);
+        String eTag = doGet(resourceChain, null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse notModified = doGet(resourceChain, eTag);
+
+        assertThat(notModified.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(notModified.getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+        assertThat(notModified.getDateHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(LAST_MODIFIED);
+        assertThat(notModified.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        assertThat(calls).hasValue(2);
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(LAST_MODIFIED + TimeUnit.DAYS.toMillis(1)));
+        MockHttpServletResponse changed = doGet(resourceChain(calls, "Thu, 22 Oct 2015 07:28:00 GMT"), eTag);
+
+        assertThat(changed.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(changed.getContentAsString()).isEqualTo("console.log('jhipster');");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    public void testETagIsNotComputedWithoutLastModified() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain resourceChain = resourceChain(calls, null);
+        doGet(resourceChain, null);
+
+        MockHttpServletResponse second = doGet(resourceChain, null);
+
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(second.getContentAsString()).isEqualTo("console.log('jhipster');");
+    }
+
+    @Test
+    public void testIfNoneMatchIsIgnoredWhenLastModifiedChanges() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain resourceChain = resourceChain(calls, "Wed, 21 Oct 2015 07:28:00 GMT");
+        doGet(resourceChain, null);
+        String eTag = doGet(resourceChain, null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse changed = doGet(resourceChain(calls, "Thu, 22 Oct 2015 07:28:00 GMT"), eTag);
+
+        assertThat(changed.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(changed.getContentAsString()).isEqualTo("console.log('jhipster');");
+    }
+
+    @Test
+    public void testETagIsNotReusedWhenLastModifiedChanges() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        doGet(resourceChain(calls, "Wed, 21 Oct 2015 07:28:00 GMT"), null);
+
+        MockHttpServletResponse changed = doGet(resourceChain(calls, "Thu, 22 Oct 2015 07:28:00 GMT"), null);
+        MockHttpServletResponse next = doGet(resourceChain(calls, "Thu, 22 Oct 2015 07:28:00 GMT"), null);
+
+        assertThat(changed.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(next.getHeader(HttpHeaders.ETAG)).isNotNull();
+    }
+
+    @Test
+    public void testIfNoneMatchIsIgnoredForOtherMethods() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain resourceChain = resourceChain(calls, null);
+        doGet(resourceChain, null);
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/app/main.js");
+        post.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        MockHttpServletResponse postResponse = new MockHttpServletResponse();
+
+        filter.doFilter(post, postResponse, resourceChain);
+
+        assertThat(postResponse.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    public void testETagIsNotComputedForErrors() throws Exception {
+        FilterChain errorChain = (req, res) -> {
+            ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_NOT_FOUND);
+            res.getOutputStream().write("Not found".getBytes(StandardCharsets.UTF_8));
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/app/missing.js"), new MockHttpServletResponse(),
+            errorChain);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/app/missing.js"), second, errorChain);
+
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(second.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    private Path resource() throws Exception {
+        Path file = Files.write(Files.createDirectories(directory.resolve("app")).resolve("main.js"),
+            "console.log('jhipster');".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(LAST_MODIFIED));
+        return file;
+    }
+
+    private MockHttpServletResponse doGet(FilterChain resourceChain, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/app/main.js");
+        if (ifNoneMatch != null) {
+            get.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse getResponse = new MockHttpServletResponse();
+        filter.doFilter(get, getResponse, resourceChain);
+        return getResponse;
+    }
+
+    private static FilterChain resourceChain(AtomicInteger calls, String lastModified) {
+        return (req, res) -> {
+            calls.incrementAndGet();
+            if (lastModified != null) {
+                ((HttpServletResponse) res).setHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            }
+            ((HttpServletResponse) res).setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            byte[] content = "console.log('jhipster');".getBytes(StandardCharsets.UTF_8);
+            res.getOutputStream().write(content, 0, 8);
+            res.getOutputStream().write(content, 8, content.length - 8);
+        };
+    }
 }
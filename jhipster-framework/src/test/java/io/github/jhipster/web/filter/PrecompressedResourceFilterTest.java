@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.filter;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrecompressedResourceFilterTest {
+
+    @TempDir
+    Path directory;
+
+    private AtomicInteger calls;
+    private FilterChain chain;
+    private PrecompressedResourceFilter filter;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        Files.createDirectories(directory.resolve("app"));
+        Files.write(directory.resolve("app/main.js"), "main".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("app/main.js.br"), "brotli".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("app/main.js.gz"), "gzipped".getBytes(StandardCharsets.UTF_8));
+        calls = new AtomicInteger();
+        chain = (req, res) -> calls.incrementAndGet();
+        filter = new PrecompressedResourceFilter(new FileSystemResource(directory.toString() + "/"));
+        filter.init(null);
+    }
+
+    @Test
+    public void testVariantIsServed() throws Exception {
+        MockHttpServletResponse response = doFilter("GET", "/app/main.js", "gzip, deflate", null);
+
+        assertThat(response.getContentAsString()).isEqualTo("gzipped");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).endsWith("-gzip\"");
+        assertThat(response.getContentType()).isEqualTo("application/javascript");
+        assertThat(response.getContentLengthLong()).isEqualTo(7);
+        assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED)).isPositive();
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void testPreferredVariantIsServed() throws Exception {
+        MockHttpServletResponse response = doFilter("GET", "/app/main.js", "gzip, br", null);
+
+        assertThat(response.getContentAsString()).isEqualTo("brotli");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+    }
+
+    @Test
+    public void testHeadHasNoBody() throws Exception {
+        MockHttpServletResponse response = doFilter("HEAD", "/app/main.js", "br", null);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(6);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void testIfNoneMatchIsAnswered() throws Exception {
+        String eTag = doFilter("GET", "/app/main.js", "br", null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = doFilter("GET", "/app/main.js", "br", eTag);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    public void testChainIsCalledWhenNoVariantIsAccepted() throws Exception {
+        MockHttpServletResponse response = doFilter("GET", "/app/main.js", "identity", null);
+
+        assertThat(calls).hasValue(1);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    public void testChainIsCalledWithoutVariants() throws Exception {
+        MockHttpServletResponse response = doFilter("GET", "/app/other.js", "gzip", null);
+
+        assertThat(calls).hasValue(1);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isNull();
+    }
+
+    @Test
+    public void testChainIsCalledForOtherMethods() throws Exception {
+        doFilter("POST", "/app/main.js", "gzip", null);
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    public void testContextPathIsRemoved() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/context/app/main.js");
+        request.setContextPath("/context");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getContentAsString()).isEqualTo("gzipped");
+    }
+
+    @Test
+    public void testETagOfVariantIsKeptByCachingHttpHeadersFilter() throws Exception {
+        CachingHttpHeadersFilter cachingFilter = new CachingHttpHeadersFilter(new JHipsterProperties());
+        cachingFilter.init(null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/main.js");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        cachingFilter.doFilter(request, response, (req, res) -> filter.doFilter(req, res, chain));
+        cachingFilter.destroy();
+
+        assertThat(response.getContentAsString()).isEqualTo("gzipped");
+        assertThat(response.getHeaders(HttpHeaders.ETAG)).hasSize(1).allMatch(eTag -> eTag.endsWith("-gzip\""));
+        assertThat(response.getHeader("Cache-Control")).startsWith("max-age=");
+    }
+
+    private MockHttpServletResponse doFilter(String method, String uri, String acceptEncoding, String ifNoneMatch)
+        throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
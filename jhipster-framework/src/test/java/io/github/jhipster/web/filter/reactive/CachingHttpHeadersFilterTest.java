@@ -19,22 +19,43 @@
 
 package io.github.jhipster.web.filter.reactive;
 
+import io.github.jhipster.web.util.ResourceLastModifiedResolver;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class CachingHttpHeadersFilterTest {
 
+    private static final long LAST_MODIFIED = 1445412480000L;
+
     private long ttl = TimeUnit.DAYS.toMillis(2);
     private CachingHttpHeadersFilter filter = new CachingHttpHeadersFilter(ttl);
 
+    @TempDir
+    Path directory;
+
     @Test
     public void cacheHeadersSetWhenPathMatches() {
         long now = System.currentTimeMillis();
@@ -74,4 +95,161 @@ public class CachingHttpHeadersFilterTest {
         this.filter.filter(exchange, filterChain).block();
     }
 
+    @Test
+    public void eTagComputedThenReused() {
+        AtomicInteger calls = new AtomicInteger();
+
+        MockServerWebExchange first = get(null);
+        filter.filter(first, resourceChain(calls)).block();
+        MockServerWebExchange second = get(null);
+        filter.filter(second, resourceChain(calls)).block();
+
+        assertThat(first.getResponse().getHeaders().getETag()).isNull();
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("console.log('jhipster');");
+        assertThat(second.getResponse().getHeaders().getETag()).isEqualTo("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("console.log('jhipster');");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    public void ifNoneMatchAnsweredWithNotModified() {
+        AtomicInteger calls = new AtomicInteger();
+        filter.filter(get(null), resourceChain(calls)).block();
+
+        MockServerWebExchange exchange = get("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        filter.filter(exchange, resourceChain(calls)).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        assertThat(exchange.getResponse().getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(exchange.getResponse().getHeaders().getCacheControl()).isEqualTo("max-age=172800000, public");
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEmpty();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    public void ifNoneMatchIgnoredWhenLastModifiedChanges() {
+        AtomicInteger calls = new AtomicInteger();
+        filter.filter(get(null), resourceChain(calls)).block();
+
+        MockServerWebExchange exchange = get("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        filter.filter(exchange, resourceChain(calls, "Thu, 22 Oct 2015 07:28:00 GMT")).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("console.log('jhipster');");
+    }
+
+    @Test
+    public void ifNoneMatchAnsweredBeforeTheChain() throws Exception {
+        Path file = Files.write(Files.createDirectories(directory.resolve("app")).resolve("main.js"),
+            "console.log('jhipster');".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(LAST_MODIFIED));
+        filter = new CachingHttpHeadersFilter(ttl,
+            new ResourceLastModifiedResolver(new FileSystemResource(directory.toString() + "/")));
+        AtomicInteger calls = new AtomicInteger();
+        filter.filter(get(null), resourceChain(calls)).block();
+
+        MockServerWebExchange exchange = get("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        filter.filter(exchange, resourceChain(calls)).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        assertThat(exchange.getResponse().getHeaders().getLastModified()).isEqualTo(LAST_MODIFIED);
+        assertThat(exchange.getResponse().getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(calls).hasValue(1);
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(LAST_MODIFIED + TimeUnit.DAYS.toMillis(1)));
+        MockServerWebExchange changed = get("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        filter.filter(changed, resourceChain(calls, "Thu, 22 Oct 2015 07:28:00 GMT")).block();
+
+        assertThat(changed.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(changed.getResponse().getBodyAsString().block()).isEqualTo("console.log('jhipster');");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    public void eTagNotComputedWithoutLastModified() {
+        AtomicInteger calls = new AtomicInteger();
+        WebFilterChain resourceChain = exchange -> {
+            calls.incrementAndGet();
+            byte[] content = "console.log('jhipster');".getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(new DefaultDataBufferFactory().wrap(content)));
+        };
+        filter.filter(get(null), resourceChain).block();
+
+        MockServerWebExchange second = get(null);
+        filter.filter(second, resourceChain).block();
+
+        assertThat(second.getResponse().getHeaders().getETag()).isNull();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    public void eTagComputedForZeroCopyTransfers() throws Exception {
+        Path file = Files.write(directory.resolve("main.js"),
+            "console.log('jhipster');".getBytes(StandardCharsets.UTF_8));
+        long size = Files.size(file);
+        WebFilterChain fileChain = exchange -> {
+            exchange.getResponse().getHeaders().set(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+            return ((ZeroCopyHttpOutputMessage) exchange.getResponse()).writeWith(file, 0, size);
+        };
+
+        MockServerWebExchange first = get(null);
+        filter.filter(zeroCopy(first), fileChain).block();
+        MockServerWebExchange second = get("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        filter.filter(zeroCopy(second), fileChain).block();
+
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("console.log('jhipster');");
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getResponse().getHeaders().getETag()).isEqualTo("\"5bbf04696ec09fc513edae0e27df2f05\"");
+    }
+
+    @Test
+    public void ifNoneMatchIgnoredForUnknownETag() {
+        AtomicInteger calls = new AtomicInteger();
+
+        MockServerWebExchange exchange = get("\"5bbf04696ec09fc513edae0e27df2f05\"");
+        filter.filter(exchange, resourceChain(calls)).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(calls).hasValue(1);
+    }
+
+    private static MockServerWebExchange get(String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/app/main.js");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static ServerWebExchange zeroCopy(ServerWebExchange exchange) {
+        return exchange.mutate().response(new ZeroCopyResponse(exchange.getResponse())).build();
+    }
+
+    private static WebFilterChain resourceChain(AtomicInteger calls) {
+        return resourceChain(calls, "Wed, 21 Oct 2015 07:28:00 GMT");
+    }
+
+    private static WebFilterChain resourceChain(AtomicInteger calls, String lastModified) {
+        return exchange -> {
+            calls.incrementAndGet();
+            exchange.getResponse().getHeaders().set(HttpHeaders.LAST_MODIFIED, lastModified);
+            exchange.getResponse().getHeaders().setVary(Collections.singletonList(HttpHeaders.ACCEPT_ENCODING));
+            byte[] content = "console.log('jhipster');".getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(new DefaultDataBufferFactory().wrap(content)));
+        };
+    }
+
+    private static class ZeroCopyResponse extends ServerHttpResponseDecorator implements ZeroCopyHttpOutputMessage {
+
+        ZeroCopyResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Path file, long position, long count) {
+            return writeWith(DataBufferUtils.read(file, bufferFactory(), 4096));
+        }
+    }
 }
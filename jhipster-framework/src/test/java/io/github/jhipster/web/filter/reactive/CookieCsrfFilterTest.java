@@ -27,9 +27,16 @@ import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.security.web.server.csrf.CsrfToken;
 import org.springframework.security.web.server.csrf.DefaultCsrfToken;
 import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -99,4 +106,58 @@ public class CookieCsrfFilterTest {
         );
         this.filter.filter(exchange, filterChain).block();
     }
+
+    @Test
+    public void tokenIsGeneratedOnSubscribingThread() {
+        Scheduler eventLoop = Schedulers.newSingle("event-loop");
+        AtomicReference<String> tokenThread = new AtomicReference<>();
+        AtomicReference<String> chainThread = new AtomicReference<>();
+        WebFilterChain filterChain = (filterExchange) -> {
+            chainThread.set(Thread.currentThread().getName());
+            return Mono.empty();
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.post(TEST_URL)
+        );
+        exchange.getAttributes().put(CsrfToken.class.getName(), Mono.fromCallable(() -> {
+            tokenThread.set(Thread.currentThread().getName());
+            return new DefaultCsrfToken(CSRF_COOKIE_NAME, "_csrf", "test_token");
+        }));
+        try {
+            this.filter.filter(exchange, filterChain).subscribeOn(eventLoop).block();
+        } finally {
+            eventLoop.dispose();
+        }
+        assertThat(tokenThread.get()).startsWith("event-loop");
+        assertThat(chainThread.get()).startsWith("event-loop");
+        assertThat(exchange.getResponse().getCookies().getFirst(CSRF_COOKIE_NAME)).isNotNull();
+    }
+
+    @Test
+    public void concurrentFirstVisitsAreNotLimitedByElasticPool() {
+        // Far more concurrent requests than boundedElastic threads, all answered on a single thread
+        int requests = 10_000;
+        AtomicInteger cookies = new AtomicInteger();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        WebFilterChain filterChain = (filterExchange) -> {
+            threads.add(Thread.currentThread().getName());
+            if (filterExchange.getResponse().getCookies().getFirst(CSRF_COOKIE_NAME) != null) {
+                cookies.incrementAndGet();
+            }
+            return Mono.empty();
+        };
+        Flux.range(0, requests)
+            .flatMap(i -> {
+                MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post(TEST_URL));
+                exchange.getAttributes().put(CsrfToken.class.getName(),
+                    Mono.fromCallable(() -> {
+                        threads.add(Thread.currentThread().getName());
+                        return new DefaultCsrfToken(CSRF_COOKIE_NAME, "_csrf", "token" + i);
+                    }));
+                return this.filter.filter(exchange, filterChain);
+            }, requests)
+            .blockLast(Duration.ofSeconds(30));
+        assertThat(cookies).hasValue(requests);
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+    }
 }
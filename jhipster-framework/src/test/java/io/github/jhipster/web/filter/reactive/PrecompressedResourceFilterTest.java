@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.filter.reactive;
+
+import io.github.jhipster.web.util.PrecompressedResourceResolver;
+import io.github.jhipster.web.util.PrecompressedResourceResolver.Variant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrecompressedResourceFilterTest {
+
+    @TempDir
+    Path directory;
+
+    private AtomicInteger calls;
+    private WebFilterChain chain;
+    private PrecompressedResourceFilter filter;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        Files.createDirectories(directory.resolve("app"));
+        Files.write(directory.resolve("app/main.js"), "main".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("app/main.js.br"), "brotli".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("app/main.js.gz"), "gzipped".getBytes(StandardCharsets.UTF_8));
+        calls = new AtomicInteger();
+        chain = exchange -> {
+            calls.incrementAndGet();
+            return Mono.empty();
+        };
+        filter = new PrecompressedResourceFilter(new FileSystemResource(directory.toString() + "/"));
+    }
+
+    @Test
+    public void testVariantIsServed() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/app/main.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("gzipped");
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(headers.getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(headers.getETag()).endsWith("-gzip\"");
+        assertThat(headers.getContentType()).isEqualTo(MediaType.parseMediaType("application/javascript"));
+        assertThat(headers.getContentLength()).isEqualTo(7);
+        assertThat(headers.getLastModified()).isPositive();
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void testHeadHasNoBody() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.head("/app/main.js").header(HttpHeaders.ACCEPT_ENCODING, "br"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isNullOrEmpty();
+        assertThat(exchange.getResponse().getHeaders().getContentLength()).isEqualTo(6);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    public void testIfNoneMatchIsAnswered() {
+        MockServerWebExchange first = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/app/main.js").header(HttpHeaders.ACCEPT_ENCODING, "br"));
+        filter.filter(first, chain).block();
+        String eTag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/app/main.js")
+            .header(HttpHeaders.ACCEPT_ENCODING, "br")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag));
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    public void testChainIsCalledWhenNoVariantIsAccepted() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/app/main.js"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(calls).hasValue(1);
+        assertThat(exchange.getResponse().getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    public void testOtherPathsAreNotLookedUp() throws Exception {
+        Files.createDirectories(directory.resolve("api"));
+        Files.write(directory.resolve("api/main.js.gz"), "gzipped".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger lookups = new AtomicInteger();
+        filter = new PrecompressedResourceFilter(new PrecompressedResourceResolver(
+            new FileSystemResource(directory.toString() + "/")) {
+            @Override
+            public List<Variant> getVariants(String path) {
+                lookups.incrementAndGet();
+                return super.getVariants(path);
+            }
+        });
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/main.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(calls).hasValue(1);
+        assertThat(lookups).hasValue(0);
+        assertThat(exchange.getResponse().getHeaders().getVary()).isEmpty();
+    }
+
+    @Test
+    public void testChainIsCalledWithoutVariants() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/app/other.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(calls).hasValue(1);
+        assertThat(exchange.getResponse().getHeaders().getVary()).isEmpty();
+    }
+
+    @Test
+    public void testETagOfVariantIsKeptByCachingHttpHeadersFilter() {
+        CachingHttpHeadersFilter cachingFilter = new CachingHttpHeadersFilter(1000L);
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/app/main.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        cachingFilter.filter(exchange, filterExchange -> filter.filter(filterExchange, chain)).block();
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("gzipped");
+        assertThat(exchange.getResponse().getHeaders().get(HttpHeaders.ETAG)).hasSize(1)
+            .allMatch(eTag -> eTag.endsWith("-gzip\""));
+        assertThat(exchange.getResponse().getHeaders().getCacheControl()).startsWith("max-age=");
+    }
+}
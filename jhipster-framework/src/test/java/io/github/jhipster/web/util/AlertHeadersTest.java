@@ -0,0 +1,70 @@
+package io.github.jhipster.web.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AlertHeadersTest {
+
+    @Test
+    public void createAlert() {
+        HttpHeaders headers = new AlertHeaders("myApp", true).createAlert("any.message", "a b/\u00e9");
+        assertThat(headers.getFirst("X-myApp-alert")).isEqualTo("any.message");
+        assertThat(headers.getFirst("X-myApp-params")).isEqualTo("a+b%2F%C3%A9");
+    }
+
+    @Test
+    public void createEntityAlertsWithTranslation() {
+        AlertHeaders alertHeaders = new AlertHeaders("myApp", true);
+
+        assertThat(alertHeaders.createEntityCreationAlert("User", "2").getFirst("X-myApp-alert"))
+            .isEqualTo("myApp.User.created");
+        assertThat(alertHeaders.createEntityUpdateAlert("User", "2").getFirst("X-myApp-alert"))
+            .isEqualTo("myApp.User.updated");
+        assertThat(alertHeaders.createEntityDeletionAlert("User", "2").getFirst("X-myApp-alert"))
+            .isEqualTo("myApp.User.deleted");
+        assertThat(alertHeaders.createEntityDeletionAlert("User", "2").getFirst("X-myApp-params")).isEqualTo("2");
+    }
+
+    @Test
+    public void createEntityAlertsNoTranslation() {
+        AlertHeaders alertHeaders = new AlertHeaders("myApp", false);
+
+        assertThat(alertHeaders.createEntityCreationAlert("User", "2").getFirst("X-myApp-alert"))
+            .isEqualTo("A new User is created with identifier 2");
+        assertThat(alertHeaders.createEntityUpdateAlert("User", "3").getFirst("X-myApp-alert"))
+            .isEqualTo("A User is updated with identifier 3");
+        assertThat(alertHeaders.createEntityDeletionAlert("User", "4").getFirst("X-myApp-alert"))
+            .isEqualTo("A User is deleted with identifier 4");
+    }
+
+    @Test
+    public void createEntityAlertsBeyondCachedEntities() {
+        AlertHeaders alertHeaders = new AlertHeaders("myApp", true, 1);
+
+        assertThat(alertHeaders.createEntityCreationAlert("User", "2").getFirst("X-myApp-alert"))
+            .isEqualTo("myApp.User.created");
+        assertThat(alertHeaders.createEntityCreationAlert("Authority", "2").getFirst("X-myApp-alert"))
+            .isEqualTo("myApp.Authority.created");
+        assertThat(alertHeaders.createEntityCreationAlert("Authority", "3").getFirst("X-myApp-alert"))
+            .isEqualTo("myApp.Authority.created");
+    }
+
+    @Test
+    public void createEntityAlertsWithNullEntityName() {
+        AlertHeaders alertHeaders = new AlertHeaders("myApp", true);
+
+        assertThat(alertHeaders.createEntityUpdateAlert(null, "2").getFirst("X-myApp-alert"))
+            .isEqualTo("myApp.null.updated");
+        assertThat(alertHeaders.createEntityUpdateAlert("User", "2").getFirst("X-myApp-alert"))
+            .isEqualTo("myApp.User.updated");
+    }
+
+    @Test
+    public void createFailureAlert() {
+        HttpHeaders headers = new AlertHeaders("myApp", true).createFailureAlert("User", "404", "Failed to find user");
+        assertThat(headers.getFirst("X-myApp-error")).isEqualTo("error.404");
+        assertThat(headers.getFirst("X-myApp-params")).isEqualTo("User");
+    }
+}
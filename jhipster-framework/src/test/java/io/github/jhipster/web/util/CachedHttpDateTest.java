@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachedHttpDateTest {
+
+    @Test
+    public void testFormat() {
+        CachedHttpDate date = new CachedHttpDate(TimeUnit.DAYS.toMillis(1),
+            Clock.fixed(Instant.parse("1994-11-05T08:49:37.900Z"), ZoneOffset.UTC));
+
+        assertThat(date.get()).isEqualTo("Sun, 06 Nov 1994 08:49:37 GMT");
+    }
+
+    @Test
+    public void testValueIsSharedWithinASecond() {
+        MutableClock clock = new MutableClock(Instant.parse("2020-01-01T00:00:00.100Z"));
+        CachedHttpDate date = new CachedHttpDate(0, clock);
+
+        String first = date.get();
+        clock.instant = Instant.parse("2020-01-01T00:00:00.900Z");
+        String second = date.get();
+        clock.instant = Instant.parse("2020-01-01T00:00:01Z");
+        String third = date.get();
+
+        assertThat(second).isSameAs(first);
+        assertThat(third).isEqualTo("Wed, 01 Jan 2020 00:00:01 GMT");
+    }
+
+    @Test
+    public void testValueIsParsedAsHttpDate() {
+        long now = System.currentTimeMillis();
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.set(HttpHeaders.EXPIRES, new CachedHttpDate(TimeUnit.HOURS.toMillis(1)).get());
+
+        assertThat(headers.getExpires() - now).isBetween(TimeUnit.HOURS.toMillis(1) - 1000,
+            TimeUnit.HOURS.toMillis(1) + 1000);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import javax.persistence.Version;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ETagUtilTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testFromVersion() {
+        assertThat(ETagUtil.fromVersion(3)).isEqualTo("W/\"3\"");
+        assertThat(ETagUtil.fromVersion("a\"b")).isEqualTo("W/\"ab\"");
+        assertThat(ETagUtil.fromVersion(null)).isNull();
+    }
+
+    @Test
+    public void testFromVersionField() {
+        assertThat(ETagUtil.fromVersionField(new VersionedEntity(7L))).isEqualTo("W/\"7\"");
+        assertThat(ETagUtil.fromVersionField(new VersionedSubEntity(8L))).isEqualTo("W/\"8\"");
+        assertThat(ETagUtil.fromVersionField(new VersionedEntity(null))).isNull();
+        assertThat(ETagUtil.fromVersionField("not versioned")).isNull();
+        assertThat(ETagUtil.fromVersionField(null)).isNull();
+    }
+
+    @Test
+    public void testFromVersionFieldOfProxy() {
+        assertThat(ETagUtil.fromVersionField(new VersionedEntityProxy(new VersionedEntity(9L)))).isEqualTo("W/\"9\"");
+        assertThat(ETagUtil.fromVersionField(new FieldOnlyEntity(10L))).isEqualTo("W/\"10\"");
+    }
+
+    @Test
+    public void testFromContent() {
+        String eTag = ETagUtil.fromContent(Collections.singletonMap("name", "jhipster"), objectMapper);
+
+        assertThat(eTag).startsWith("W/\"").endsWith("\"").hasSize(36);
+        assertThat(ETagUtil.fromContent(Collections.singletonMap("name", "jhipster"), objectMapper)).isEqualTo(eTag);
+        assertThat(ETagUtil.fromContent(Collections.singletonMap("name", "other"), objectMapper)).isNotEqualTo(eTag);
+        assertThat(ETagUtil.fromContent(null, objectMapper)).isNull();
+    }
+
+    @Test
+    public void testFromContentWithUnserializableBody() {
+        Throwable caught = catchThrowable(() -> ETagUtil.fromContent(new Object(), objectMapper));
+
+        assertThat(caught).isInstanceOf(HttpMessageNotWritableException.class);
+    }
+
+    @Test
+    public void testMatches() {
+        assertThat(ETagUtil.matches("W/\"3\"", "W/\"3\"")).isTrue();
+        assertThat(ETagUtil.matches("\"3\"", "W/\"3\"")).isTrue();
+        assertThat(ETagUtil.matches("\"2\", W/\"3\"", "W/\"3\"")).isTrue();
+        assertThat(ETagUtil.matches("*", "W/\"3\"")).isTrue();
+        assertThat(ETagUtil.matches("W/\"2\"", "W/\"3\"")).isFalse();
+        assertThat(ETagUtil.matches(null, "W/\"3\"")).isFalse();
+        assertThat(ETagUtil.matches("*", null)).isFalse();
+    }
+
+    private static class VersionedEntity {
+
+        @Version
+        private final Long version;
+
+        VersionedEntity(Long version) {
+            this.version = version;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+    }
+
+    /**
+     * Lazy proxy like the ones of Hibernate, whose own fields are never set.
+     */
+    private static class VersionedEntityProxy extends VersionedEntity {
+
+        private final VersionedEntity target;
+
+        VersionedEntityProxy(VersionedEntity target) {
+            super(null);
+            this.target = target;
+        }
+
+        @Override
+        public Long getVersion() {
+            return target.getVersion();
+        }
+    }
+
+    private static class FieldOnlyEntity {
+
+        @Version
+        private final Long version;
+
+        FieldOnlyEntity(Long version) {
+            this.version = version;
+        }
+    }
+
+    private static class VersionedSubEntity extends VersionedEntity {
+
+        VersionedSubEntity(Long version) {
+            super(version);
+        }
+    }
+}
@@ -72,4 +72,35 @@ public class HeaderUtilTest {
         assertThat(headers.getFirst("X-myApp-error")).isEqualTo("Failed to find user");
         assertThat(headers.getFirst("X-myApp-params")).isEqualTo("User");
     }
+
+    @Test
+    public void createEntityCreationAlertWithNullNames() {
+        HttpHeaders headers = HeaderUtil.createEntityCreationAlert(null, false, null, "2");
+        assertThat(headers.getFirst("X-null-alert")).isEqualTo("A new null is created with identifier 2");
+        assertThat(headers.getFirst("X-null-params")).isEqualTo("2");
+    }
+
+    @Test
+    public void createFailureAlertWithNullApplicationName() {
+        HttpHeaders headers = HeaderUtil.createFailureAlert(null, true, "User", "404", "Failed to find user");
+        assertThat(headers.getFirst("X-null-error")).isEqualTo("error.404");
+        assertThat(headers.getFirst("X-null-params")).isEqualTo("User");
+    }
+
+    @Test
+    public void forApplicationIsShared() {
+        AlertHeaders alertHeaders = HeaderUtil.forApplication("myApp", true);
+        assertThat(HeaderUtil.forApplication("myApp", true)).isSameAs(alertHeaders);
+        assertThat(HeaderUtil.forApplication("myApp", false)).isNotSameAs(alertHeaders);
+        assertThat(alertHeaders.getApplicationName()).isEqualTo("myApp");
+        assertThat(alertHeaders.isEnableTranslation()).isTrue();
+    }
+
+    @Test
+    public void encode() {
+        assertThat(HeaderUtil.encode("abcXYZ019.-_*")).isEqualTo("abcXYZ019.-_*");
+        assertThat(HeaderUtil.encode("a b&c=d")).isEqualTo("a+b%26c%3Dd");
+        assertThat(HeaderUtil.encode("\u00e9\u4e2d")).isEqualTo("%C3%A9%E4%B8%AD");
+        assertThat(HeaderUtil.encode("")).isEmpty();
+    }
 }
@@ -4,9 +4,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -59,4 +66,107 @@ public class PageUtilTest {
         assertThatThrownBy(() -> PageUtil.createPageFromList(null, PageRequest.of(0, PAGE_SIZE)))
             .isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    public void createPageFromStreamShouldSkipAndCount() {
+        Page<Integer> page = PageUtil.createPageFromStream(IntStream.range(0, 45).boxed(),
+            PageRequest.of(1, PAGE_SIZE));
+
+        assertThat(page.getContent()).containsExactlyElementsOf(range(20, 40));
+        assertThat(page.getTotalElements()).isEqualTo(45);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    public void createPageFromStreamShouldCountAllElements() {
+        AtomicInteger mapped = new AtomicInteger();
+        Stream<Integer> stream = IntStream.range(0, 100_000).boxed().peek(i -> mapped.incrementAndGet());
+
+        Page<Integer> page = PageUtil.createPageFromStream(stream, PageRequest.of(2, PAGE_SIZE));
+
+        assertThat(page.getContent()).containsExactlyElementsOf(range(40, 60));
+        assertThat(page.getTotalElements()).isEqualTo(100_000);
+        assertThat(mapped).hasValue(100_000);
+    }
+
+    @Test
+    public void createPageFromIteratorBeyondLastPage() {
+        Page<Integer> page = PageUtil.createPageFromIterator(range(0, 30).iterator(), PageRequest.of(3, PAGE_SIZE));
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(30);
+    }
+
+    @Test
+    public void createPageFromSpliteratorUnpaged() {
+        Page<Integer> page = PageUtil.createPageFromSpliterator(range(0, 30).spliterator(), Pageable.unpaged());
+
+        assertThat(page.getContent()).containsExactlyElementsOf(range(0, 30));
+        assertThat(page.getTotalElements()).isEqualTo(30);
+    }
+
+    @Test
+    public void createPageFromStreamWithHugePageSize() {
+        Page<Integer> page = PageUtil.createPageFromStream(range(0, 30).stream(), PageRequest.of(0, Integer.MAX_VALUE));
+        Page<Integer> sortedPage = PageUtil.createSortedPageFromStream(range(0, 30).stream(),
+            PageRequest.of(0, Integer.MAX_VALUE), Comparator.reverseOrder());
+
+        assertThat(page.getContent()).containsExactlyElementsOf(range(0, 30));
+        assertThat(page.getTotalElements()).isEqualTo(30);
+        assertThat(sortedPage.getContent()).hasSize(30).startsWith(29);
+    }
+
+    @Test
+    public void createPageFromStreamShouldThrowIllegalArgumentExceptionIfNull() {
+        assertThatThrownBy(() -> PageUtil.createPageFromStream(null, PageRequest.of(0, PAGE_SIZE)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageUtil.createPageFromIterator(null, PageRequest.of(0, PAGE_SIZE)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageUtil.createSortedPageFromStream(Stream.empty(), PageRequest.of(0, PAGE_SIZE),
+            null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void createSortedPageFromStreamShouldMatchSortedList() {
+        List<Integer> values = new Random(42).ints(1000, 0, 500).boxed().collect(Collectors.toList());
+        List<Integer> sorted = values.stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+
+        for (int pageNumber = 0; pageNumber < 51; pageNumber++) {
+            Page<Integer> page = PageUtil.createSortedPageFromStream(values.stream(),
+                PageRequest.of(pageNumber, PAGE_SIZE), Comparator.reverseOrder());
+
+            assertThat(page.getContent()).isEqualTo(PageUtil.createPageFromList(sorted,
+                PageRequest.of(pageNumber, PAGE_SIZE)).getContent());
+            assertThat(page.getTotalElements()).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    public void createSortedPageFromStreamShouldBeStable() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add((i % 3) + "-" + i);
+        }
+        Comparator<String> byPrefix = Comparator.comparing(value -> value.charAt(0));
+        List<String> sorted = new ArrayList<>(values);
+        sorted.sort(byPrefix);
+
+        Page<String> page = PageUtil.createSortedPageFromStream(values.stream(), PageRequest.of(1, PAGE_SIZE),
+            byPrefix);
+
+        assertThat(page.getContent()).isEqualTo(sorted.subList(20, 40));
+    }
+
+    @Test
+    public void createSortedPageFromStreamUnpaged() {
+        Page<Integer> page = PageUtil.createSortedPageFromStream(Stream.of(3, 1, 2), Pageable.unpaged(),
+            Comparator.naturalOrder());
+
+        assertThat(page.getContent()).containsExactly(1, 2, 3);
+    }
+
+    private static List<Integer> range(int from, int to) {
+        return IntStream.range(from, to).boxed().collect(Collectors.toList());
+    }
 }
@@ -178,4 +178,35 @@ public class PaginationUtilUnitTest {
         assertThat(xTotalCountHeaders).hasSize(1);
         assertThat((long) Long.valueOf(xTotalCountHeaders.get(0))).isEqualTo(0L);
     }
+
+    @Test
+    public void uriBuilderIsNotModifiedTest() {
+        uriBuilder.queryParam("query", "test");
+        Page<String> page = new PageImpl<>(new ArrayList<>(), PageRequest.of(1, 50), 400L);
+
+        PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+
+        assertThat(uriBuilder.toUriString()).isEqualTo("/api/_search/example?query=test");
+    }
+
+    @Test
+    public void fragmentTest() {
+        uriBuilder.fragment("top");
+        Page<String> page = new PageImpl<>(new ArrayList<>(), PageRequest.of(0, 50), 100L);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+        String expectedData = "</api/_search/example?page=1&size=50#top>; rel=\"next\"," +
+            "</api/_search/example?page=1&size=50#top>; rel=\"last\"," +
+            "</api/_search/example?page=0&size=50#top>; rel=\"first\"";
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(expectedData);
+    }
+
+    @Test
+    public void existingSizeParameterIsReplacedTest() {
+        uriBuilder.queryParam("size", "20").queryParam("page", "3").queryParam("sort", "id,asc");
+        Page<String> page = new PageImpl<>(new ArrayList<>(), PageRequest.of(0, 50), 50L);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+        String expectedData = "</api/_search/example?sort=id%2Casc&page=0&size=50>; rel=\"last\"," +
+            "</api/_search/example?sort=id%2Casc&page=0&size=50>; rel=\"first\"";
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(expectedData);
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import io.github.jhipster.web.util.PrecompressedResourceResolver.Variant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrecompressedResourceResolverTest {
+
+    @TempDir
+    Path directory;
+
+    private PrecompressedResourceResolver resolver;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        Files.createDirectories(directory.resolve("app"));
+        Files.write(directory.resolve("app/main.js"), new byte[100]);
+        Files.write(directory.resolve("app/main.js.br"), new byte[10]);
+        Files.write(directory.resolve("app/main.js.gz"), new byte[20]);
+        Files.write(directory.resolve("app/vendor.js.gz"), new byte[30]);
+        resolver = new PrecompressedResourceResolver(new FileSystemResource(directory.toString() + "/"));
+    }
+
+    @Test
+    public void testVariantsAreResolvedInOrderOfPreference() {
+        assertThat(resolver.getVariants("/app/main.js")).extracting(Variant::getEncoding)
+            .containsExactly("br", "gzip");
+        assertThat(resolver.getVariants("/app/main.js")).extracting(Variant::getContentLength)
+            .containsExactly(10L, 20L);
+        assertThat(resolver.getVariants("/app/vendor.js")).extracting(Variant::getEncoding).containsExactly("gzip");
+        assertThat(resolver.getVariants("/app/other.js")).isEmpty();
+    }
+
+    @Test
+    public void testVariantsAreCached() throws Exception {
+        Files.write(directory.resolve("app/other.js"), new byte[100]);
+        assertThat(resolver.getCachedVariants("/app/other.js")).isNull();
+        resolver.getVariants("/app/other.js");
+        Files.write(directory.resolve("app/other.js.gz"), new byte[10]);
+
+        assertThat(resolver.getCachedVariants("/app/other.js")).isEmpty();
+        assertThat(resolver.getVariants("/app/other.js")).isEmpty();
+        assertThat(new PrecompressedResourceResolver(new FileSystemResource(directory.toString() + "/"))
+            .getVariants("/app/other.js")).hasSize(1);
+    }
+
+    @Test
+    public void testMissingResourcesAreNotCached() {
+        assertThat(resolver.getVariants("/app/missing.js")).isEmpty();
+
+        assertThat(resolver.getCachedVariants("/app/missing.js")).isNull();
+        assertThat(resolver.getCachedVariants("/../secret")).isEmpty();
+        resolver.getVariants("/app/vendor.js");
+        assertThat(resolver.getCachedVariants("/app/vendor.js")).hasSize(1);
+    }
+
+    @Test
+    public void testUnsafePathsAreIgnored() throws Exception {
+        Files.write(directory.resolve("secret.gz"), new byte[10]);
+        PrecompressedResourceResolver appResolver =
+            new PrecompressedResourceResolver(new FileSystemResource(directory.resolve("app").toString() + "/"));
+
+        assertThat(appResolver.getVariants("/../secret")).isEmpty();
+        assertThat(appResolver.getVariants("/%2e%2e/secret")).isEmpty();
+        assertThat(appResolver.getVariants("main.js")).isEmpty();
+        assertThat(appResolver.getVariants("/")).isEmpty();
+        assertThat(appResolver.getVariants(null)).isEmpty();
+    }
+
+    @Test
+    public void testVariantIsNegotiated() {
+        assertThat(resolver.getVariant("/app/main.js", "gzip, deflate, br").getEncoding()).isEqualTo("br");
+        assertThat(resolver.getVariant("/app/main.js", "gzip;q=1.0, br;q=0").getEncoding()).isEqualTo("gzip");
+        assertThat(resolver.getVariant("/app/main.js", "*").getEncoding()).isEqualTo("br");
+        assertThat(resolver.getVariant("/app/main.js", "identity")).isNull();
+        assertThat(resolver.getVariant("/app/main.js", null)).isNull();
+    }
+
+    @Test
+    public void testIsAccepted() {
+        assertThat(PrecompressedResourceResolver.isAccepted("GZIP", "gzip")).isTrue();
+        assertThat(PrecompressedResourceResolver.isAccepted("gzip; q=0.5", "gzip")).isTrue();
+        assertThat(PrecompressedResourceResolver.isAccepted("gzip;q=0.000", "gzip")).isFalse();
+        assertThat(PrecompressedResourceResolver.isAccepted("*;q=0, gzip", "gzip")).isTrue();
+        assertThat(PrecompressedResourceResolver.isAccepted("*;q=0", "br")).isFalse();
+        assertThat(PrecompressedResourceResolver.isAccepted("deflate", "br")).isFalse();
+    }
+
+    @Test
+    public void testETagDependsOnMetadata() {
+        Variant br = resolver.getVariant("/app/main.js", "br");
+        Variant gzip = resolver.getVariant("/app/main.js", "gzip");
+
+        assertThat(br.getETag()).startsWith("\"").endsWith("-a-br\"");
+        assertThat(gzip.getETag()).endsWith("-14-gzip\"");
+        assertThat(br.getLastModified()).isPositive();
+    }
+}
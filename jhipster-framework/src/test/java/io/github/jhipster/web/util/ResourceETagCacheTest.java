@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceETagCacheTest {
+
+    @Test
+    public void testGet() {
+        ResourceETagCache cache = new ResourceETagCache(10);
+        cache.put("/app/main.js", 1445412480123L, "Accept-Encoding", "\"1\"");
+
+        assertThat(cache.contains("/app/main.js")).isTrue();
+        assertThat(cache.get("/app/main.js", 1445412480000L).getETag()).isEqualTo("\"1\"");
+        assertThat(cache.get("/app/main.js", 1445412480000L).getVary()).isEqualTo("Accept-Encoding");
+        assertThat(cache.get("/app/main.js", 1445498880000L)).isNull();
+        assertThat(cache.get("/app/main.js", -1)).isNull();
+        assertThat(cache.contains("/app/other.js")).isFalse();
+        assertThat(cache.get("/app/other.js", 1445412480000L)).isNull();
+    }
+
+    @Test
+    public void testResponsesWithoutLastModifiedAreNotCached() {
+        ResourceETagCache cache = new ResourceETagCache(10);
+        cache.put("/app/main.js", -1, null, "\"1\"");
+
+        assertThat(cache.contains("/app/main.js")).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testEntriesAreEvictedWhenFull() {
+        ResourceETagCache cache = new ResourceETagCache(2);
+        cache.put("/a", 0, null, "\"a\"");
+        cache.put("/b", 0, null, "\"b\"");
+        cache.put("/c", 0, null, "\"c\"");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("/c", 0).getETag()).isEqualTo("\"c\"");
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        ResourceETagCache cache = new ResourceETagCache(64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        String path = "/app/" + (i % 128) + ".js";
+                        if (cache.get(path, 0) == null) {
+                            cache.put(path, 0, null, "\"" + i % 128 + "\"");
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(64);
+        ResourceETagCache.Entry entry = cache.get("/app/127.js", 0);
+        assertThat(entry == null ? null : entry.getETag()).isIn(null, "\"127\"");
+    }
+
+    @Test
+    public void testToETag() {
+        byte[] digest = ResourceETagCache.newDigest().digest("jhipster".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(ResourceETagCache.toETag(digest)).isEqualTo("\"b2ab7d9c4a6236376946055285d88fa9\"");
+    }
+
+    @Test
+    public void testMatches() {
+        assertThat(ResourceETagCache.matches("\"a\"", "\"a\"")).isTrue();
+        assertThat(ResourceETagCache.matches("W/\"a\"", "\"a\"")).isTrue();
+        assertThat(ResourceETagCache.matches("\"b\", \"a\"", "\"a\"")).isTrue();
+        assertThat(ResourceETagCache.matches("*", "\"a\"")).isTrue();
+        assertThat(ResourceETagCache.matches("\"b\"", "\"a\"")).isFalse();
+        assertThat(ResourceETagCache.matches(null, "\"a\"")).isFalse();
+        assertThat(ResourceETagCache.matches("*", null)).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.jhipster.web.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceLastModifiedResolverTest {
+
+    private static final long LAST_MODIFIED = 1445412480000L;
+
+    @TempDir
+    Path directory;
+
+    private ResourceLastModifiedResolver resolver;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        Files.createDirectories(directory.resolve("first/app"));
+        Files.createDirectories(directory.resolve("second/app"));
+        Files.write(directory.resolve("first/app/main.js"), new byte[10]);
+        Files.write(directory.resolve("second/app/main.js"), new byte[10]);
+        Files.write(directory.resolve("second/app/vendor.js"), new byte[10]);
+        Files.setLastModifiedTime(directory.resolve("first/app/main.js"), FileTime.fromMillis(LAST_MODIFIED));
+        Files.setLastModifiedTime(directory.resolve("second/app/main.js"), FileTime.fromMillis(LAST_MODIFIED + 1000));
+        Files.setLastModifiedTime(directory.resolve("second/app/vendor.js"), FileTime.fromMillis(LAST_MODIFIED + 2000));
+        resolver = new ResourceLastModifiedResolver(location("first"), location("second"));
+    }
+
+    @Test
+    public void testLastModifiedIsReadFromTheFirstLocationFound() {
+        assertThat(resolver.getLastModified("/app/main.js")).isEqualTo(LAST_MODIFIED);
+        assertThat(resolver.getLastModified("/app/vendor.js")).isEqualTo(LAST_MODIFIED + 2000);
+    }
+
+    @Test
+    public void testWithFirstLocation() {
+        ResourceLastModifiedResolver second = new ResourceLastModifiedResolver(location("first"))
+            .withFirstLocation(location("second"));
+
+        assertThat(second.getLastModified("/app/main.js")).isEqualTo(LAST_MODIFIED + 1000);
+        assertThat(resolver.getLastModified("/app/main.js")).isEqualTo(LAST_MODIFIED);
+    }
+
+    @Test
+    public void testMissingResourcesAndUnsafePathsAreNotResolved() {
+        assertThat(resolver.getLastModified("/app/other.js")).isEqualTo(-1);
+        assertThat(resolver.getLastModified("/app")).isEqualTo(-1);
+        assertThat(resolver.getLastModified("/../second/app/main.js")).isEqualTo(-1);
+        assertThat(resolver.getLastModified("app/main.js")).isEqualTo(-1);
+    }
+
+    @Test
+    public void testDefaultLocations() {
+        assertThat(ResourceLastModifiedResolver.ofDefaultLocations().getLastModified("/app/main.js")).isEqualTo(-1);
+    }
+
+    private FileSystemResource location(String name) {
+        return new FileSystemResource(directory.resolve(name).toString() + "/");
+    }
+}
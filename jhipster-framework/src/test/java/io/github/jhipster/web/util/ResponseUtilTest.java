@@ -23,6 +23,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -75,4 +76,36 @@ public class ResponseUtilTest {
         assertThatExceptionOfType(ResponseStatusException.class).isThrownBy(() -> ResponseUtil.wrapOrNotFound(optionalNo, headers));
     }
 
+    @Test
+    public void testOptionalYesWithETag() {
+        ResponseEntity<Integer> response = ResponseUtil.wrapOrNotFound(optionalYes, headers, null,
+            ETagUtil::fromVersion);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(42);
+        assertThat(response.getHeaders().getETag()).isEqualTo("W/\"42\"");
+        assertThat(response.getHeaders().getFirst(HEADER_NAME)).isEqualTo(HEADER_VALUE);
+    }
+
+    @Test
+    public void testOptionalYesWithMatchingETag() {
+        ResponseEntity<Integer> response = ResponseUtil.wrapOrNotFound(optionalYes, headers, "\"42\"",
+            ETagUtil::fromVersion);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo("W/\"42\"");
+    }
+
+    @Test
+    public void testOptionalYesWithoutVersionField() {
+        ResponseEntity<Integer> response = ResponseUtil.wrapOrNotFound(optionalYes, headers, "*");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(42);
+        assertThat(response.getHeaders().getETag()).isNull();
+    }
+
+    @Test
+    public void testOptionalNoWithETag() {
+        assertThatExceptionOfType(ResponseStatusException.class)
+            .isThrownBy(() -> ResponseUtil.wrapOrNotFound(optionalNo, headers, "*", ETagUtil::fromVersion));
+    }
 }
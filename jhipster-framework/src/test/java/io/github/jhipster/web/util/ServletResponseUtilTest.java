@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.jhipster.web.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.rowset.serial.SerialBlob;
+import java.io.ByteArrayInputStream;
+import java.sql.Blob;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ServletResponseUtilTest {
+
+    @Test
+    public void testWriteStream() throws Exception {
+        byte[] bytes = new byte[3 * ServletResponseUtil.STREAM_CHUNK_SIZE + 1];
+        new Random(42).nextBytes(bytes);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ServletResponseUtil.writeStream(new ByteArrayInputStream(bytes), bytes.length, MediaType.APPLICATION_OCTET_STREAM,
+            response);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        assertThat(response.getContentLengthLong()).isEqualTo(bytes.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(bytes);
+    }
+
+    @Test
+    public void testWriteStreamWithUnknownLength() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ServletResponseUtil.writeStream(new ByteArrayInputStream(new byte[]{1, 2, 3}), -1, MediaType.IMAGE_PNG, response);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(response.getContentAsByteArray()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testWriteBlobOrNotFound() throws Exception {
+        Blob blob = new SerialBlob(new byte[]{1, 2, 3});
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ServletResponseUtil.writeBlobOrNotFound(Optional.of(blob), MediaType.IMAGE_PNG, response);
+
+        assertThat(response.getContentType()).isEqualTo(MediaType.IMAGE_PNG_VALUE);
+        assertThat(response.getContentLengthLong()).isEqualTo(3);
+        assertThat(response.getContentAsByteArray()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testWriteBlobOrNotFoundWithoutBlob() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatExceptionOfType(ResponseStatusException.class)
+            .isThrownBy(() -> ServletResponseUtil.writeBlobOrNotFound(Optional.empty(), MediaType.IMAGE_PNG, response))
+            .satisfies(e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jhipster.web.util.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.core.codec.EncodingException;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class JsonStreamUtilTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testJsonArray() {
+        Flux<byte[]> chunks = JsonStreamUtil.toJsonArray(
+            Flux.just(Collections.singletonMap("id", 1), Collections.singletonMap("id", 2)), objectMapper);
+
+        assertThat(join(chunks)).isEqualTo("[{\"id\":1},{\"id\":2}]");
+    }
+
+    @Test
+    public void testEmptyJsonArray() {
+        assertThat(join(JsonStreamUtil.toJsonArray(Flux.empty(), objectMapper))).isEqualTo("[]");
+    }
+
+    @Test
+    public void testJsonArrayIsChunkedPerElement() {
+        List<byte[]> chunks = JsonStreamUtil.toJsonArray(Flux.just("a", "b", "c"), objectMapper).collectList().block();
+
+        assertThat(chunks).hasSize(4);
+        assertThat(new String(chunks.get(1), StandardCharsets.UTF_8)).isEqualTo(",\"b\"");
+    }
+
+    @Test
+    public void testJsonArrayKeepsBackpressure() {
+        AtomicLong requested = new AtomicLong();
+        List<byte[]> chunks = new ArrayList<>();
+        Flux<Integer> elements = Flux.range(0, 1000).hide().doOnRequest(requested::addAndGet);
+
+        JsonStreamUtil.toJsonArray(elements, objectMapper).subscribe(new BaseSubscriber<byte[]>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(3);
+            }
+
+            @Override
+            protected void hookOnNext(byte[] chunk) {
+                chunks.add(chunk);
+            }
+        });
+
+        assertThat(chunks).hasSize(3);
+        assertThat(requested).hasValue(3);
+    }
+
+    @Test
+    public void testNdjson() {
+        Flux<byte[]> lines = JsonStreamUtil.toNdjson(
+            Flux.just(Collections.singletonMap("id", 1), Collections.singletonMap("id", 2)), objectMapper);
+
+        assertThat(join(lines)).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+        assertThat(JsonStreamUtil.APPLICATION_NDJSON.toString()).isEqualTo(JsonStreamUtil.APPLICATION_NDJSON_VALUE);
+    }
+
+    @Test
+    public void testEncodingError() {
+        Throwable caught = catchThrowable(() -> join(JsonStreamUtil.toNdjson(Flux.just(new Object()), objectMapper)));
+
+        assertThat(caught).isInstanceOf(EncodingException.class);
+    }
+
+    private static String join(Flux<byte[]> chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunks.doOnNext(chunk -> out.write(chunk, 0, chunk.length)).blockLast();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
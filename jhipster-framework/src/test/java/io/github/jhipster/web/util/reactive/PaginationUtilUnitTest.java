@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016-2020 the original author or authors from the JHipster project.
+ *
+ * This file is part of the JHipster project, see https://www.jhipster.tech/
+ * for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.jhipster.web.util.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PaginationUtilUnitTest {
+
+    private static final MockServerHttpRequest REQUEST = MockServerHttpRequest.get("http://localhost/api/example")
+        .queryParam("page", "1")
+        .queryParam("size", "10")
+        .build();
+
+    @Test
+    public void generatePaginationHttpHeadersTest() {
+        MockServerHttpRequest request = MockServerHttpRequest.get("http://localhost/api/_search/example")
+            .queryParam("query", "Test1, test2")
+            .queryParam("page", "1")
+            .build();
+        Page<String> page = new PageImpl<>(new ArrayList<>(), PageRequest.of(1, 50), 150L);
+
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(request, page);
+
+        String uri = "http://localhost/api/_search/example?query=Test1%2C%20test2";
+        String expectedData = "<" + uri + "&page=2&size=50>; rel=\"next\"," +
+            "<" + uri + "&page=0&size=50>; rel=\"prev\"," +
+            "<" + uri + "&page=2&size=50>; rel=\"last\"," +
+            "<" + uri + "&page=0&size=50>; rel=\"first\"";
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(expectedData);
+        assertThat(headers.getFirst("X-Total-Count")).isEqualTo("150");
+    }
+
+    @Test
+    public void generatePaginationHttpHeadersFromTotalTest() {
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(REQUEST, PageRequest.of(1, 10), 25L);
+
+        String expectedData = "<http://localhost/api/example?page=2&size=10>; rel=\"next\"," +
+            "<http://localhost/api/example?page=0&size=10>; rel=\"prev\"," +
+            "<http://localhost/api/example?page=2&size=10>; rel=\"last\"," +
+            "<http://localhost/api/example?page=0&size=10>; rel=\"first\"";
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(expectedData);
+        assertThat(headers.getFirst("X-Total-Count")).isEqualTo("25");
+    }
+
+    @Test
+    public void paginatedResponseTest() {
+        ResponseEntity<Flux<Integer>> response = PaginationUtil.createPaginatedResponse(REQUEST,
+            PageRequest.of(1, 10), Mono.just(25L), Flux.range(10, 10)).block();
+
+        assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("25");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LINK)).contains("page=2&size=10>; rel=\"last\"");
+        assertThat(response.getBody().collectList().block()).containsExactly(10, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+    }
+
+    @Test
+    public void paginatedResponseStartsContentWithCountTest() {
+        AtomicBoolean contentStarted = new AtomicBoolean();
+        AtomicBoolean contentStartedBeforeCount = new AtomicBoolean();
+        Flux<Integer> content = Flux.range(0, 10).doOnSubscribe(subscription -> contentStarted.set(true));
+        Mono<Long> count = Mono.fromCallable(() -> {
+            contentStartedBeforeCount.set(contentStarted.get());
+            return 10L;
+        });
+
+        PaginationUtil.createPaginatedResponse(REQUEST, PageRequest.of(0, 10), count, content).block();
+
+        assertThat(contentStartedBeforeCount).isTrue();
+    }
+
+    @Test
+    public void paginatedResponseBuffersAtMostPrefetchTest() {
+        AtomicLong requested = new AtomicLong();
+        Flux<Integer> content = Flux.range(0, 1000).hide().doOnRequest(requested::addAndGet);
+        MonoProcessor<Long> count = MonoProcessor.create();
+        AtomicReference<ResponseEntity<Flux<Integer>>> response = new AtomicReference<>();
+
+        PaginationUtil.createPaginatedResponse(REQUEST, PageRequest.of(0, 1000), count, content, 16)
+            .subscribe(response::set);
+
+        assertThat(response.get()).isNull();
+        assertThat(requested).hasValue(16);
+
+        count.onNext(1000L);
+
+        assertThat(response.get().getBody().count().block()).isEqualTo(1000);
+    }
+
+    @Test
+    public void paginatedResponseCancelsContentOnCountErrorTest() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flux<Integer> content = Flux.<Integer>never().doOnCancel(() -> cancelled.set(true));
+
+        Mono<ResponseEntity<Flux<Integer>>> response = PaginationUtil.createPaginatedResponse(REQUEST,
+            PageRequest.of(0, 10), Mono.error(new IllegalStateException("count failed")), content);
+
+        Throwable caught = catchThrowable(response::block);
+
+        assertThat(caught).hasMessage("count failed");
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    public void paginatedResponseCancelsContentOnceBodyIsCancelledTest() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flux<Integer> content = Flux.range(0, 1000).hide().doOnCancel(() -> cancelled.set(true));
+
+        ResponseEntity<Flux<Integer>> response = PaginationUtil.createPaginatedResponse(REQUEST,
+            PageRequest.of(0, 1000), Mono.just(1000L), content, 16).block();
+
+        assertThat(response.getBody().take(3).collectList().block()).containsExactly(0, 1, 2);
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    public void paginatedResponseCancelsContentWhenBodyIsNotSubscribedTest() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Flux<Integer> content = Flux.<Integer>never().doOnCancel(cancelled::countDown);
+
+        ResponseEntity<Flux<Integer>> response = PaginationUtil.createPaginatedResponse(REQUEST,
+            PageRequest.of(0, 10), Mono.just(10L), content, 16, Duration.ofMillis(50)).block();
+
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        Throwable caught = catchThrowable(() -> response.getBody().blockLast(Duration.ofSeconds(5)));
+        assertThat(caught).isInstanceOf(IllegalStateException.class).hasMessageContaining("not subscribed");
+    }
+
+    @Test
+    public void paginatedResponseKeepsContentWhenBodyIsSubscribedTest() throws Exception {
+        ResponseEntity<Flux<Integer>> response = PaginationUtil.createPaginatedResponse(REQUEST,
+            PageRequest.of(0, 10), Mono.just(3L), Flux.range(0, 3).delayElements(Duration.ofMillis(100)), 16,
+            Duration.ofMillis(50)).block();
+
+        assertThat(response.getBody().collectList().block(Duration.ofSeconds(5))).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    public void paginatedResponseWithEmptyCountTest() {
+        ResponseEntity<Flux<Integer>> response = PaginationUtil.createPaginatedResponse(REQUEST,
+            PageRequest.of(0, 10), Mono.empty(), Flux.<Integer>empty()).block();
+
+        assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("0");
+        assertThat(response.getBody().collectList().block()).isEmpty();
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.jhipster.web.util.reactive;
 
+import io.github.jhipster.web.util.ETagUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
@@ -58,4 +59,37 @@ class ResponseUtilTest {
         assertThatExceptionOfType(ResponseStatusException.class).isThrownBy(response::block);
     }
 
+    @Test
+    public void testMonoYesWithETag() {
+        ResponseEntity<Integer> response = ResponseUtil.wrapOrNotFound(monoYes, headers, null, ETagUtil::fromVersion)
+            .block();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(42);
+        assertThat(response.getHeaders().getETag()).isEqualTo("W/\"42\"");
+        assertThat(response.getHeaders().getFirst(HEADER_NAME)).isEqualTo(HEADER_VALUE);
+    }
+
+    @Test
+    public void testMonoYesWithMatchingETag() {
+        ResponseEntity<Integer> response = ResponseUtil.wrapOrNotFound(monoYes, headers, "W/\"42\"",
+            ETagUtil::fromVersion).block();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo("W/\"42\"");
+    }
+
+    @Test
+    public void testMonoYesWithoutVersionField() {
+        ResponseEntity<Integer> response = ResponseUtil.wrapOrNotFound(monoYes, headers, "*").block();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNull();
+    }
+
+    @Test
+    public void testMonoNoWithETag() {
+        Mono<ResponseEntity<Integer>> response = ResponseUtil.wrapOrNotFound(monoNo, headers, "*",
+            ETagUtil::fromVersion);
+        assertThatExceptionOfType(ResponseStatusException.class).isThrownBy(response::block);
+    }
+
 }